@@ -1,6 +1,7 @@
 package com.rts;
 
 import javafx.application.Application;
+import javafx.application.Platform;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -11,26 +12,61 @@ import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 import javafx.scene.text.FontWeight;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
+import com.rts.model.CriticalSection;
+import com.rts.model.DeadlineMiss;
+import com.rts.model.PreemptionMode;
+import com.rts.model.ResourceProtocol;
 import com.rts.model.Task;
 import com.rts.model.ScheduleResult;
+import com.rts.model.SimulationMetrics;
+import com.rts.model.TaskMetrics;
+import com.rts.model.TaskRegistry;
+import com.rts.model.TimelineIndex;
 import com.rts.algorithm.*;
+import com.rts.view.GanttExporter;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class RealTimeSchedulerApp extends Application {
     
     private List<Task> tasks = new ArrayList<>();
     private ListView<String> taskListView;
     private ComboBox<String> algorithmComboBox;
+    private ComboBox<String> protocolComboBox;
+    private Stage stage;
     private Canvas ganttCanvas;
     private TextArea logArea;
     private Label utilizationLabel;
     private Label statusLabel;
     private final int SIMULATION_TIME = 40;
+    private final double GANTT_HEIGHT = 350;
+    // Run shown in the single-run chart and its cell width, for hover details
+    private ScheduleResult ganttResult;
+    private double ganttCellWidth;
+    private final Tooltip ganttTooltip = new Tooltip();
+    // Re-simulating an unchanged set and configuration returns the cached run
+    private final ScheduleCache scheduleCache = new ScheduleCache(64L << 20);
+    // Simulate keeps one engine per algorithm, so a run after a task edit resumes from the
+    // checkpoints of the previous one
+    private final Map<String, AbstractScheduler> simulationSchedulers = new HashMap<>();
+    private final int INCREMENTAL_CHECKPOINTS = 32;
+    // Comparison runs every engine off the FX thread at once
+    private final ExecutorService comparisonPool = Executors.newFixedThreadPool(
+            Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(runnable, "schedule-comparison");
+                thread.setDaemon(true);
+                return thread;
+            });
     
     @Override
     public void start(Stage primaryStage) {
+        stage = primaryStage;
         primaryStage.setTitle("Real-Time Scheduling Simulator");
         
         BorderPane root = new BorderPane();
@@ -86,8 +122,25 @@ public class RealTimeSchedulerApp extends Application {
         deadlineField.setPromptText("Optional");
         deadlineField.setPrefWidth(80);
         
+        Label offsetLabel = new Label("Offset (O):");
+        TextField offsetField = new TextField();
+        offsetField.setPromptText("Optional");
+        offsetField.setPrefWidth(70);
+        
+        Label jitterLabel = new Label("Jitter (J):");
+        TextField jitterField = new TextField();
+        jitterField.setPromptText("Optional");
+        jitterField.setPrefWidth(70);
+        
+        Label locksLabel = new Label("Locks:");
+        TextField locksField = new TextField();
+        locksField.setPromptText("e.g. R1@0+2, R2@3+1");
+        locksField.setPrefWidth(140);
+        
         inputRow1.getChildren().addAll(idLabel, idField, execLabel, execField, 
-                                        periodLabel, periodField, deadlineLabel, deadlineField);
+                                        periodLabel, periodField, deadlineLabel, deadlineField,
+                                        offsetLabel, offsetField, jitterLabel, jitterField,
+                                        locksLabel, locksField);
         
         // Buttons row
         HBox buttonRow = new HBox(10);
@@ -102,13 +155,27 @@ public class RealTimeSchedulerApp extends Application {
                 int period = Integer.parseInt(periodField.getText().trim());
                 int deadline = deadlineField.getText().trim().isEmpty() ? 
                                period : Integer.parseInt(deadlineField.getText().trim());
+                int offset = offsetField.getText().trim().isEmpty() ?
+                             0 : Integer.parseInt(offsetField.getText().trim());
+                int jitter = jitterField.getText().trim().isEmpty() ?
+                             0 : Integer.parseInt(jitterField.getText().trim());
                 
                 if (id.isEmpty() || exec <= 0 || period <= 0 || deadline <= 0) {
                     showAlert("Invalid Input", "Please enter valid positive values.");
                     return;
                 }
+                if (offset < 0 || jitter < 0 || jitter >= period) {
+                    showAlert("Invalid Input", "Offset must not be negative and jitter must be below the period.");
+                    return;
+                }
                 
-                Task task = new Task(id, exec, period, deadline);
+                Task task = new Task(id, exec, period, deadline, offset, jitter);
+                try {
+                    task.setCriticalSections(CriticalSection.parseList(locksField.getText()));
+                } catch (IllegalArgumentException ex) {
+                    showAlert("Invalid Input", "Locks: " + ex.getMessage());
+                    return;
+                }
                 tasks.add(task);
                 updateTaskList();
                 updateUtilization();
@@ -118,6 +185,9 @@ public class RealTimeSchedulerApp extends Application {
                 execField.clear();
                 periodField.clear();
                 deadlineField.clear();
+                offsetField.clear();
+                jitterField.clear();
+                locksField.clear();
                 
                 logArea.appendText("✓ Added task: " + task + "\n");
             } catch (NumberFormatException ex) {
@@ -125,6 +195,59 @@ public class RealTimeSchedulerApp extends Application {
             }
         });
         
+        Button updateButton = new Button("✏️ Update Task");
+        updateButton.setStyle("-fx-background-color: #795548; -fx-text-fill: white; -fx-font-weight: bold;");
+        updateButton.setOnAction(e -> {
+            int index = taskListView.getSelectionModel().getSelectedIndex();
+            if (index < 0 || index >= tasks.size()) {
+                showAlert("No Task Selected", "Select the task to update in the task list.");
+                return;
+            }
+            Task current = tasks.get(index);
+            try {
+                // Blank fields keep the selected task's current values
+                String id = idField.getText().trim().isEmpty() ? current.getId() : idField.getText().trim();
+                int exec = fieldValue(execField, current.getExecutionTime());
+                int period = fieldValue(periodField, current.getPeriod());
+                int deadline = fieldValue(deadlineField, current.getDeadline());
+                int offset = fieldValue(offsetField, current.getOffset());
+                int jitter = fieldValue(jitterField, current.getReleaseJitter());
+                
+                if (exec <= 0 || period <= 0 || deadline <= 0) {
+                    showAlert("Invalid Input", "Please enter valid positive values.");
+                    return;
+                }
+                if (offset < 0 || jitter < 0 || jitter >= period) {
+                    showAlert("Invalid Input", "Offset must not be negative and jitter must be below the period.");
+                    return;
+                }
+                
+                Task task = new Task(id, exec, period, deadline, offset, jitter);
+                try {
+                    task.setCriticalSections(locksField.getText().trim().isEmpty() ?
+                                             current.getCriticalSections() : CriticalSection.parseList(locksField.getText()));
+                } catch (IllegalArgumentException ex) {
+                    showAlert("Invalid Input", "Locks: " + ex.getMessage());
+                    return;
+                }
+                tasks.set(index, task);
+                updateTaskList();
+                updateUtilization();
+                
+                idField.clear();
+                execField.clear();
+                periodField.clear();
+                deadlineField.clear();
+                offsetField.clear();
+                jitterField.clear();
+                locksField.clear();
+                
+                logArea.appendText("✓ Updated task: " + task + "\n");
+            } catch (NumberFormatException ex) {
+                showAlert("Invalid Input", "Please enter numeric values for execution time, period, and deadline.");
+            }
+        });
+        
         Button removeButton = new Button("➖ Remove Task");
         removeButton.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-weight: bold;");
         removeButton.setOnAction(e -> {
@@ -157,7 +280,7 @@ public class RealTimeSchedulerApp extends Application {
             logArea.appendText("✓ Sample tasks loaded.\n");
         });
         
-        buttonRow.getChildren().addAll(addButton, removeButton, clearButton, sampleButton);
+        buttonRow.getChildren().addAll(addButton, updateButton, removeButton, clearButton, sampleButton);
         
         // Task list
         taskListView = new ListView<>();
@@ -170,19 +293,37 @@ public class RealTimeSchedulerApp extends Application {
         
         Label algoLabel = new Label("Select Algorithm:");
         algorithmComboBox = new ComboBox<>();
-        algorithmComboBox.getItems().addAll("Rate Monotonic Scheduling (RMS)", "Earliest Deadline First (EDF)");
+        algorithmComboBox.getItems().addAll("Rate Monotonic Scheduling (RMS)", "Earliest Deadline First (EDF)",
+                                            "Deadline Monotonic (DM)", "Optimal Priority Assignment (OPA)",
+                                            "Least Laxity First (LLF)", "Earliest Deadline Zero Laxity (EDZL)",
+                                            "Non-preemptive RMS", "Non-preemptive EDF");
         algorithmComboBox.getSelectionModel().selectFirst();
         algorithmComboBox.setPrefWidth(300);
         
+        Label protocolLabel = new Label("Locking:");
+        protocolComboBox = new ComboBox<>();
+        protocolComboBox.getItems().addAll("None", "Priority Inheritance (PIP)", "Priority Ceiling (PCP)",
+                                           "Stack Resource Policy (SRP)");
+        protocolComboBox.getSelectionModel().selectFirst();
+        
         Button simulateButton = new Button("▶️ Simulate");
         simulateButton.setStyle("-fx-background-color: #9C27B0; -fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 14;");
         simulateButton.setOnAction(e -> runSimulation());
         
+        Button compareButton = new Button("⚖️ Compare All");
+        compareButton.setStyle("-fx-background-color: #607D8B; -fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 14;");
+        compareButton.setOnAction(e -> runComparison(compareButton));
+        
+        Button exportButton = new Button("📤 Export Chart");
+        exportButton.setStyle("-fx-background-color: #009688; -fx-text-fill: white; -fx-font-weight: bold; -fx-font-size: 14;");
+        exportButton.setOnAction(e -> exportGanttChart());
+        
         utilizationLabel = new Label("CPU Utilization: 0.00");
         utilizationLabel.setFont(Font.font("Arial", FontWeight.BOLD, 12));
         utilizationLabel.setStyle("-fx-text-fill: #333;");
         
-        controlRow.getChildren().addAll(algoLabel, algorithmComboBox, simulateButton, utilizationLabel);
+        controlRow.getChildren().addAll(algoLabel, algorithmComboBox, protocolLabel, protocolComboBox,
+                                        simulateButton, compareButton, exportButton, utilizationLabel);
         
         inputPanel.getChildren().addAll(titleLabel, new Separator(), inputRow1, buttonRow, 
                                          new Label("Current Tasks:"), taskListView, 
@@ -199,7 +340,9 @@ public class RealTimeSchedulerApp extends Application {
         Label chartTitle = new Label("📊 Gantt Chart / Timeline Visualization");
         chartTitle.setFont(Font.font("Arial", FontWeight.BOLD, 16));
         
-        ganttCanvas = new Canvas(1250, 350);
+        ganttCanvas = new Canvas(1250, GANTT_HEIGHT);
+        ganttCanvas.setOnMouseMoved(e -> updateGanttTooltip(e.getX(), e.getY()));
+        ganttCanvas.setOnMouseExited(e -> Tooltip.uninstall(ganttCanvas, ganttTooltip));
         clearGanttChart();
         
         ScrollPane scrollPane = new ScrollPane(ganttCanvas);
@@ -248,8 +391,18 @@ public class RealTimeSchedulerApp extends Application {
     private void updateTaskList() {
         taskListView.getItems().clear();
         for (Task task : tasks) {
-            taskListView.getItems().add(String.format("Task %s: C=%d, T=%d, D=%d", 
-                task.getId(), task.getExecutionTime(), task.getPeriod(), task.getDeadline()));
+            String item = String.format("Task %s: C=%d, T=%d, D=%d", 
+                task.getId(), task.getExecutionTime(), task.getPeriod(), task.getDeadline());
+            if (task.getOffset() > 0) {
+                item += ", O=" + task.getOffset();
+            }
+            if (task.getReleaseJitter() > 0) {
+                item += ", J=" + task.getReleaseJitter();
+            }
+            if (!task.getCriticalSections().isEmpty()) {
+                item += ", L=" + task.getCriticalSections();
+            }
+            taskListView.getItems().add(item);
         }
     }
     
@@ -273,38 +426,53 @@ public class RealTimeSchedulerApp extends Application {
         }
         
         String selectedAlgo = algorithmComboBox.getSelectionModel().getSelectedItem();
-        Scheduler scheduler;
-        
-        if (selectedAlgo.contains("Rate Monotonic")) {
-            scheduler = new RateMonotonicScheduler();
-        } else {
-            scheduler = new EarliestDeadlineFirstScheduler();
-        }
+        AbstractScheduler scheduler = simulationSchedulers.computeIfAbsent(selectedAlgo, this::createScheduler);
+        scheduler.setIncrementalCheckpoints(INCREMENTAL_CHECKPOINTS);
+        applySelectedProtocol(scheduler);
         
         logArea.clear();
         logArea.appendText("🚀 Starting simulation with " + selectedAlgo + "\n");
         logArea.appendText("Simulation time: " + SIMULATION_TIME + " units\n");
-        logArea.appendText("=" .repeat(60) + "\n");
-        
-        // Reset tasks
-        for (Task task : tasks) {
-            task.reset();
+        ScheduleResult result;
+        try {
+            if (scheduler instanceof FixedPriorityScheduler) {
+                // The cache simulates the set in canonical order, which decides priority ties
+                List<Task> ordered = ScheduleCache.canonicalOrder(tasks);
+                int[] priorityOrder = ((FixedPriorityScheduler) scheduler).getPriorityOrder(ordered);
+                StringBuilder order = new StringBuilder();
+                for (int index : priorityOrder) {
+                    order.append(order.length() > 0 ? " > " : "").append(ordered.get(index).getId());
+                }
+                logArea.appendText("Priority order: " + order + "\n");
+            }
+            logArea.appendText("=" .repeat(60) + "\n");
+            
+            long cachedRuns = scheduleCache.getHitCount();
+            result = scheduleCache.schedule(scheduler, tasks, SIMULATION_TIME);
+            if (scheduleCache.getHitCount() > cachedRuns) {
+                logArea.appendText("Reused the cached run of this task set\n");
+            } else if (scheduler.getLastResumeTime() > 0) {
+                logArea.appendText("Resumed the previous run from time " + scheduler.getLastResumeTime() + "\n");
+            }
+        } catch (IllegalArgumentException ex) {
+            showAlert("Unsupported Combination", ex.getMessage());
+            return;
         }
         
-        ScheduleResult result = scheduler.schedule(new ArrayList<>(tasks), SIMULATION_TIME);
-        
         drawGanttChart(result);
         
         // Log results
         logArea.appendText("\n📈 Simulation Results:\n");
         logArea.appendText("-".repeat(60) + "\n");
         
-        if (result.getMissedDeadlines().isEmpty()) {
+        // Counts jobs that completed after a constrained deadline as well as unfinished ones
+        int missedJobs = result.getMetrics().getMissedJobs();
+        if (missedJobs == 0) {
             logArea.appendText("✅ No missed deadlines!\n");
             statusLabel.setText("Status: ✅ Schedule is feasible - No deadline misses");
             statusLabel.setStyle("-fx-text-fill: green; -fx-font-weight: bold;");
         } else {
-            logArea.appendText("❌ Deadline misses detected:\n");
+            logArea.appendText(String.format("❌ %d deadline misses detected:\n", missedJobs));
             for (String miss : result.getMissedDeadlines()) {
                 logArea.appendText("  • " + miss + "\n");
             }
@@ -317,51 +485,316 @@ public class RealTimeSchedulerApp extends Application {
                                   .sum();
         logArea.appendText(String.format("\n💡 CPU Utilization: %.2f (%.1f%%)\n", utilization, utilization * 100));
         
-        // Calculate idle time
-        long idleTime = result.getExecutionTimeline().stream().filter(t -> t.equals("IDLE")).count();
+        // Idle time and run statistics are collected by the engine while it simulates
+        SimulationMetrics metrics = result.getMetrics();
+        int idleTime = metrics.getIdleTime();
         logArea.appendText(String.format("⏸️  Idle Time: %d / %d units (%.1f%%)\n", 
             idleTime, SIMULATION_TIME, (idleTime * 100.0 / SIMULATION_TIME)));
+        logArea.appendText(String.format("🔁 Context Switches: %d, Preemptions: %d\n",
+            metrics.getContextSwitches(), metrics.getPreemptions()));
+        if (metrics.getOverheadTime() > 0) {
+            logArea.appendText(String.format("⚙️  Scheduling Overhead: %d units\n", metrics.getOverheadTime()));
+        }
+        logArea.appendText(String.format("📊 Windowed Utilization (%d units): min %.0f%%, max %.0f%%\n",
+            metrics.getUtilizationWindow(), metrics.getMinWindowUtilization() * 100,
+            metrics.getMaxWindowUtilization() * 100));
+        
+        logArea.appendText("\n⏱️  Response Times (worst / avg / p95), Jitter (start / finish):\n");
+        TaskRegistry registry = result.getRegistry();
+        for (int taskIndex = 0; taskIndex < registry.size(); taskIndex++) {
+            TaskMetrics taskMetrics = metrics.getTaskMetrics(taskIndex);
+            logArea.appendText(String.format("  • %s: %d / %.2f / %d, jitter %d / %d, preempted %d×\n",
+                registry.getId(taskIndex), taskMetrics.getWorstResponseTime(),
+                taskMetrics.getAverageResponseTime(), taskMetrics.getResponseTimePercentile(95),
+                taskMetrics.getStartJitter(), taskMetrics.getFinishJitter(), taskMetrics.getPreemptions()));
+        }
         
         logArea.appendText("\n" + "=".repeat(60) + "\n");
         logArea.appendText("✓ Simulation completed successfully!\n");
     }
     
+    // Engine for one entry of the algorithm list, with the selected locking protocol
+    private AbstractScheduler createScheduler(String algorithm) {
+        AbstractScheduler scheduler;
+        if (algorithm.contains("RMS")) {
+            scheduler = new RateMonotonicScheduler();
+        } else if (algorithm.contains("DM")) {
+            scheduler = new FixedPriorityScheduler(StandardPriorityPolicy.DEADLINE_MONOTONIC);
+        } else if (algorithm.contains("OPA")) {
+            scheduler = new FixedPriorityScheduler(StandardPriorityPolicy.OPTIMAL);
+        } else if (algorithm.contains("LLF")) {
+            scheduler = new LeastLaxityFirstScheduler();
+        } else if (algorithm.contains("EDZL")) {
+            scheduler = new EarliestDeadlineZeroLaxityScheduler();
+        } else {
+            scheduler = new EarliestDeadlineFirstScheduler();
+        }
+        if (algorithm.startsWith("Non-preemptive")) {
+            scheduler.setPreemptionMode(PreemptionMode.NON_PREEMPTIVE);
+        }
+        applySelectedProtocol(scheduler);
+        return scheduler;
+    }
+    
+    private void applySelectedProtocol(AbstractScheduler scheduler) {
+        String selectedProtocol = protocolComboBox.getSelectionModel().getSelectedItem();
+        if (selectedProtocol.contains("PIP")) {
+            scheduler.setResourceProtocol(ResourceProtocol.PRIORITY_INHERITANCE);
+        } else if (selectedProtocol.contains("PCP")) {
+            scheduler.setResourceProtocol(ResourceProtocol.PRIORITY_CEILING);
+        } else if (selectedProtocol.contains("SRP")) {
+            scheduler.setResourceProtocol(ResourceProtocol.STACK_RESOURCE_POLICY);
+        } else {
+            scheduler.setResourceProtocol(ResourceProtocol.NONE);
+        }
+    }
+    
+    private int fieldValue(TextField field, int defaultValue) {
+        String text = field.getText().trim();
+        return text.isEmpty() ? defaultValue : Integer.parseInt(text);
+    }
+    
+    // Runs every algorithm in the list on the worker pool and shows them side by side
+    private void runComparison(Button compareButton) {
+        if (tasks.isEmpty()) {
+            showAlert("No Tasks", "Please add tasks before running simulation.");
+            return;
+        }
+        
+        ScheduleComparison comparison = new ScheduleComparison();
+        comparison.setCache(scheduleCache);
+        for (String algorithm : algorithmComboBox.getItems()) {
+            comparison.register(algorithm, createScheduler(algorithm));
+        }
+        List<Task> snapshot = new ArrayList<>(tasks);
+        
+        compareButton.setDisable(true);
+        logArea.clear();
+        logArea.appendText("⚖️  Comparing " + comparison.getNames().size() + " algorithms over "
+            + SIMULATION_TIME + " units...\n");
+        long start = System.nanoTime();
+        comparison.runAsync(snapshot, SIMULATION_TIME, comparisonPool).whenComplete((runs, error) ->
+            Platform.runLater(() -> {
+                compareButton.setDisable(false);
+                if (error != null) {
+                    showAlert("Comparison Failed", String.valueOf(error.getMessage()));
+                    return;
+                }
+                drawComparisonChart(snapshot, runs);
+                logComparison(snapshot, runs, System.nanoTime() - start);
+            }));
+    }
+    
+    private void logComparison(List<Task> snapshot, List<ScheduleComparison.Run> runs, long wallNanos) {
+        long engineNanos = 0;
+        for (ScheduleComparison.Run run : runs) {
+            engineNanos += run.getElapsedNanos();
+        }
+        logArea.appendText(String.format("Finished in %.1f ms (%.1f ms of engine time)\n",
+            wallNanos / 1e6, engineNanos / 1e6));
+        logArea.appendText("=".repeat(60) + "\n");
+        
+        for (ScheduleComparison.Run run : runs) {
+            if (run.getResult() == null) {
+                logArea.appendText(String.format("  • %s: not run (%s)\n", run.getName(), run.getError()));
+                continue;
+            }
+            SimulationMetrics metrics = run.getResult().getMetrics();
+            logArea.appendText(String.format("  • %s: %d misses, %d preemptions, %d context switches\n",
+                run.getName(), metrics.getMissedJobs(), metrics.getPreemptions(),
+                metrics.getContextSwitches()));
+        }
+        
+        // Only tasks whose worst response time depends on the algorithm
+        logArea.appendText("\n⏱️  Worst response times that differ (* = missed a deadline):\n");
+        boolean anyDifference = false;
+        for (Task task : snapshot) {
+            StringBuilder line = new StringBuilder();
+            Set<Long> distinct = new HashSet<>();
+            for (ScheduleComparison.Run run : runs) {
+                TaskMetrics taskMetrics = run.getTaskMetrics(task.getId());
+                if (taskMetrics == null) {
+                    continue;
+                }
+                distinct.add(taskMetrics.getWorstResponseTime());
+                line.append(String.format("  %s %d%s", shortAlgorithmName(run.getName()),
+                    taskMetrics.getWorstResponseTime(), taskMetrics.getMissedJobs() > 0 ? "*" : ""));
+            }
+            if (distinct.size() > 1) {
+                anyDifference = true;
+                logArea.appendText("  • " + task.getId() + ":" + line + "\n");
+            }
+        }
+        if (!anyDifference) {
+            logArea.appendText("  • All algorithms give every task the same worst response time\n");
+        }
+        logArea.appendText("\n" + "=".repeat(60) + "\n");
+    }
+    
+    // "Rate Monotonic Scheduling (RMS)" -> "RMS", "Non-preemptive EDF" -> "NP EDF"
+    private String shortAlgorithmName(String algorithm) {
+        int open = algorithm.indexOf('(');
+        if (open >= 0 && algorithm.endsWith(")")) {
+            return algorithm.substring(open + 1, algorithm.length() - 1);
+        }
+        return algorithm.replace("Non-preemptive", "NP");
+    }
+    
+    // One lane per algorithm on a shared time axis
+    private void drawComparisonChart(List<Task> snapshot, List<ScheduleComparison.Run> runs) {
+        double laneHeight = 28;
+        double laneGap = 12;
+        double yStart = 50;
+        double labelWidth = 100;
+        ganttCanvas.setHeight(Math.max(GANTT_HEIGHT, yStart + runs.size() * (laneHeight + laneGap) + 110));
+        ganttResult = null;
+        
+        GraphicsContext gc = ganttCanvas.getGraphicsContext2D();
+        gc.setFill(Color.WHITE);
+        gc.fillRect(0, 0, ganttCanvas.getWidth(), ganttCanvas.getHeight());
+        gc.setFill(Color.BLACK);
+        gc.setFont(Font.font("Arial", FontWeight.BOLD, 14));
+        gc.fillText("Algorithm Comparison", 10, 25);
+        
+        int timeUnits = 1;
+        for (ScheduleComparison.Run run : runs) {
+            if (run.getResult() != null) {
+                timeUnits = Math.max(timeUnits, run.getResult().getTimelineLength());
+            }
+        }
+        double cellWidth = Math.min(30, (ganttCanvas.getWidth() - labelWidth - 60) / timeUnits);
+        
+        // Engines may index the set differently, so colors follow the task id
+        Color[] colors = {Color.rgb(52, 152, 219), Color.rgb(46, 204, 113), 
+                         Color.rgb(241, 196, 15), Color.rgb(231, 76, 60),
+                         Color.rgb(155, 89, 182), Color.rgb(26, 188, 156)};
+        Map<String, Color> colorById = new HashMap<>();
+        for (Task task : snapshot) {
+            colorById.putIfAbsent(task.getId(), colors[colorById.size() % colors.length]);
+        }
+        
+        double y = yStart;
+        for (ScheduleComparison.Run run : runs) {
+            gc.setFill(Color.BLACK);
+            gc.setFont(Font.font("Arial", FontWeight.BOLD, 11));
+            gc.fillText(shortAlgorithmName(run.getName()), 10, y + laneHeight / 2 + 4);
+            
+            ScheduleResult result = run.getResult();
+            if (result == null) {
+                gc.setFill(Color.GRAY);
+                gc.setFont(Font.font("Arial", 11));
+                gc.fillText("Not run: " + run.getError(), labelWidth, y + laneHeight / 2 + 4);
+                y += laneHeight + laneGap;
+                continue;
+            }
+            
+            TaskRegistry registry = result.getRegistry();
+            for (int i = 0; i < result.getTimelineLength(); i++) {
+                int taskIndex = result.getTaskIndexAt(i);
+                Color color;
+                if (taskIndex == TaskRegistry.IDLE) {
+                    color = Color.LIGHTGRAY;
+                } else if (taskIndex == TaskRegistry.OVERHEAD) {
+                    color = Color.DARKGRAY;
+                } else {
+                    color = colorById.getOrDefault(registry.getId(taskIndex), Color.GRAY);
+                }
+                gc.setFill(color);
+                gc.fillRect(labelWidth + i * cellWidth, y, cellWidth - 1, laneHeight);
+                if (taskIndex >= 0 && cellWidth >= 14) {
+                    gc.setFill(Color.WHITE);
+                    gc.setFont(Font.font("Arial", FontWeight.BOLD, 9));
+                    gc.fillText(registry.getId(taskIndex), labelWidth + i * cellWidth + 2, y + laneHeight / 2 + 3);
+                }
+            }
+            
+            // Deadline misses as red markers across the lane
+            gc.setStroke(Color.RED);
+            gc.setLineWidth(2);
+            for (DeadlineMiss miss : result.getDeadlineMisses()) {
+                double x = labelWidth + miss.getTime() * cellWidth;
+                gc.strokeLine(x, y - 3, x, y + laneHeight + 3);
+            }
+            gc.setLineWidth(1);
+            y += laneHeight + laneGap;
+        }
+        
+        // Shared time axis
+        gc.setStroke(Color.BLACK);
+        gc.setFill(Color.BLACK);
+        gc.setFont(Font.font("Arial", 10));
+        gc.strokeLine(labelWidth, y, labelWidth + timeUnits * cellWidth, y);
+        for (int i = 0; i <= timeUnits; i += 5) {
+            double x = labelWidth + i * cellWidth;
+            gc.strokeLine(x, y, x, y + 5);
+            gc.fillText(String.valueOf(i), x - 5, y + 18);
+        }
+        
+        // Legend
+        double legendY = y + 40;
+        int legendIndex = 0;
+        for (Map.Entry<String, Color> entry : colorById.entrySet()) {
+            drawLegendEntry(gc, entry.getValue(), entry.getKey(), legendIndex++, legendY);
+        }
+        drawLegendEntry(gc, Color.LIGHTGRAY, "IDLE", legendIndex++, legendY);
+        drawLegendEntry(gc, Color.RED, "Deadline miss", legendIndex, legendY);
+    }
+    
+    private void drawLegendEntry(GraphicsContext gc, Color color, String label, int legendIndex, double legendY) {
+        double legendX = 10 + (legendIndex % 6) * 150;
+        double legendYPos = legendY + (legendIndex / 6) * 22;
+        gc.setFill(color);
+        gc.fillRect(legendX, legendYPos, 30, 15);
+        gc.setStroke(Color.DARKGRAY);
+        gc.strokeRect(legendX, legendYPos, 30, 15);
+        gc.setFill(Color.BLACK);
+        gc.setFont(Font.font("Arial", 11));
+        gc.fillText(label, legendX + 35, legendYPos + 12);
+    }
+    
     private void drawGanttChart(ScheduleResult result) {
+        ganttCanvas.setHeight(GANTT_HEIGHT);
         GraphicsContext gc = ganttCanvas.getGraphicsContext2D();
         
         // Clear canvas
         gc.setFill(Color.WHITE);
         gc.fillRect(0, 0, ganttCanvas.getWidth(), ganttCanvas.getHeight());
         
-        List<String> timeline = result.getExecutionTimeline();
-        int timeUnits = timeline.size();
+        TaskRegistry registry = result.getRegistry();
+        int timeUnits = result.getTimelineLength();
         
         double cellWidth = Math.min(30, (ganttCanvas.getWidth() - 100) / timeUnits);
         double chartHeight = 40;
         double yStart = 50;
+        ganttResult = result;
+        ganttCellWidth = cellWidth;
         
         // Draw title
         gc.setFill(Color.BLACK);
         gc.setFont(Font.font("Arial", FontWeight.BOLD, 14));
         gc.fillText("Task Execution Timeline", 10, 25);
         
-        // Task color mapping
-        Map<String, Color> taskColors = new HashMap<>();
+        // Task color mapping, indexed by registry index
         Color[] colors = {Color.rgb(52, 152, 219), Color.rgb(46, 204, 113), 
                          Color.rgb(241, 196, 15), Color.rgb(231, 76, 60),
                          Color.rgb(155, 89, 182), Color.rgb(26, 188, 156)};
         
-        int colorIndex = 0;
-        for (Task task : tasks) {
-            taskColors.put(task.getId(), colors[colorIndex % colors.length]);
-            colorIndex++;
+        Color[] taskColors = new Color[registry.size()];
+        for (int taskIndex = 0; taskIndex < taskColors.length; taskIndex++) {
+            taskColors[taskIndex] = colors[taskIndex % colors.length];
         }
-        taskColors.put("IDLE", Color.LIGHTGRAY);
         
         // Draw timeline
         for (int i = 0; i < timeUnits; i++) {
-            String taskId = timeline.get(i);
-            Color color = taskColors.getOrDefault(taskId, Color.GRAY);
+            int taskIndex = result.getTaskIndexAt(i);
+            Color color;
+            if (taskIndex == TaskRegistry.IDLE) {
+                color = Color.LIGHTGRAY;
+            } else if (taskIndex == TaskRegistry.OVERHEAD) {
+                color = Color.DARKGRAY;
+            } else {
+                color = taskColors[taskIndex];
+            }
             
             // Draw cell
             gc.setFill(color);
@@ -374,8 +807,8 @@ public class RealTimeSchedulerApp extends Application {
             // Draw task label
             gc.setFill(Color.WHITE);
             gc.setFont(Font.font("Arial", FontWeight.BOLD, 10));
-            if (!taskId.equals("IDLE")) {
-                gc.fillText(taskId, 100 + i * cellWidth + 5, yStart + 25);
+            if (taskIndex >= 0) {
+                gc.fillText(registry.getId(taskIndex), 100 + i * cellWidth + 5, yStart + 25);
             }
         }
         
@@ -402,8 +835,9 @@ public class RealTimeSchedulerApp extends Application {
         gc.fillText("Legend:", 10, legendY);
         
         int legendIndex = 0;
-        for (Task task : tasks) {
-            Color color = taskColors.get(task.getId());
+        for (int taskIndex = 0; taskIndex < registry.size(); taskIndex++) {
+            Task task = registry.getTask(taskIndex);
+            Color color = taskColors[taskIndex];
             double legendX = 10 + (legendIndex % 4) * 200;
             double legendYPos = legendY + 20 + (legendIndex / 4) * 25;
             
@@ -430,9 +864,73 @@ public class RealTimeSchedulerApp extends Application {
         gc.strokeRect(legendX, legendYPos, 30, 15);
         gc.setFill(Color.BLACK);
         gc.fillText("IDLE", legendX + 35, legendYPos + 12);
+        legendIndex++;
+        
+        // Draw OVERHEAD legend only when the run charged scheduling overhead
+        if (result.getMetrics().getOverheadTime() > 0) {
+            legendX = 10 + (legendIndex % 4) * 200;
+            legendYPos = legendY + 20 + (legendIndex / 4) * 25;
+            gc.setFill(Color.DARKGRAY);
+            gc.fillRect(legendX, legendYPos, 30, 15);
+            gc.setStroke(Color.DARKGRAY);
+            gc.strokeRect(legendX, legendYPos, 30, 15);
+            gc.setFill(Color.BLACK);
+            gc.fillText("OVERHEAD", legendX + 35, legendYPos + 12);
+        }
+    }
+    
+    // Writes the simulated run as an SVG with one lane per task, readable at any horizon
+    private void exportGanttChart() {
+        if (ganttResult == null) {
+            showAlert("Nothing to Export", "Run a simulation first.");
+            return;
+        }
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Export Gantt Chart");
+        chooser.setInitialFileName("gantt.svg");
+        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("SVG image", "*.svg"));
+        File file = chooser.showSaveDialog(stage);
+        if (file == null) {
+            return;
+        }
+        try {
+            new GanttExporter().writeSvg(ganttResult, file.toPath());
+            logArea.appendText("Exported the Gantt chart to " + file + "\n");
+        } catch (IOException ex) {
+            showAlert("Export Failed", ex.getMessage());
+        }
+    }
+    
+    // Describes the timeline segment under the pointer: who ran, for how long, the task's
+    // share of the run and the misses recorded in the segment
+    private void updateGanttTooltip(double x, double y) {
+        int time = ganttResult != null ? (int) Math.floor((x - 100) / ganttCellWidth) : -1;
+        if (time < 0 || time >= ganttResult.getTimelineLength() || y < 50 || y > 90) {
+            Tooltip.uninstall(ganttCanvas, ganttTooltip);
+            return;
+        }
+        TimelineIndex index = ganttResult.getTimelineIndex();
+        TaskRegistry registry = ganttResult.getRegistry();
+        int segment = index.segmentAt(time);
+        int entity = index.getSegmentEntity(segment);
+        int start = index.getSegmentStart(segment);
+        int end = index.getSegmentEnd(segment);
+        int length = index.getLength();
+        
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%s at time %d%nRuns [%d, %d): %d units%nShare of [0, %d): %.1f%%",
+                                  registry.getId(entity), time, start, end, end - start,
+                                  length, index.getShare(entity, 0, length) * 100));
+        for (DeadlineMiss miss : index.getMissesBetween(start, end + 1)) {
+            text.append("\n").append(miss.describe(registry));
+        }
+        ganttTooltip.setText(text.toString());
+        Tooltip.install(ganttCanvas, ganttTooltip);
     }
     
     private void clearGanttChart() {
+        ganttResult = null;
+        ganttCanvas.setHeight(GANTT_HEIGHT);
         GraphicsContext gc = ganttCanvas.getGraphicsContext2D();
         gc.setFill(Color.WHITE);
         gc.fillRect(0, 0, ganttCanvas.getWidth(), ganttCanvas.getHeight());
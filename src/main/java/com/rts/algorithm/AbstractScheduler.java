@@ -0,0 +1,624 @@
+package com.rts.algorithm;
+
+import com.rts.model.AperiodicJob;
+import com.rts.model.AperiodicServer;
+import com.rts.model.DeadlineMiss;
+import com.rts.model.ExecutionTimeDistribution;
+import com.rts.model.OverheadModel;
+import com.rts.model.PreemptionMode;
+import com.rts.model.ResourceProtocol;
+import com.rts.model.ScheduleResult;
+import com.rts.model.ServerPolicy;
+import com.rts.model.SimulationMetrics;
+import com.rts.model.Task;
+import com.rts.model.TaskRegistry;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+// Tick-driven simulation loop shared by the uniprocessor engines. Subclasses only
+// decide which ready job runs next; releases, deadline checks, overhead charging,
+// aperiodic servers and metrics live here.
+public abstract class AbstractScheduler implements Scheduler {
+    // Entity index that never matches a timeline value, used when no server is configured
+    private static final int NO_SERVER = Integer.MIN_VALUE;
+    // Spreads the (task, job) keys of release delays over the seed space
+    private static final long JITTER_GAMMA = 0x9E3779B97F4A7C15L;
+    // Same for execution times, with another odd constant so equal seeds give unrelated draws
+    private static final long EXECUTION_GAMMA = 0xBF58476D1CE4E5B9L;
+
+    private int utilizationWindow = SimulationMetrics.DEFAULT_UTILIZATION_WINDOW;
+    private OverheadModel overheadModel = OverheadModel.NONE;
+    private PreemptionMode preemptionMode = PreemptionMode.PREEMPTIVE;
+    private int preemptionPointInterval = 1;
+    private AperiodicServer aperiodicServer;
+    private List<AperiodicJob> aperiodicJobs = Collections.emptyList();
+    private long releaseJitterSeed;
+    private long executionTimeSeed;
+    private ResourceProtocol resourceProtocol = ResourceProtocol.NONE;
+    private int incrementalCheckpoints;
+    // Checkpoints of the last schedule() run, kept for the next one
+    private IncrementalRun lastRun;
+    private int lastResumeTime;
+
+    @Override
+    public ScheduleResult schedule(List<Task> tasks, int simulationTime) {
+        return simulate(tasks, simulationTime, 0);
+    }
+
+    // Exact feasibility of a periodic task set, including offsets, overheads and the
+    // preemption mode. Once every task has been released the arrival pattern repeats with
+    // the hyperperiod H, so the engine state is compared at Omax + kH and the run stops as
+    // soon as a state repeats. For preemptive sets without overhead that happens by Omax + 2H;
+    // overhead and non-preemptive chunks may take a few more hyperperiods. Late completions
+    // count as misses here, not just jobs still unfinished at their next release.
+    public boolean isFeasible(List<Task> tasks) {
+        if (aperiodicServer != null) {
+            throw new IllegalArgumentException("Exact feasibility does not cover aperiodic servers");
+        }
+        long maxOffset = 0;
+        long hyperperiod = 1;
+        long work = 0;
+        try {
+            for (Task task : tasks) {
+                if (task.getReleaseJitter() > 0) {
+                    throw new IllegalArgumentException("Exact feasibility does not cover release jitter");
+                }
+                if (task.getExecutionTimeDistribution() != null) {
+                    throw new IllegalArgumentException("Exact feasibility does not cover execution-time distributions");
+                }
+                maxOffset = Math.max(maxOffset, task.getOffset());
+                long period = task.getPeriod();
+                long gcd = hyperperiod;
+                for (long b = period; b != 0; ) {
+                    long r = gcd % b;
+                    gcd = b;
+                    b = r;
+                }
+                hyperperiod = Math.multiplyExact(hyperperiod / gcd, period);
+            }
+            for (Task task : tasks) {
+                work = Math.addExact(work, Math.multiplyExact(hyperperiod / task.getPeriod(),
+                        (long) task.getExecutionTime()));
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Hyperperiod of the task set is too long");
+        }
+        if (maxOffset + 2 * hyperperiod > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Feasibility window of the task set is too long");
+        }
+        if (work > hyperperiod) {
+            // Utilization above 1: the backlog grows every hyperperiod
+            return false;
+        }
+        ScheduleResult result = simulate(tasks, Integer.MAX_VALUE, (int) hyperperiod);
+        return result.getDeadlineMisses().isEmpty();
+    }
+
+    // Runs the engine loop. With a positive hyperperiod the run is a feasibility check:
+    // no timeline is kept, and it stops at the first miss or once a checkpoint state repeats.
+    private ScheduleResult simulate(List<Task> tasks, int simulationTime, int hyperperiod) {
+        boolean exact = hyperperiod > 0;
+        RunProbe probe = SchedulerInstrumentation.begin(this, tasks.size(), simulationTime);
+        List<Task> entities = tasks;
+        if (aperiodicServer != null) {
+            if (!supportsServer(aperiodicServer.getPolicy())) {
+                throw new IllegalArgumentException(aperiodicServer.getPolicy()
+                        + " servers are not supported by " + getAlgorithmName());
+            }
+            entities = new ArrayList<>(tasks);
+            entities.add(aperiodicServer.toTask());
+        }
+
+        TaskRegistry registry = new TaskRegistry(entities);
+        SchedulingState state = new SchedulingState(registry, tasks.size());
+        ResourceState resources = ResourceState.create(state, resourceProtocol);
+        if (resources != null && !supportsProtocol(resourceProtocol)) {
+            throw new IllegalArgumentException(resourceProtocol + " is not supported by " + getAlgorithmName());
+        }
+        state.resources = resources;
+        Dispatcher dispatcher = createDispatcher(state);
+        SimulationMetrics metrics = new SimulationMetrics(state.entityCount, utilizationWindow);
+
+        int taskCount = state.taskCount;
+        int[] executionTime = state.executionTime;
+        int[] period = state.period;
+        int[] relativeDeadline = state.relativeDeadline;
+        int[] releaseJitter = state.releaseJitter;
+        ExecutionTimeDistribution[] executionTimes = state.executionTimes;
+        int[] remaining = state.remaining;
+        int[] absoluteDeadline = state.absoluteDeadline;
+
+        int serverIndex = NO_SERVER;
+        AperiodicServerState server = null;
+        if (aperiodicServer != null) {
+            serverIndex = taskCount;
+            server = new AperiodicServerState(aperiodicServer, aperiodicJobs, serverIndex, state, metrics);
+            metrics.setAperiodicServerIndex(serverIndex);
+        }
+
+        int switchCost = overheadModel.getContextSwitchCost();
+        int preemptionCost = overheadModel.getPreemptionCost();
+        int releaseCost = overheadModel.getReleaseCost();
+        int chunkLength = preemptionMode.getChunkLength(preemptionPointInterval);
+
+        int maxPeriod = 1;
+        for (int i = 0; i < taskCount; i++) {
+            maxPeriod = Math.max(maxPeriod, period[i]);
+        }
+        ReleaseWheel releases = new ReleaseWheel(taskCount, maxPeriod, state.priorityLevel);
+        int maxOffset = 0;
+        for (int i = 0; i < taskCount; i++) {
+            maxOffset = Math.max(maxOffset, state.offset[i]);
+        }
+        int[] due = new int[taskCount];
+        // Nominal arrival of each task's current job, and whether its release is still
+        // held back by jitter
+        int[] arrival = new int[taskCount];
+        boolean[] awaitingRelease = new boolean[taskCount];
+        // Nominal arrivals so far, which key the release delay of each job
+        int[] jobCount = new int[taskCount];
+
+        int[] timeline = exact ? null : new int[simulationTime];
+        List<DeadlineMiss> missedDeadlines = new ArrayList<>();
+        int checkpoint = maxOffset;
+        // IntBuffer compares and hashes by content, so it can key the states seen so far
+        Set<IntBuffer> checkpointStates = new HashSet<>();
+
+        // Overhead ticks still owed before task work can continue
+        int pendingOverhead = 0;
+        // Task whose context is loaded on the CPU
+        int lastDispatched = TaskRegistry.IDLE;
+        // Unfinished job that executed in the last task tick; a different pick preempts it
+        int lastRunning = TaskRegistry.IDLE;
+        // Units lastRunning still runs before its next preemption point (always 0 when preemptive)
+        int nonPreemptiveLeft = 0;
+        // Entity the dispatcher picked at the last dispatch, which stateful dispatchers favour
+        // while it stays ready; IDLE once it is not
+        int lastSelected = TaskRegistry.IDLE;
+
+        int startTime = 0;
+        IncrementalRun recording = null;
+        if (!exact && incrementalCheckpoints > 0 && server == null) {
+            IncrementalRun.Resume resume = lastRun != null ? lastRun.plan(this, tasks, simulationTime) : null;
+            lastRun = null;
+            recording = new IncrementalRun(this, tasks, simulationTime, incrementalCheckpoints);
+            if (resume != null) {
+                SimulationCheckpoint from = resume.getCheckpoint();
+                startTime = from.getTime();
+                metrics = from.restore(state, arrival, awaitingRelease, jobCount, releases, dispatcher);
+                missedDeadlines.addAll(from.getDeadlineMisses());
+                pendingOverhead = from.getPendingOverhead();
+                lastDispatched = from.getLastDispatched();
+                lastRunning = from.getLastRunning();
+                nonPreemptiveLeft = from.getNonPreemptiveLeft();
+                lastSelected = from.getLastSelected();
+                dispatcher.resume(lastSelected);
+                System.arraycopy(resume.getTimeline(), 0, timeline, 0, startTime);
+                recording.resumeFrom(resume);
+            }
+        }
+        if (startTime == 0) {
+            for (int i = 0; i < taskCount; i++) {
+                releases.schedule(i, state.offset[i]);
+            }
+        }
+        lastResumeTime = startTime;
+        int firstNewMiss = missedDeadlines.size();
+        if (probe != null) {
+            probe.loopStarted(startTime);
+        }
+
+        // Simulate scheduling
+        int time = startTime;
+        for (; time < simulationTime; time++) {
+            state.time = time;
+            if (recording != null && recording.isCheckpointDue(time)) {
+                recording.addCheckpoint(SimulationCheckpoint.capture(time, state, arrival, awaitingRelease, jobCount,
+                        releases, pendingOverhead, lastDispatched, lastRunning, nonPreemptiveLeft, lastSelected,
+                        missedDeadlines, metrics));
+            }
+            if (exact) {
+                if (!missedDeadlines.isEmpty()) {
+                    break;
+                }
+                if (time == checkpoint) {
+                    for (int i = 0; i < taskCount; i++) {
+                        if (remaining[i] > 0 && absoluteDeadline[i] <= time) {
+                            missedDeadlines.add(new DeadlineMiss(i, time, true));
+                        }
+                    }
+                    if (!missedDeadlines.isEmpty()) {
+                        break;
+                    }
+                    int[] snapshot = captureState(state, time, pendingOverhead, lastDispatched,
+                            lastRunning, nonPreemptiveLeft, lastSelected);
+                    if (resources != null) {
+                        int size = snapshot.length;
+                        snapshot = Arrays.copyOf(snapshot, size + resources.stateSize());
+                        resources.appendState(snapshot, size);
+                    }
+                    if (!checkpointStates.add(IntBuffer.wrap(snapshot))) {
+                        // The schedule repeats from here on
+                        break;
+                    }
+                    checkpoint += hyperperiod;
+                }
+            }
+
+            // Release tasks at their period intervals
+            int dueCount = releases.collectDue(time, due);
+            for (int d = 0; d < dueCount; d++) {
+                int i = due[d];
+                if (!awaitingRelease[i]) {
+                    // Nominal arrival of the next job
+                    if (remaining[i] > 0) {
+                        // Deadline miss - task not completed before next release
+                        missedDeadlines.add(new DeadlineMiss(i, time));
+                        metrics.recordDeadlineMiss(i);
+                    }
+                    if (i == lastRunning) {
+                        // The unfinished job is replaced, so it cannot be preempted any more
+                        lastRunning = TaskRegistry.IDLE;
+                        nonPreemptiveLeft = 0;
+                    }
+                    arrival[i] = time;
+                    if (resources != null) {
+                        resources.resetJob(i, dispatcher);
+                    }
+                    int delay = releaseJitter[i] == 0 ? 0 : jitterDelay(i, jobCount[i], releaseJitter[i]);
+                    jobCount[i]++;
+                    if (delay > 0) {
+                        // The job has arrived but only becomes ready after its release jitter
+                        remaining[i] = 0;
+                        dispatcher.update(i);
+                        if (i == lastSelected) {
+                            lastSelected = TaskRegistry.IDLE;
+                        }
+                        awaitingRelease[i] = true;
+                        releases.schedule(i, time + delay);
+                        continue;
+                    }
+                }
+                awaitingRelease[i] = false;
+                remaining[i] = executionTimes[i] == null ? executionTime[i]
+                        : sampleExecutionTime(i, jobCount[i] - 1, executionTimes[i]);
+                absoluteDeadline[i] = arrival[i] + relativeDeadline[i];
+                dispatcher.update(i);
+                metrics.recordRelease(i, arrival[i]);
+                pendingOverhead += releaseCost;
+                releases.schedule(i, arrival[i] + period[i]);
+            }
+            if (server != null) {
+                pendingOverhead += server.onTick(time) * releaseCost;
+                dispatcher.update(serverIndex);
+            }
+
+            int selected = lastRunning;
+            boolean dispatched = false;
+            if (resources != null && pendingOverhead == 0 && nonPreemptiveLeft > 0
+                    && !resources.tryLock(lastRunning)) {
+                // A job that has to wait for a lock gives up the rest of its chunk
+                nonPreemptiveLeft = 0;
+            }
+            if (pendingOverhead == 0 && nonPreemptiveLeft == 0) {
+                selected = dispatcher.select();
+                dispatched = true;
+                if (resources != null) {
+                    selected = resources.resolve(selected, dispatcher);
+                    if (resources.waitsForLock(lastRunning)) {
+                        // Waiting for a lock suspends the job rather than preempting it
+                        lastRunning = TaskRegistry.IDLE;
+                    }
+                }
+                lastSelected = selected;
+                if (lastRunning != TaskRegistry.IDLE && selected != lastRunning) {
+                    metrics.recordPreemption(lastRunning);
+                    if (probe != null) {
+                        probe.preemption(time);
+                    }
+                    if (lastRunning == serverIndex) {
+                        server.chargePreemption(preemptionCost);
+                        dispatcher.update(serverIndex);
+                    } else {
+                        remaining[lastRunning] += preemptionCost;
+                        dispatcher.update(lastRunning);
+                    }
+                    lastRunning = TaskRegistry.IDLE;
+                }
+                if (selected != TaskRegistry.IDLE && selected != lastDispatched) {
+                    if (lastDispatched != TaskRegistry.IDLE) {
+                        metrics.recordContextSwitch();
+                        pendingOverhead = switchCost;
+                    }
+                    lastDispatched = selected;
+                }
+            }
+
+            if (pendingOverhead > 0) {
+                // Spend this tick on release or context-switch overhead
+                pendingOverhead--;
+                metrics.recordTick(TaskRegistry.OVERHEAD, time);
+                if (timeline != null) {
+                    timeline[time] = TaskRegistry.OVERHEAD;
+                }
+                continue;
+            }
+
+            metrics.recordTick(selected, time);
+            if (timeline != null) {
+                timeline[time] = selected;
+            }
+            if (selected == TaskRegistry.IDLE) {
+                continue;
+            }
+
+            boolean completed;
+            boolean unlocked = false;
+            if (selected == serverIndex) {
+                completed = server.execute(time);
+                dispatcher.update(serverIndex);
+            } else {
+                completed = --remaining[selected] == 0;
+                if (recording != null) {
+                    recording.recordExecution(selected, time, completed);
+                }
+                if (resources != null) {
+                    unlocked = resources.afterTick(selected, dispatcher);
+                }
+                if (completed) {
+                    metrics.recordCompletion(selected, time + 1);
+                    dispatcher.update(selected);
+                    if (time + 1 > absoluteDeadline[selected]) {
+                        metrics.recordLateJob(selected);
+                        missedDeadlines.add(new DeadlineMiss(selected, time + 1, true));
+                    }
+                }
+            }
+
+            if (completed || remaining[selected] == 0) {
+                // Job finished, or the server ran out of budget or work
+                lastRunning = TaskRegistry.IDLE;
+                nonPreemptiveLeft = 0;
+                if (selected == lastSelected) {
+                    // Stateful dispatchers drop an entity that is no longer ready
+                    lastSelected = TaskRegistry.IDLE;
+                }
+            } else if (dispatched) {
+                // A new chunk starts at every dispatch or preemption point
+                lastRunning = selected;
+                nonPreemptiveLeft = chunkLength - 1;
+            } else {
+                // Inside a non-preemptive chunk: the running job keeps the CPU
+                nonPreemptiveLeft--;
+            }
+            if (unlocked) {
+                // Releasing a lock is a preemption point
+                nonPreemptiveLeft = 0;
+            }
+        }
+        if (probe != null) {
+            probe.loopFinished();
+        }
+        if (recording != null) {
+            if (!recording.hasCheckpointAt(simulationTime)) {
+                // A later run over a longer horizon continues from the end of this one
+                recording.addCheckpoint(SimulationCheckpoint.capture(simulationTime, state, arrival,
+                        awaitingRelease, jobCount, releases, pendingOverhead, lastDispatched, lastRunning,
+                        nonPreemptiveLeft, lastSelected, missedDeadlines, metrics));
+            }
+            recording.finish(timeline);
+            lastRun = recording;
+        }
+        if (!exact) {
+            // Jobs the horizon cut off after their deadline; counted after the last checkpoint,
+            // so a resumed run does not count them twice
+            for (int i = 0; i < taskCount; i++) {
+                if (remaining[i] > 0 && absoluteDeadline[i] <= simulationTime) {
+                    metrics.recordLateJob(i);
+                    missedDeadlines.add(new DeadlineMiss(i, simulationTime, true));
+                }
+            }
+        }
+        metrics.finish();
+
+        ScheduleResult result = new ScheduleResult(registry, timeline != null ? timeline : new int[0],
+                missedDeadlines, metrics);
+        if (probe != null) {
+            probe.finish(registry, missedDeadlines, firstNewMiss, time - startTime);
+        }
+        return result;
+    }
+
+    // Release delay of the given job of task i. Each job draws from a seed of its own, so a
+    // run resumed part-way sees the same delays as one simulated from the start.
+    private int jitterDelay(int task, int job, int maxDelay) {
+        long key = ((long) task << 32) | job;
+        return new SplittableRandom(releaseJitterSeed + JITTER_GAMMA * key).nextInt(maxDelay + 1);
+    }
+
+    // Execution time of the given job of task i, drawn per job like the release delays
+    private int sampleExecutionTime(int task, int job, ExecutionTimeDistribution distribution) {
+        long key = ((long) task << 32) | job;
+        return distribution.sample(new SplittableRandom(executionTimeSeed + EXECUTION_GAMMA * key));
+    }
+
+    // Everything that decides the rest of a jitter-free, server-free run, with deadlines
+    // taken relative to `time`
+    private static int[] captureState(SchedulingState state, int time, int pendingOverhead,
+                                      int lastDispatched, int lastRunning, int nonPreemptiveLeft,
+                                      int lastSelected) {
+        int[] snapshot = new int[5 + 2 * state.taskCount];
+        snapshot[0] = pendingOverhead;
+        snapshot[1] = lastDispatched;
+        snapshot[2] = lastRunning;
+        snapshot[3] = nonPreemptiveLeft;
+        snapshot[4] = lastSelected;
+        for (int i = 0; i < state.taskCount; i++) {
+            snapshot[5 + 2 * i] = state.remaining[i];
+            snapshot[6 + 2 * i] = state.remaining[i] > 0 ? state.absoluteDeadline[i] - time : 0;
+        }
+        return snapshot;
+    }
+
+    public int getUtilizationWindow() {
+        return utilizationWindow;
+    }
+
+    public void setUtilizationWindow(int utilizationWindow) {
+        if (utilizationWindow <= 0) {
+            throw new IllegalArgumentException("Utilization window must be positive");
+        }
+        this.utilizationWindow = utilizationWindow;
+    }
+
+    public OverheadModel getOverheadModel() {
+        return overheadModel;
+    }
+
+    public void setOverheadModel(OverheadModel overheadModel) {
+        this.overheadModel = overheadModel != null ? overheadModel : OverheadModel.NONE;
+    }
+
+    public PreemptionMode getPreemptionMode() {
+        return preemptionMode;
+    }
+
+    public void setPreemptionMode(PreemptionMode preemptionMode) {
+        this.preemptionMode = preemptionMode != null ? preemptionMode : PreemptionMode.PREEMPTIVE;
+    }
+
+    public int getPreemptionPointInterval() {
+        return preemptionPointInterval;
+    }
+
+    // Units of execution between fixed preemption points in DEFERRED mode
+    public void setPreemptionPointInterval(int preemptionPointInterval) {
+        if (preemptionPointInterval <= 0) {
+            throw new IllegalArgumentException("Preemption point interval must be positive");
+        }
+        this.preemptionPointInterval = preemptionPointInterval;
+    }
+
+    public AperiodicServer getAperiodicServer() {
+        return aperiodicServer;
+    }
+
+    // Serves the aperiodic jobs through this server; null runs the periodic tasks only
+    public void setAperiodicServer(AperiodicServer aperiodicServer) {
+        this.aperiodicServer = aperiodicServer;
+    }
+
+    public List<AperiodicJob> getAperiodicJobs() {
+        return aperiodicJobs;
+    }
+
+    public void setAperiodicJobs(List<AperiodicJob> aperiodicJobs) {
+        this.aperiodicJobs = aperiodicJobs != null ? new ArrayList<>(aperiodicJobs) : Collections.emptyList();
+    }
+
+    public long getReleaseJitterSeed() {
+        return releaseJitterSeed;
+    }
+
+    // Seed of the per-job release delays drawn for tasks with release jitter, so runs are
+    // reproducible
+    public void setReleaseJitterSeed(long releaseJitterSeed) {
+        this.releaseJitterSeed = releaseJitterSeed;
+    }
+
+    public long getExecutionTimeSeed() {
+        return executionTimeSeed;
+    }
+
+    // Seed of the per-job execution times drawn for tasks with an execution-time distribution
+    public void setExecutionTimeSeed(long executionTimeSeed) {
+        this.executionTimeSeed = executionTimeSeed;
+    }
+
+    public ResourceProtocol getResourceProtocol() {
+        return resourceProtocol;
+    }
+
+    // Protocol arbitrating the resources of tasks with critical sections
+    public void setResourceProtocol(ResourceProtocol resourceProtocol) {
+        if (resourceProtocol == null) {
+            throw new IllegalArgumentException("Resource protocol must not be null");
+        }
+        this.resourceProtocol = resourceProtocol;
+    }
+
+    // Every setting besides the task set and horizon that decides a run, as ScheduleCache
+    // keys it. Subclasses with further settings append them too.
+    protected void appendConfiguration(StringBuilder key) {
+        key.append(getClass().getName()).append('/').append(getAlgorithmName())
+                .append("|window=").append(utilizationWindow)
+                .append("|overhead=").append(overheadModel.getContextSwitchCost())
+                .append(',').append(overheadModel.getPreemptionCost())
+                .append(',').append(overheadModel.getReleaseCost())
+                .append("|mode=").append(preemptionMode).append(',').append(preemptionPointInterval)
+                .append("|jitterSeed=").append(releaseJitterSeed)
+                .append("|executionSeed=").append(executionTimeSeed)
+                .append("|protocol=").append(resourceProtocol);
+        if (aperiodicServer != null) {
+            key.append("|server=").append(aperiodicServer.getPolicy())
+                    .append(',').append(aperiodicServer.getBudget())
+                    .append(',').append(aperiodicServer.getPeriod()).append("|jobs=");
+            for (AperiodicJob job : aperiodicJobs) {
+                key.append(job.getArrivalTime()).append('+').append(job.getExecutionTime()).append(';');
+            }
+        }
+    }
+
+    public int getIncrementalCheckpoints() {
+        return incrementalCheckpoints;
+    }
+
+    // Keeps this many checkpoints of every schedule() run, so the next call on an edited task
+    // set resumes from the last checkpoint before the edit can change the schedule instead of
+    // tick 0. 0 turns incremental runs off. Runs with an aperiodic server always start at 0.
+    public void setIncrementalCheckpoints(int incrementalCheckpoints) {
+        if (incrementalCheckpoints < 0) {
+            throw new IllegalArgumentException("Checkpoint count must not be negative");
+        }
+        this.incrementalCheckpoints = incrementalCheckpoints;
+        if (incrementalCheckpoints == 0) {
+            lastRun = null;
+        }
+    }
+
+    // Tick the last schedule() call resumed from; 0 if it simulated from the start
+    public int getLastResumeTime() {
+        return lastResumeTime;
+    }
+
+    // Dispatch order of `entities` if it is fixed for the whole run, or null. Incremental
+    // runs compare it before and after an edit.
+    int[] getStaticPriorityOrder(List<Task> entities) {
+        return null;
+    }
+
+    // Whether dispatching reads the remaining work of a job beyond whether it has any.
+    // Defaults to yes, which only makes incremental runs resume earlier.
+    boolean dispatchesByRemainingWork() {
+        return true;
+    }
+
+    // Whether this engine can give the server slot a meaningful priority
+    protected boolean supportsServer(ServerPolicy policy) {
+        return false;
+    }
+
+    // Whether this engine implements the given resource protocol
+    protected boolean supportsProtocol(ResourceProtocol protocol) {
+        return protocol == ResourceProtocol.NONE;
+    }
+
+    abstract Dispatcher createDispatcher(SchedulingState state);
+}
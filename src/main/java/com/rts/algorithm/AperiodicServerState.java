@@ -0,0 +1,162 @@
+package com.rts.algorithm;
+
+import com.rts.model.AperiodicJob;
+import com.rts.model.AperiodicServer;
+import com.rts.model.ServerPolicy;
+import com.rts.model.SimulationMetrics;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// Run-time state of an aperiodic server. The server occupies one extra entity slot in
+// SchedulingState; this class keeps that slot's remaining work and absolute deadline in
+// sync with the budget and job queue, so the ordinary dispatchers schedule it like any
+// other task. Jobs are served FIFO, and the server slot's TaskMetrics record one "job"
+// per aperiodic job, which gives the aperiodic response-time distribution.
+final class AperiodicServerState {
+    private final ServerPolicy policy;
+    private final int capacity;
+    private final int period;
+    private final int index;
+    private final int[] remaining;
+    private final int[] absoluteDeadline;
+    private final SimulationMetrics metrics;
+
+    // Jobs sorted by arrival; the queue is jobs[head, arrived)
+    private final AperiodicJob[] jobs;
+    private final int[] deadlines;
+    private int arrived;
+    private int head;
+    private int headRemaining;
+
+    private int budget;
+    private int lastDeadline;
+
+    // Sporadic server bookkeeping: activation instant, budget used since then, and
+    // pending (time, amount) replenishments in increasing time order
+    private int activationTime = -1;
+    private int consumed;
+    private final ArrayDeque<int[]> replenishments = new ArrayDeque<>();
+
+    AperiodicServerState(AperiodicServer server, List<AperiodicJob> jobs, int index,
+                         SchedulingState state, SimulationMetrics metrics) {
+        this.policy = server.getPolicy();
+        this.capacity = server.getBudget();
+        this.period = server.getPeriod();
+        this.index = index;
+        this.remaining = state.remaining;
+        this.absoluteDeadline = state.absoluteDeadline;
+        this.metrics = metrics;
+        this.jobs = jobs.toArray(new AperiodicJob[0]);
+        Arrays.sort(this.jobs, Comparator.comparingInt(AperiodicJob::getArrivalTime));
+        this.deadlines = new int[this.jobs.length];
+        this.budget = capacity;
+        sync();
+    }
+
+    // Admits arrivals and applies budget replenishments due at `time`; returns the number of arrivals
+    int onTick(int time) {
+        int arrivals = 0;
+        while (arrived < jobs.length && jobs[arrived].getArrivalTime() <= time) {
+            AperiodicJob job = jobs[arrived];
+            if (policy == ServerPolicy.TOTAL_BANDWIDTH) {
+                // d_k = max(r_k, d_k-1) + ceil(C_k / Us)
+                int start = Math.max(job.getArrivalTime(), lastDeadline);
+                lastDeadline = start + (int) (((long) job.getExecutionTime() * period + capacity - 1) / capacity);
+                deadlines[arrived] = lastDeadline;
+            }
+            if (arrived == head) {
+                startHeadJob();
+            }
+            arrived++;
+            arrivals++;
+        }
+
+        switch (policy) {
+            case POLLING:
+                if (time % period == 0) {
+                    // The poll finds nothing to do, so the budget of this period is lost
+                    budget = hasQueuedJob() ? capacity : 0;
+                }
+                break;
+            case DEFERRABLE:
+                if (time % period == 0) {
+                    budget = capacity;
+                }
+                break;
+            case SPORADIC:
+                while (!replenishments.isEmpty() && replenishments.peekFirst()[0] <= time) {
+                    budget += replenishments.pollFirst()[1];
+                }
+                if (activationTime < 0 && isReady()) {
+                    activationTime = time;
+                    consumed = 0;
+                }
+                break;
+            default:
+                break;
+        }
+        sync();
+        return arrivals;
+    }
+
+    // Serves the head job for one tick; returns true if that job completed
+    boolean execute(int time) {
+        headRemaining--;
+        if (policy != ServerPolicy.TOTAL_BANDWIDTH) {
+            budget--;
+            consumed++;
+        }
+
+        boolean completed = headRemaining == 0;
+        if (completed) {
+            metrics.recordCompletion(index, time + 1);
+            head++;
+            if (hasQueuedJob()) {
+                startHeadJob();
+            }
+        }
+
+        if (!isReady()) {
+            if (policy == ServerPolicy.POLLING) {
+                // A polling server suspends until its next period once the queue is empty
+                budget = 0;
+            } else if (policy == ServerPolicy.SPORADIC && activationTime >= 0) {
+                replenishments.addLast(new int[] {activationTime + period, consumed});
+                activationTime = -1;
+            }
+        }
+        sync();
+        return completed;
+    }
+
+    // Cache reload after the server was preempted lengthens the job it was serving
+    void chargePreemption(int cost) {
+        if (hasQueuedJob()) {
+            headRemaining += cost;
+            sync();
+        }
+    }
+
+    private void startHeadJob() {
+        headRemaining = jobs[head].getExecutionTime();
+        metrics.recordRelease(index, jobs[head].getArrivalTime());
+    }
+
+    private boolean hasQueuedJob() {
+        return head < arrived;
+    }
+
+    private boolean isReady() {
+        return hasQueuedJob() && (policy == ServerPolicy.TOTAL_BANDWIDTH || budget > 0);
+    }
+
+    private void sync() {
+        remaining[index] = isReady() ? headRemaining : 0;
+        if (policy == ServerPolicy.TOTAL_BANDWIDTH && hasQueuedJob()) {
+            absoluteDeadline[index] = deadlines[head];
+        }
+    }
+}
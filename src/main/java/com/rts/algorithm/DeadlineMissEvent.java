@@ -0,0 +1,26 @@
+package com.rts.algorithm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.rts.DeadlineMiss")
+@Label("Deadline Miss")
+@Category({"RTS", "Scheduler"})
+@StackTrace(false)
+final class DeadlineMissEvent extends jdk.jfr.Event {
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Task")
+    String task;
+
+    @Label("Simulated Time")
+    int time;
+
+    // Completed after its deadline, or unfinished past it at the end of the run, rather than
+    // found unfinished at the next arrival
+    @Label("Late")
+    boolean late;
+}
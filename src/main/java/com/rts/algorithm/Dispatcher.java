@@ -0,0 +1,17 @@
+package com.rts.algorithm;
+
+// Picks the job to run in the current tick. One instance is created per run,
+// so implementations may keep run-local structures.
+interface Dispatcher {
+    int select();
+
+    // Called after the engine changed the remaining work of an entity
+    default void update(int entity) {
+    }
+
+    // Called when a run continues from a checkpoint, after every entity has been updated,
+    // with the entity select() returned at the last dispatch before it, or IDLE if that
+    // entity has not been ready since
+    default void resume(int lastSelected) {
+    }
+}
@@ -1,72 +1,90 @@
 package com.rts.algorithm;
 
-import com.rts.model.Task;
-import com.rts.model.ScheduleResult;
+import com.rts.model.ResourceProtocol;
+import com.rts.model.ServerPolicy;
+import com.rts.model.TaskRegistry;
 
-import java.util.*;
+import java.util.Arrays;
 
-public class EarliestDeadlineFirstScheduler implements Scheduler {
+public class EarliestDeadlineFirstScheduler extends AbstractScheduler {
     
     @Override
-    public ScheduleResult schedule(List<Task> tasks, int simulationTime) {
-        List<String> timeline = new ArrayList<>();
-        List<String> missedDeadlines = new ArrayList<>();
+    Dispatcher createDispatcher(SchedulingState state) {
+        int entityCount = state.entityCount;
+        int[] remaining = state.remaining;
+        int[] absoluteDeadlines = state.absoluteDeadline;
+        boolean[] blocked = state.blocked;
+        ResourceState resources = state.resources;
         
-        List<Task> taskList = new ArrayList<>(tasks);
-        
-        // Reset all tasks
-        for (Task task : taskList) {
-            task.reset();
-        }
-        
-        // Track absolute deadlines for each task instance
-        Map<String, Integer> absoluteDeadlines = new HashMap<>();
-        for (Task task : taskList) {
-            absoluteDeadlines.put(task.getId(), task.getDeadline());
+        if (resources != null) {
+            // SRP preemption levels: shorter relative deadline = higher level, ties share one
+            Integer[] byDeadline = new Integer[entityCount];
+            for (int i = 0; i < entityCount; i++) {
+                byDeadline[i] = i;
+            }
+            Arrays.sort(byDeadline, (a, b) -> Integer.compare(state.relativeDeadline[a], state.relativeDeadline[b]));
+            int[] level = new int[entityCount];
+            for (int p = 1; p < entityCount; p++) {
+                boolean tie = state.relativeDeadline[byDeadline[p]] == state.relativeDeadline[byDeadline[p - 1]];
+                level[byDeadline[p]] = tie ? level[byDeadline[p - 1]] : p;
+            }
+            resources.setLevels(level);
         }
         
-        // Simulate scheduling
-        for (int time = 0; time < simulationTime; time++) {
-            // Release tasks at their period intervals
-            for (Task task : taskList) {
-                if (time % task.getPeriod() == 0) {
-                    if (task.getRemainingTime() > 0 && time > 0) {
-                        // Deadline miss
-                        missedDeadlines.add(String.format("Task %s missed deadline at time %d", 
-                            task.getId(), time));
+        if (resources != null && resources.getProtocol() == ResourceProtocol.STACK_RESOURCE_POLICY) {
+            // The earliest deadline runs if it has started or passes the SRP start rule;
+            // otherwise the earliest-deadline job that has already started continues
+            return () -> {
+                int earliest = TaskRegistry.IDLE;
+                int earliestStarted = TaskRegistry.IDLE;
+                for (int i = 0; i < entityCount; i++) {
+                    if (remaining[i] > 0 && !blocked[i]) {
+                        if (earliest == TaskRegistry.IDLE || absoluteDeadlines[i] < absoluteDeadlines[earliest]) {
+                            earliest = i;
+                        }
+                        if (resources.hasStarted(i) && (earliestStarted == TaskRegistry.IDLE
+                                || absoluteDeadlines[i] < absoluteDeadlines[earliestStarted])) {
+                            earliestStarted = i;
+                        }
                     }
-                    task.setRemainingTime(task.getExecutionTime());
-                    absoluteDeadlines.put(task.getId(), time + task.getDeadline());
                 }
-            }
-            
-            // Select task with earliest absolute deadline
-            Task selectedTask = null;
+                return earliest != TaskRegistry.IDLE && resources.mayStart(earliest) ? earliest : earliestStarted;
+            };
+        }
+        
+        // Select task with earliest absolute deadline
+        return () -> {
+            int selected = TaskRegistry.IDLE;
             int earliestDeadline = Integer.MAX_VALUE;
             
-            for (Task task : taskList) {
-                if (task.getRemainingTime() > 0) {
-                    int deadline = absoluteDeadlines.getOrDefault(task.getId(), Integer.MAX_VALUE);
-                    if (deadline < earliestDeadline) {
-                        earliestDeadline = deadline;
-                        selectedTask = task;
-                    }
+            for (int i = 0; i < entityCount; i++) {
+                if (remaining[i] > 0 && !blocked[i] && absoluteDeadlines[i] < earliestDeadline) {
+                    earliestDeadline = absoluteDeadlines[i];
+                    selected = i;
                 }
             }
-            
-            if (selectedTask != null) {
-                timeline.add(selectedTask.getId());
-                selectedTask.setRemainingTime(selectedTask.getRemainingTime() - 1);
-            } else {
-                timeline.add("IDLE");
-            }
-        }
-        
-        return new ScheduleResult(timeline, missedDeadlines);
+            return selected;
+        };
+    }
+    
+    @Override
+    boolean dispatchesByRemainingWork() {
+        return false;
+    }
+    
+    @Override
+    protected boolean supportsProtocol(ResourceProtocol protocol) {
+        return protocol == ResourceProtocol.NONE || protocol == ResourceProtocol.STACK_RESOURCE_POLICY;
+    }
+    
+    @Override
+    protected boolean supportsServer(ServerPolicy policy) {
+        // The server slot competes with the per-job deadlines assigned by the TBS
+        return policy == ServerPolicy.TOTAL_BANDWIDTH;
     }
     
     @Override
     public String getAlgorithmName() {
         return "Earliest Deadline First (EDF)";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,98 @@
+package com.rts.algorithm;
+
+import com.rts.model.TaskRegistry;
+
+// Earliest Deadline until Zero Laxity: EDF, except that a job whose laxity has reached
+// zero runs ahead of every deadline, since it misses if it waits one more tick. The
+// engines here are uniprocessor, where EDZL only departs from EDF once a job is bound to
+// be late; it decides which job that is.
+//
+// Ready jobs are kept in a deadline heap. Waiting jobs are also kept in a heap keyed by
+// the tick their laxity reaches zero, which does not move while they wait, so spotting a
+// zero-laxity job is one comparison with the clock.
+public class EarliestDeadlineZeroLaxityScheduler extends AbstractScheduler {
+
+    @Override
+    Dispatcher createDispatcher(SchedulingState state) {
+        return new ZeroLaxityDispatcher(state);
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Earliest Deadline Zero Laxity (EDZL)";
+    }
+
+    private static final class ZeroLaxityDispatcher implements Dispatcher {
+        private final SchedulingState state;
+        private final int[] remaining;
+        private final int[] absoluteDeadline;
+        private final boolean[] blocked;
+        private final EntityHeap byDeadline;
+        // Ready jobs other than the current one, keyed by the time their laxity reaches zero
+        private final EntityHeap byZeroLaxity;
+        private int current = TaskRegistry.IDLE;
+
+        ZeroLaxityDispatcher(SchedulingState state) {
+            this.state = state;
+            this.remaining = state.remaining;
+            this.absoluteDeadline = state.absoluteDeadline;
+            this.blocked = state.blocked;
+            this.byDeadline = new EntityHeap(state.entityCount);
+            this.byZeroLaxity = new EntityHeap(state.entityCount);
+            for (int entity = 0; entity < state.entityCount; entity++) {
+                update(entity);
+            }
+        }
+
+        @Override
+        public int select() {
+            // A running job at zero laxity stays there, so it keeps the CPU
+            if (current != TaskRegistry.IDLE && zeroLaxityTime(current) <= state.time) {
+                return current;
+            }
+            int urgent = byZeroLaxity.peek();
+            int selected = urgent >= 0 && byZeroLaxity.keyOf(urgent) <= state.time ? urgent : byDeadline.peek();
+            if (selected < 0) {
+                selected = TaskRegistry.IDLE;
+            }
+            if (selected != current) {
+                if (current != TaskRegistry.IDLE) {
+                    byZeroLaxity.set(current, zeroLaxityTime(current));
+                }
+                if (selected != TaskRegistry.IDLE) {
+                    byZeroLaxity.remove(selected);
+                }
+                current = selected;
+            }
+            return selected;
+        }
+
+        @Override
+        public void update(int entity) {
+            if (remaining[entity] > 0 && !blocked[entity]) {
+                byDeadline.set(entity, absoluteDeadline[entity]);
+                if (entity != current) {
+                    byZeroLaxity.set(entity, zeroLaxityTime(entity));
+                }
+            } else {
+                byDeadline.remove(entity);
+                byZeroLaxity.remove(entity);
+                if (entity == current) {
+                    current = TaskRegistry.IDLE;
+                }
+            }
+        }
+
+        @Override
+        public void resume(int lastSelected) {
+            if (lastSelected != TaskRegistry.IDLE && byZeroLaxity.contains(lastSelected)) {
+                byZeroLaxity.remove(lastSelected);
+                current = lastSelected;
+            }
+        }
+
+        private int zeroLaxityTime(int entity) {
+            return absoluteDeadline[entity] - remaining[entity];
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.rts.algorithm;
+
+import java.util.Arrays;
+
+// Binary min-heap of entity indices keyed by an int, ties going to the lower index as in
+// the EDF scan. It is indexed by entity, so a key can change or an entity can leave in
+// O(log n) without searching for it.
+final class EntityHeap {
+    private final int[] heap;
+    private final int[] position;
+    private final int[] key;
+    private int size;
+
+    EntityHeap(int entityCount) {
+        this.heap = new int[entityCount];
+        this.position = new int[entityCount];
+        this.key = new int[entityCount];
+        Arrays.fill(position, -1);
+    }
+
+    boolean contains(int entity) {
+        return position[entity] >= 0;
+    }
+
+    // Lowest entity, or -1 if the heap is empty
+    int peek() {
+        return size > 0 ? heap[0] : -1;
+    }
+
+    int keyOf(int entity) {
+        return key[entity];
+    }
+
+    // Inserts the entity, or moves it to its new key if it is already in the heap
+    void set(int entity, int newKey) {
+        int p = position[entity];
+        if (p < 0) {
+            p = size++;
+            heap[p] = entity;
+            position[entity] = p;
+            key[entity] = newKey;
+            siftUp(p);
+            return;
+        }
+        int oldKey = key[entity];
+        key[entity] = newKey;
+        if (newKey < oldKey) {
+            siftUp(p);
+        } else if (newKey > oldKey) {
+            siftDown(p);
+        }
+    }
+
+    void remove(int entity) {
+        int p = position[entity];
+        if (p < 0) {
+            return;
+        }
+        position[entity] = -1;
+        int last = heap[--size];
+        if (p == size) {
+            return;
+        }
+        heap[p] = last;
+        position[last] = p;
+        siftUp(p);
+        siftDown(position[last]);
+    }
+
+    private boolean less(int a, int b) {
+        return key[a] < key[b] || (key[a] == key[b] && a < b);
+    }
+
+    private void siftUp(int p) {
+        int entity = heap[p];
+        while (p > 0) {
+            int parent = (p - 1) >>> 1;
+            if (!less(entity, heap[parent])) {
+                break;
+            }
+            heap[p] = heap[parent];
+            position[heap[p]] = p;
+            p = parent;
+        }
+        heap[p] = entity;
+        position[entity] = p;
+    }
+
+    private void siftDown(int p) {
+        int entity = heap[p];
+        while (true) {
+            int child = 2 * p + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && less(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!less(heap[child], entity)) {
+                break;
+            }
+            heap[p] = heap[child];
+            position[heap[p]] = p;
+            p = child;
+        }
+        heap[p] = entity;
+        position[entity] = p;
+    }
+}
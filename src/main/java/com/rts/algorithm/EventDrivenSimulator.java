@@ -0,0 +1,196 @@
+package com.rts.algorithm;
+
+import com.rts.model.LongHorizonResult;
+import com.rts.model.PreemptionMode;
+import com.rts.model.ResourceProtocol;
+import com.rts.model.Task;
+import com.rts.model.TaskRegistry;
+import com.rts.model.TaskTiming;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Simulates horizons far beyond what a timeline can hold (10^12 ticks and more) by jumping
+// from one scheduling event to the next: a release or the completion of the running job.
+// Between two events a fixed-priority or EDF choice cannot change, so each step runs the
+// selected job, or idles, until the earlier of the two. Time is 64-bit, memory does not
+// grow with the horizon, and the cost grows with the number of jobs instead of ticks.
+//
+// The outcome matches AbstractScheduler.schedule() for the same engine: the same job runs
+// in every tick, a job misses its deadline when it is unfinished at its next arrival, and
+// one that completes after its deadline (or is still running past it at the horizon) is late.
+// Only the plain model is covered: preemptive dispatching, no overheads, resources,
+// servers, release jitter or execution-time distributions. runTimings() takes the 64-bit
+// parameters of TaskTiming as they are, so nanosecond sets need no coarser tick.
+public class EventDrivenSimulator {
+    private final FixedPriorityScheduler fixedPriority;
+
+    // `policy` is a FixedPriorityScheduler (its priority order is used) or the EDF engine
+    public EventDrivenSimulator(AbstractScheduler policy) {
+        if (policy instanceof FixedPriorityScheduler) {
+            this.fixedPriority = (FixedPriorityScheduler) policy;
+        } else if (policy instanceof EarliestDeadlineFirstScheduler) {
+            this.fixedPriority = null;
+        } else {
+            throw new IllegalArgumentException("Only fixed-priority and EDF policies can be simulated by events");
+        }
+        if (policy.getPreemptionMode() != PreemptionMode.PREEMPTIVE || !policy.getOverheadModel().isZero()
+                || policy.getResourceProtocol() != ResourceProtocol.NONE || policy.getAperiodicServer() != null) {
+            throw new IllegalArgumentException("Event-driven runs need a preemptive engine without overheads, "
+                    + "resource protocol or aperiodic server");
+        }
+    }
+
+    public LongHorizonResult run(List<Task> tasks, long horizon) {
+        if (horizon < 0) {
+            throw new IllegalArgumentException("Horizon must not be negative");
+        }
+        int taskCount = tasks.size();
+        List<String> ids = new ArrayList<>(taskCount);
+        long[] executionTime = new long[taskCount];
+        long[] period = new long[taskCount];
+        long[] deadline = new long[taskCount];
+        long[] offset = new long[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            Task task = tasks.get(i);
+            if (task.getReleaseJitter() > 0 || !task.getCriticalSections().isEmpty()
+                    || task.getExecutionTimeDistribution() != null) {
+                throw new IllegalArgumentException(task.getId() + " has release jitter, critical sections or an "
+                        + "execution-time distribution, which event-driven runs do not model");
+            }
+            ids.add(task.getId());
+            executionTime[i] = task.getExecutionTime();
+            period[i] = task.getPeriod();
+            deadline[i] = task.getDeadline();
+            offset[i] = task.getOffset();
+        }
+        int[] order = fixedPriority != null ? fixedPriority.getPriorityOrder(tasks) : null;
+        return simulate(new LongHorizonResult(ids, horizon), executionTime, period, deadline, offset, order);
+    }
+
+    // Same run for 64-bit parameters in any unit of time; the horizon is in that unit too.
+    // Fixed priorities come from the standard policies' 64-bit analysis.
+    public LongHorizonResult runTimings(List<TaskTiming> tasks, long horizon) {
+        if (horizon < 0) {
+            throw new IllegalArgumentException("Horizon must not be negative");
+        }
+        int taskCount = tasks.size();
+        List<String> ids = new ArrayList<>(taskCount);
+        long[] executionTime = new long[taskCount];
+        long[] period = new long[taskCount];
+        long[] deadline = new long[taskCount];
+        long[] offset = new long[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            TaskTiming task = tasks.get(i);
+            if (task.getReleaseJitter() > 0) {
+                throw new IllegalArgumentException(task.getId() + " has release jitter, which event-driven runs "
+                        + "do not model");
+            }
+            ids.add(task.getId());
+            executionTime[i] = task.getExecutionTime();
+            period[i] = task.getPeriod();
+            deadline[i] = task.getDeadline();
+            offset[i] = task.getOffset();
+        }
+        int[] order = null;
+        if (fixedPriority != null) {
+            if (!(fixedPriority.getPriorityPolicy() instanceof StandardPriorityPolicy)) {
+                throw new IllegalArgumentException(fixedPriority.getPriorityPolicy().getName()
+                        + " cannot rank 64-bit task parameters");
+            }
+            order = ((StandardPriorityPolicy) fixedPriority.getPriorityPolicy()).assignPriorities(tasks);
+        }
+        return simulate(new LongHorizonResult(ids, horizon), executionTime, period, deadline, offset, order);
+    }
+
+    // `priorityOrder` lists task indices from highest to lowest priority, or is null for EDF
+    private static LongHorizonResult simulate(LongHorizonResult result, long[] executionTime, long[] period,
+                                              long[] deadline, long[] offset, int[] priorityOrder) {
+        int taskCount = executionTime.length;
+        long horizon = result.getHorizon();
+        boolean earliestDeadlineFirst = priorityOrder == null;
+        // Dispatch rank of each task; EDF breaks deadline ties by index like its dispatcher
+        int[] rank = new int[taskCount];
+        for (int level = 0; level < taskCount; level++) {
+            rank[earliestDeadlineFirst ? level : priorityOrder[level]] = level;
+        }
+
+        long[] nextArrival = new long[taskCount];
+        long[] arrival = new long[taskCount];
+        long[] remaining = new long[taskCount];
+        long[] absoluteDeadline = new long[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            nextArrival[i] = offset[i];
+        }
+        int lastRunning = TaskRegistry.IDLE;
+        int lastDispatched = TaskRegistry.IDLE;
+
+        long time = 0;
+        while (time < horizon) {
+            // Task sets are small; linear scans beat a heap here
+            long nextRelease = Long.MAX_VALUE;
+            for (int i = 0; i < taskCount; i++) {
+                if (nextArrival[i] == time) {
+                    if (remaining[i] > 0) {
+                        result.recordDeadlineMiss(i, time);
+                    }
+                    if (i == lastRunning) {
+                        // The unfinished job is replaced, so it cannot be preempted any more
+                        lastRunning = TaskRegistry.IDLE;
+                    }
+                    arrival[i] = time;
+                    remaining[i] = executionTime[i];
+                    absoluteDeadline[i] = time + deadline[i];
+                    nextArrival[i] = time + period[i];
+                    result.recordRelease(i);
+                }
+                nextRelease = Math.min(nextRelease, nextArrival[i]);
+            }
+
+            int selected = TaskRegistry.IDLE;
+            for (int i = 0; i < taskCount; i++) {
+                if (remaining[i] > 0 && (selected == TaskRegistry.IDLE || (earliestDeadlineFirst
+                        ? absoluteDeadline[i] < absoluteDeadline[selected] : rank[i] < rank[selected]))) {
+                    selected = i;
+                }
+            }
+            result.recordEvent();
+            if (lastRunning != TaskRegistry.IDLE && selected != lastRunning) {
+                result.recordPreemption(lastRunning);
+            }
+            if (selected != TaskRegistry.IDLE && selected != lastDispatched) {
+                if (lastDispatched != TaskRegistry.IDLE) {
+                    result.recordContextSwitch();
+                }
+                lastDispatched = selected;
+            }
+
+            long next = Math.min(nextRelease, horizon);
+            if (selected == TaskRegistry.IDLE) {
+                lastRunning = TaskRegistry.IDLE;
+                time = next;
+                continue;
+            }
+            long run = Math.min(remaining[selected], next - time);
+            remaining[selected] -= run;
+            time += run;
+            result.recordExecution(selected, run);
+            if (remaining[selected] == 0) {
+                result.recordCompletion(selected, time - arrival[selected]);
+                if (time > absoluteDeadline[selected]) {
+                    result.recordLateJob(selected);
+                }
+                lastRunning = TaskRegistry.IDLE;
+            } else {
+                lastRunning = selected;
+            }
+        }
+        // Jobs still running past their deadline at the horizon are late too
+        for (int i = 0; i < taskCount; i++) {
+            if (remaining[i] > 0 && absoluteDeadline[i] <= horizon) {
+                result.recordLateJob(i);
+            }
+        }
+        return result;
+    }
+}
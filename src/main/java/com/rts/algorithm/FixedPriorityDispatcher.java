@@ -0,0 +1,44 @@
+package com.rts.algorithm;
+
+import com.rts.model.TaskRegistry;
+
+// Dispatcher for a fixed priority order. Ready entities are kept in a priority-indexed
+// bitmap that the engine updates whenever an entity's remaining work changes, so picking
+// the highest-priority ready job does not depend on the number of tasks.
+final class FixedPriorityDispatcher implements Dispatcher {
+    private final int[] remaining;
+    private final boolean[] blocked;
+    private final int[] levelOf;
+    private final int[] entityAt;
+    private final ReadyBitmap ready;
+
+    // priorityOrder lists entity indices from highest to lowest priority
+    FixedPriorityDispatcher(SchedulingState state, int[] priorityOrder) {
+        this.remaining = state.remaining;
+        this.blocked = state.blocked;
+        this.entityAt = priorityOrder.clone();
+        this.levelOf = new int[state.entityCount];
+        for (int level = 0; level < entityAt.length; level++) {
+            levelOf[entityAt[level]] = level;
+        }
+        this.ready = new ReadyBitmap(entityAt.length);
+        for (int entity = 0; entity < state.entityCount; entity++) {
+            update(entity);
+        }
+    }
+
+    @Override
+    public int select() {
+        int level = ready.first();
+        return level < 0 ? TaskRegistry.IDLE : entityAt[level];
+    }
+
+    @Override
+    public void update(int entity) {
+        if (remaining[entity] > 0 && !blocked[entity]) {
+            ready.set(levelOf[entity]);
+        } else {
+            ready.clear(levelOf[entity]);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.rts.algorithm;
+
+import com.rts.model.ResourceProtocol;
+import com.rts.model.ServerPolicy;
+import com.rts.model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Fixed-priority engine whose priority order comes from a pluggable policy. The order is
+// assigned once per run over every dispatched entity, so an aperiodic server slot is ranked
+// like a periodic task with the server's budget and period.
+public class FixedPriorityScheduler extends AbstractScheduler {
+    private final PriorityPolicy priorityPolicy;
+
+    public FixedPriorityScheduler(PriorityPolicy priorityPolicy) {
+        if (priorityPolicy == null) {
+            throw new IllegalArgumentException("Priority policy must not be null");
+        }
+        this.priorityPolicy = priorityPolicy;
+    }
+
+    public PriorityPolicy getPriorityPolicy() {
+        return priorityPolicy;
+    }
+
+    // Indices into `tasks` from highest to lowest priority, as this engine would dispatch them
+    public int[] getPriorityOrder(List<Task> tasks) {
+        int[] order = priorityPolicy.assignPriorities(tasks, getOverheadModel(), getPreemptionMode(),
+                getPreemptionPointInterval(), getResourceProtocol());
+        boolean[] seen = new boolean[tasks.size()];
+        if (order == null || order.length != seen.length) {
+            throw new IllegalArgumentException(priorityPolicy.getName() + " did not rank every task");
+        }
+        for (int index : order) {
+            if (index < 0 || index >= seen.length || seen[index]) {
+                throw new IllegalArgumentException(priorityPolicy.getName() + " did not rank every task once");
+            }
+            seen[index] = true;
+        }
+        return order;
+    }
+
+    @Override
+    Dispatcher createDispatcher(SchedulingState state) {
+        List<Task> entities = new ArrayList<>(state.entityCount);
+        for (int i = 0; i < state.entityCount; i++) {
+            entities.add(state.registry.getTask(i));
+        }
+        int[] priorityOrder = getPriorityOrder(entities);
+        int[] levelOf = new int[state.entityCount];
+        for (int level = 0; level < priorityOrder.length; level++) {
+            levelOf[priorityOrder[level]] = level;
+        }
+        state.priorityLevel = levelOf;
+        if (state.resources != null) {
+            state.resources.setLevels(levelOf);
+        }
+        // Select the highest priority ready entity from the ready bitmap
+        return new FixedPriorityDispatcher(state, priorityOrder);
+    }
+
+    @Override
+    int[] getStaticPriorityOrder(List<Task> entities) {
+        return getPriorityOrder(entities);
+    }
+
+    @Override
+    boolean dispatchesByRemainingWork() {
+        return false;
+    }
+
+    @Override
+    protected boolean supportsProtocol(ResourceProtocol protocol) {
+        return protocol != ResourceProtocol.STACK_RESOURCE_POLICY;
+    }
+
+    @Override
+    protected boolean supportsServer(ServerPolicy policy) {
+        return policy.isFixedPriority();
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Fixed Priority (" + priorityPolicy.getName() + ")";
+    }
+}
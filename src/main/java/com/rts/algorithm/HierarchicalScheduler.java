@@ -0,0 +1,255 @@
+package com.rts.algorithm;
+
+import com.rts.model.DeadlineMiss;
+import com.rts.model.OverheadModel;
+import com.rts.model.PreemptionMode;
+import com.rts.model.ResourceProtocol;
+import com.rts.model.ScheduleResult;
+import com.rts.model.SimulationMetrics;
+import com.rts.model.Task;
+import com.rts.model.TaskRegistry;
+import com.rts.model.TaskSet;
+import com.rts.util.SchedulabilityAnalyzer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Two-level scheduling of components on one CPU. Every component has a periodic server with
+// its resource's budget and period; the global engine dispatches the servers as periodic
+// tasks, and whenever a server holds the CPU the component's own engine picks which of its
+// jobs runs. Servers idle: a server consumes its budget while it is selected even if its
+// component has nothing ready, which is the behaviour the supply bound function assumes.
+//
+// Both levels reuse the dispatchers of ordinary engines, so any engine can serve as global
+// or local policy. The plain model is covered: preemptive dispatching without overheads,
+// resources, aperiodic servers, release jitter or execution-time distributions. Results
+// are flattened into one registry whose tasks are named "component.task", in component order.
+public class HierarchicalScheduler {
+    private final AbstractScheduler globalScheduler;
+    private final List<SchedulingComponent> components = new ArrayList<>();
+
+    public HierarchicalScheduler(AbstractScheduler globalScheduler) {
+        checkPlain(globalScheduler);
+        this.globalScheduler = globalScheduler;
+    }
+
+    public void addComponent(SchedulingComponent component) {
+        checkPlain(component.getLocalScheduler());
+        for (SchedulingComponent other : components) {
+            if (other.getName().equals(component.getName())) {
+                throw new IllegalArgumentException("Component " + component.getName() + " already exists");
+            }
+        }
+        Set<String> ids = new HashSet<>();
+        for (Task task : component.getTasks()) {
+            if (task.getReleaseJitter() > 0 || !task.getCriticalSections().isEmpty()
+                    || task.getExecutionTimeDistribution() != null) {
+                throw new IllegalArgumentException(task.getId() + " has release jitter, critical sections"
+                        + " or an execution-time distribution, which components do not model");
+            }
+            if (!ids.add(task.getId())) {
+                throw new IllegalArgumentException("Duplicate task id " + task.getId() + " in " + component.getName());
+            }
+        }
+        components.add(component);
+    }
+
+    public List<SchedulingComponent> getComponents() {
+        return Collections.unmodifiableList(components);
+    }
+
+    public AbstractScheduler getGlobalScheduler() {
+        return globalScheduler;
+    }
+
+    // Compositional test: every component fits its resource, and the servers, as periodic
+    // tasks, are schedulable under the global policy
+    public boolean isSchedulable() {
+        if (components.isEmpty()) {
+            return true;
+        }
+        List<Task> servers = serverTasks();
+        boolean global;
+        if (globalScheduler instanceof FixedPriorityScheduler) {
+            global = SchedulabilityAnalyzer.isSchedulableFP(new TaskSet(servers),
+                    ((FixedPriorityScheduler) globalScheduler).getPriorityOrder(servers), OverheadModel.NONE,
+                    PreemptionMode.PREEMPTIVE, 1, ResourceProtocol.NONE);
+        } else if (globalScheduler instanceof EarliestDeadlineFirstScheduler) {
+            global = SchedulabilityAnalyzer.isSchedulableEDF(new TaskSet(servers), OverheadModel.NONE);
+        } else {
+            throw new IllegalArgumentException("Compositional analysis needs a fixed-priority or EDF global scheduler");
+        }
+        if (!global) {
+            return false;
+        }
+        for (SchedulingComponent component : components) {
+            if (!component.isSchedulable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public ScheduleResult schedule(int simulationTime) {
+        if (components.isEmpty()) {
+            throw new IllegalArgumentException("No components to schedule");
+        }
+        int componentCount = components.size();
+        SchedulingState global = new SchedulingState(new TaskRegistry(serverTasks()));
+        Dispatcher servers = globalScheduler.createDispatcher(global);
+
+        // Flattened view: component c's local task i is task first[c] + i
+        List<Task> flattened = new ArrayList<>();
+        int[] first = new int[componentCount + 1];
+        SchedulingState[] local = new SchedulingState[componentCount];
+        Dispatcher[] dispatchers = new Dispatcher[componentCount];
+        int maxPeriod = 1;
+        for (int c = 0; c < componentCount; c++) {
+            SchedulingComponent component = components.get(c);
+            first[c] = flattened.size();
+            for (Task task : component.getTasks()) {
+                flattened.add(new Task(component.getName() + "." + task.getId(), task.getExecutionTime(),
+                        task.getPeriod(), task.getDeadline(), task.getOffset(), 0));
+                maxPeriod = Math.max(maxPeriod, task.getPeriod());
+            }
+            local[c] = new SchedulingState(new TaskRegistry(component.getTasks()));
+            dispatchers[c] = component.getLocalScheduler().createDispatcher(local[c]);
+            maxPeriod = Math.max(maxPeriod, component.getResource().getPeriod());
+        }
+        first[componentCount] = flattened.size();
+        TaskRegistry registry = new TaskRegistry(flattened);
+        SimulationMetrics metrics = new SimulationMetrics(flattened.size(), globalScheduler.getUtilizationWindow());
+        List<DeadlineMiss> missedDeadlines = new ArrayList<>();
+        int[] timeline = new int[simulationTime];
+
+        // Servers are due at the entities after the last task
+        int taskCount = flattened.size();
+        ReleaseWheel releases = new ReleaseWheel(taskCount + componentCount, maxPeriod);
+        for (int t = 0; t < taskCount; t++) {
+            releases.schedule(t, flattened.get(t).getOffset());
+        }
+        for (int c = 0; c < componentCount; c++) {
+            releases.schedule(taskCount + c, 0);
+        }
+        int[] due = new int[taskCount + componentCount];
+        int[] componentOf = new int[taskCount];
+        for (int c = 0; c < componentCount; c++) {
+            for (int t = first[c]; t < first[c + 1]; t++) {
+                componentOf[t] = c;
+            }
+        }
+
+        // Unfinished job that ran in the last tick, and the task whose context is loaded
+        int lastRunning = TaskRegistry.IDLE;
+        int lastDispatched = TaskRegistry.IDLE;
+        for (int time = 0; time < simulationTime; time++) {
+            global.time = time;
+            int dueCount = releases.collectDue(time, due);
+            for (int d = 0; d < dueCount; d++) {
+                int entity = due[d];
+                if (entity >= taskCount) {
+                    // Server replenishment: a full budget, due by the end of the period
+                    int server = entity - taskCount;
+                    int period = global.period[server];
+                    global.remaining[server] = global.executionTime[server];
+                    global.absoluteDeadline[server] = time + period;
+                    servers.update(server);
+                    releases.schedule(entity, time + period);
+                    continue;
+                }
+                int c = componentOf[entity];
+                int i = entity - first[c];
+                SchedulingState state = local[c];
+                if (state.remaining[i] > 0) {
+                    missedDeadlines.add(new DeadlineMiss(entity, time));
+                    metrics.recordDeadlineMiss(entity);
+                }
+                if (entity == lastRunning) {
+                    // The unfinished job is replaced, so it cannot be preempted any more
+                    lastRunning = TaskRegistry.IDLE;
+                }
+                state.remaining[i] = state.executionTime[i];
+                state.absoluteDeadline[i] = time + state.relativeDeadline[i];
+                dispatchers[c].update(i);
+                metrics.recordRelease(entity, time);
+                releases.schedule(entity, time + state.period[i]);
+            }
+
+            int server = servers.select();
+            int selected = TaskRegistry.IDLE;
+            if (server != TaskRegistry.IDLE) {
+                SchedulingState state = local[server];
+                state.time = time;
+                int job = dispatchers[server].select();
+                if (job != TaskRegistry.IDLE) {
+                    selected = first[server] + job;
+                }
+                // The budget is spent whether or not the component has work
+                if (--global.remaining[server] == 0) {
+                    servers.update(server);
+                }
+            }
+            if (lastRunning != TaskRegistry.IDLE && selected != lastRunning) {
+                // Includes a job whose server lost the CPU or ran out of budget
+                metrics.recordPreemption(lastRunning);
+                lastRunning = TaskRegistry.IDLE;
+            }
+            if (selected != TaskRegistry.IDLE && selected != lastDispatched) {
+                if (lastDispatched != TaskRegistry.IDLE) {
+                    metrics.recordContextSwitch();
+                }
+                lastDispatched = selected;
+            }
+
+            metrics.recordTick(selected, time);
+            timeline[time] = selected;
+            if (selected == TaskRegistry.IDLE) {
+                continue;
+            }
+            int i = selected - first[server];
+            if (--local[server].remaining[i] == 0) {
+                metrics.recordCompletion(selected, time + 1);
+                if (time + 1 > local[server].absoluteDeadline[i]) {
+                    metrics.recordLateJob(selected);
+                    missedDeadlines.add(new DeadlineMiss(selected, time + 1, true));
+                }
+                dispatchers[server].update(i);
+                lastRunning = TaskRegistry.IDLE;
+            } else {
+                lastRunning = selected;
+            }
+        }
+        for (int c = 0; c < componentCount; c++) {
+            for (int i = 0; i < local[c].taskCount; i++) {
+                if (local[c].remaining[i] > 0 && local[c].absoluteDeadline[i] <= simulationTime) {
+                    metrics.recordLateJob(first[c] + i);
+                    missedDeadlines.add(new DeadlineMiss(first[c] + i, simulationTime, true));
+                }
+            }
+        }
+        metrics.finish();
+        return new ScheduleResult(registry, timeline, missedDeadlines, metrics);
+    }
+
+    private List<Task> serverTasks() {
+        List<Task> servers = new ArrayList<>(components.size());
+        for (SchedulingComponent component : components) {
+            servers.add(component.getResource().toTask(component.getName()));
+        }
+        return servers;
+    }
+
+    private static void checkPlain(AbstractScheduler scheduler) {
+        if (scheduler == null) {
+            throw new IllegalArgumentException("Scheduler must not be null");
+        }
+        if (scheduler.getPreemptionMode() != PreemptionMode.PREEMPTIVE || !scheduler.getOverheadModel().isZero()
+                || scheduler.getResourceProtocol() != ResourceProtocol.NONE || scheduler.getAperiodicServer() != null) {
+            throw new IllegalArgumentException("Hierarchical scheduling needs preemptive engines without overheads, "
+                    + "resource protocol or aperiodic server");
+        }
+    }
+}
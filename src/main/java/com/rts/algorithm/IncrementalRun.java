@@ -0,0 +1,298 @@
+package com.rts.algorithm;
+
+import com.rts.model.ResourceProtocol;
+import com.rts.model.Task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+// What one incremental schedule() run keeps for the next call: the task parameters it saw,
+// its timeline and checkpoints, and when each task first executed and first completed a
+// job. plan() works out the earliest tick at which an edited task set can be scheduled
+// differently and picks the last checkpoint before it.
+//
+// Tasks are matched by id, so edits, additions, removals and the reordering ScheduleCache
+// does when a task moves are all handled. An edit is first observed at:
+//  - the task's first arrival, for a new or removed task, a changed offset, release jitter,
+//    critical sections or deadline (which decides the late jobs counted), or a priority
+//    rank change;
+//  - its second nominal arrival, for a changed period;
+//  - its first execution (shorter) or first completion (longer), for a changed execution
+//    time, unless the engine dispatches by remaining work.
+// Anything that can move resource ceilings, or reorders the tasks that did not change,
+// falls back to a run from tick 0.
+final class IncrementalRun {
+    private final String configuration;
+    private final int horizon;
+    private final Task[] tasks;
+    private final int checkpointInterval;
+    private final List<SimulationCheckpoint> checkpoints = new ArrayList<>();
+    private final int[] firstExecution;
+    private final int[] firstCompletion;
+    private int[] timeline;
+
+    IncrementalRun(AbstractScheduler engine, List<Task> tasks, int horizon, int checkpointCount) {
+        this.configuration = configurationOf(engine);
+        this.horizon = horizon;
+        this.tasks = new Task[tasks.size()];
+        for (int i = 0; i < this.tasks.length; i++) {
+            // Copied, so later edits to the caller's objects are still seen as edits
+            Task task = tasks.get(i);
+            this.tasks[i] = new Task(task.getId(), task.getExecutionTime(), task.getPeriod(), task.getDeadline(),
+                    task.getOffset(), task.getReleaseJitter());
+            this.tasks[i].setCriticalSections(task.getCriticalSections());
+            this.tasks[i].setExecutionTimeDistribution(task.getExecutionTimeDistribution());
+        }
+        this.checkpointInterval = Math.max(1, (horizon + checkpointCount - 1) / checkpointCount);
+        this.firstExecution = new int[this.tasks.length];
+        this.firstCompletion = new int[this.tasks.length];
+        Arrays.fill(firstExecution, -1);
+        Arrays.fill(firstCompletion, -1);
+    }
+
+    // Carries over everything the resumed run shares with the previous one
+    void resumeFrom(Resume resume) {
+        checkpoints.addAll(resume.checkpoints);
+        int time = resume.getCheckpoint().getTime();
+        for (int i = 0; i < tasks.length; i++) {
+            int first = resume.firstExecution[i];
+            firstExecution[i] = first < time ? first : -1;
+            first = resume.firstCompletion[i];
+            firstCompletion[i] = first < time ? first : -1;
+        }
+    }
+
+    boolean isCheckpointDue(int time) {
+        return time % checkpointInterval == 0 && !hasCheckpointAt(time);
+    }
+
+    // Checkpoints are taken in time order, so only the last one can be at `time` or later
+    boolean hasCheckpointAt(int time) {
+        return time == 0 || (!checkpoints.isEmpty() && checkpoints.get(checkpoints.size() - 1).getTime() >= time);
+    }
+
+    void addCheckpoint(SimulationCheckpoint checkpoint) {
+        checkpoints.add(checkpoint);
+    }
+
+    // Called for every tick a task executes
+    void recordExecution(int task, int time, boolean completed) {
+        if (firstExecution[task] < 0) {
+            firstExecution[task] = time;
+        }
+        if (completed && firstCompletion[task] < 0) {
+            firstCompletion[task] = time;
+        }
+    }
+
+    void finish(int[] timeline) {
+        this.timeline = timeline;
+    }
+
+    // Where a run of `after` over `newHorizon` ticks can pick up from this one, or null if
+    // it has to start from tick 0
+    Resume plan(AbstractScheduler engine, List<Task> after, int newHorizon) {
+        if (timeline == null || !configuration.equals(configurationOf(engine))) {
+            return null;
+        }
+        Map<String, Integer> indexBefore = new HashMap<>();
+        for (int o = 0; o < tasks.length; o++) {
+            if (indexBefore.put(tasks[o].getId(), o) != null) {
+                return null;
+            }
+        }
+        int[] indexMap = new int[tasks.length];
+        Arrays.fill(indexMap, -1);
+        boolean[] matched = new boolean[after.size()];
+        long limit = Math.min(horizon, newHorizon);
+        for (int n = 0; n < after.size(); n++) {
+            Integer o = indexBefore.get(after.get(n).getId());
+            if (o == null) {
+                limit = Math.min(limit, after.get(n).getOffset());
+            } else if (indexMap[o] >= 0) {
+                // Duplicate id in the new set
+                return null;
+            } else {
+                indexMap[o] = n;
+                matched[n] = true;
+            }
+        }
+
+        boolean ceilings = engine.getResourceProtocol() == ResourceProtocol.PRIORITY_CEILING
+                || engine.getResourceProtocol() == ResourceProtocol.STACK_RESOURCE_POLICY;
+        boolean[] changed = new boolean[tasks.length];
+        int lastIndex = -1;
+        for (int o = 0; o < tasks.length; o++) {
+            Task before = tasks[o];
+            int n = indexMap[o];
+            if (n < 0) {
+                if (ceilings && !before.getCriticalSections().isEmpty()) {
+                    return null;
+                }
+                limit = Math.min(limit, before.getOffset());
+                continue;
+            }
+            if (n < lastIndex) {
+                // Tasks changed their relative index order, which breaks ties differently
+                return null;
+            }
+            lastIndex = n;
+            Task task = after.get(n);
+            int offset = Math.min(before.getOffset(), task.getOffset());
+            boolean sectionsChanged = !before.getCriticalSections().toString()
+                    .equals(task.getCriticalSections().toString());
+            if (ceilings && (sectionsChanged || (!samePeriodicParameters(before, task)
+                    && !before.getCriticalSections().isEmpty()))) {
+                return null;
+            }
+            if (before.getOffset() != task.getOffset() || before.getReleaseJitter() != task.getReleaseJitter()
+                    || sectionsChanged) {
+                limit = Math.min(limit, offset);
+            }
+            if ((task.getReleaseJitter() > 0 || task.getExecutionTimeDistribution() != null) && o != n) {
+                // Release delays and execution times are drawn per task index and job
+                limit = Math.min(limit, offset);
+            }
+            if (!Objects.equals(before.getExecutionTimeDistribution(), task.getExecutionTimeDistribution())) {
+                limit = Math.min(limit, offset);
+            }
+            if (before.getPeriod() != task.getPeriod()) {
+                limit = Math.min(limit, (long) offset + Math.min(before.getPeriod(), task.getPeriod()));
+            }
+            if (before.getDeadline() != task.getDeadline()) {
+                limit = Math.min(limit, offset);
+            }
+            if (before.getExecutionTime() != task.getExecutionTime()) {
+                int observed = engine.dispatchesByRemainingWork() ? offset
+                        : task.getExecutionTime() < before.getExecutionTime() ? firstExecution[o] : firstCompletion[o];
+                if (observed >= 0) {
+                    limit = Math.min(limit, observed);
+                }
+            }
+            changed[o] = !samePeriodicParameters(before, task) || sectionsChanged;
+        }
+        for (int n = 0; n < after.size(); n++) {
+            if (!matched[n] && ceilings && !after.get(n).getCriticalSections().isEmpty()) {
+                return null;
+            }
+        }
+
+        int[] orderBefore = engine.getStaticPriorityOrder(Arrays.asList(tasks));
+        if (orderBefore != null) {
+            int[] orderAfter = engine.getStaticPriorityOrder(after);
+            // Rank sequences of the tasks present in both sets, in new indices
+            List<Integer> rankedBefore = new ArrayList<>();
+            for (int o : orderBefore) {
+                if (indexMap[o] >= 0) {
+                    rankedBefore.add(indexMap[o]);
+                }
+            }
+            List<Integer> rankedAfter = new ArrayList<>();
+            for (int n : orderAfter) {
+                if (matched[n]) {
+                    rankedAfter.add(n);
+                }
+            }
+            if (!rankedBefore.equals(rankedAfter)) {
+                List<Integer> unchangedBefore = new ArrayList<>();
+                List<Integer> unchangedAfter = new ArrayList<>();
+                boolean[] changedAfter = new boolean[after.size()];
+                for (int o = 0; o < tasks.length; o++) {
+                    if (indexMap[o] >= 0 && changed[o]) {
+                        changedAfter[indexMap[o]] = true;
+                        // A changed task competes at a new rank from its first arrival
+                        limit = Math.min(limit, Math.min(tasks[o].getOffset(), after.get(indexMap[o]).getOffset()));
+                    }
+                }
+                for (int n : rankedBefore) {
+                    if (!changedAfter[n]) {
+                        unchangedBefore.add(n);
+                    }
+                }
+                for (int n : rankedAfter) {
+                    if (!changedAfter[n]) {
+                        unchangedAfter.add(n);
+                    }
+                }
+                if (!unchangedBefore.equals(unchangedAfter)) {
+                    return null;
+                }
+            }
+        }
+
+        SimulationCheckpoint from = null;
+        List<SimulationCheckpoint> carried = new ArrayList<>();
+        for (SimulationCheckpoint checkpoint : checkpoints) {
+            if (checkpoint.getTime() > limit) {
+                break;
+            }
+            from = checkpoint.translate(indexMap, tasks, after);
+            carried.add(from);
+        }
+        if (from == null) {
+            return null;
+        }
+
+        int resumeTime = from.getTime();
+        int[] prefix = new int[resumeTime];
+        for (int time = 0; time < resumeTime; time++) {
+            int entity = timeline[time];
+            prefix[time] = entity >= 0 ? indexMap[entity] : entity;
+        }
+        int[] executed = new int[after.size()];
+        int[] completed = new int[after.size()];
+        Arrays.fill(executed, -1);
+        Arrays.fill(completed, -1);
+        for (int o = 0; o < tasks.length; o++) {
+            if (indexMap[o] >= 0) {
+                executed[indexMap[o]] = firstExecution[o];
+                completed[indexMap[o]] = firstCompletion[o];
+            }
+        }
+        return new Resume(from, carried, prefix, executed, completed);
+    }
+
+    private static boolean samePeriodicParameters(Task a, Task b) {
+        return a.getExecutionTime() == b.getExecutionTime() && a.getPeriod() == b.getPeriod()
+                && a.getDeadline() == b.getDeadline() && a.getOffset() == b.getOffset()
+                && a.getReleaseJitter() == b.getReleaseJitter()
+                && Objects.equals(a.getExecutionTimeDistribution(), b.getExecutionTimeDistribution());
+    }
+
+    private static String configurationOf(AbstractScheduler engine) {
+        StringBuilder key = new StringBuilder();
+        engine.appendConfiguration(key);
+        return key.toString();
+    }
+
+    // Checkpoint to resume from, already in the new set's indices, with the timeline
+    // before it and the checkpoints up to it
+    static final class Resume {
+        private final SimulationCheckpoint checkpoint;
+        private final List<SimulationCheckpoint> checkpoints;
+        private final int[] timeline;
+        private final int[] firstExecution;
+        private final int[] firstCompletion;
+
+        private Resume(SimulationCheckpoint checkpoint, List<SimulationCheckpoint> checkpoints, int[] timeline,
+                       int[] firstExecution, int[] firstCompletion) {
+            this.checkpoint = checkpoint;
+            this.checkpoints = checkpoints;
+            this.timeline = timeline;
+            this.firstExecution = firstExecution;
+            this.firstCompletion = firstCompletion;
+        }
+
+        SimulationCheckpoint getCheckpoint() {
+            return checkpoint;
+        }
+
+        int[] getTimeline() {
+            return timeline;
+        }
+    }
+}
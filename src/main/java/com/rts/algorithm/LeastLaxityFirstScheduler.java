@@ -0,0 +1,111 @@
+package com.rts.algorithm;
+
+import com.rts.model.TaskRegistry;
+
+// Least Laxity First: the ready job with the least slack (deadline - time - remaining work)
+// runs. Laxity itself changes every tick, but d - remaining does not for a job that is
+// waiting, and ordering by it is ordering by laxity. Waiting jobs therefore sit in a heap
+// keyed once at release; only the running job's key moves, and it is kept out of the heap
+// until it is preempted.
+//
+// Plain LLF switches back and forth every tick between jobs of equal laxity. The running
+// job keeps the CPU on ties, and with a laxity threshold it is only preempted by a job
+// whose laxity is more than the threshold below its own.
+public class LeastLaxityFirstScheduler extends AbstractScheduler {
+    private int laxityThreshold;
+
+    public int getLaxityThreshold() {
+        return laxityThreshold;
+    }
+
+    // Laxity a waiting job must undercut the running one by to preempt it. Larger values
+    // trade context switches for jobs that wait past zero laxity.
+    public void setLaxityThreshold(int laxityThreshold) {
+        if (laxityThreshold < 0) {
+            throw new IllegalArgumentException("Laxity threshold must not be negative");
+        }
+        this.laxityThreshold = laxityThreshold;
+    }
+
+    @Override
+    Dispatcher createDispatcher(SchedulingState state) {
+        return new LaxityDispatcher(state, laxityThreshold);
+    }
+
+    @Override
+    protected void appendConfiguration(StringBuilder key) {
+        super.appendConfiguration(key);
+        key.append("|laxityThreshold=").append(laxityThreshold);
+    }
+
+    @Override
+    public String getAlgorithmName() {
+        return "Least Laxity First (LLF)";
+    }
+
+    private static final class LaxityDispatcher implements Dispatcher {
+        private final int[] remaining;
+        private final int[] absoluteDeadline;
+        private final boolean[] blocked;
+        private final int threshold;
+        // Ready jobs other than the current one, keyed by the time their laxity reaches zero
+        private final EntityHeap waiting;
+        private int current = TaskRegistry.IDLE;
+
+        LaxityDispatcher(SchedulingState state, int threshold) {
+            this.remaining = state.remaining;
+            this.absoluteDeadline = state.absoluteDeadline;
+            this.blocked = state.blocked;
+            this.threshold = threshold;
+            this.waiting = new EntityHeap(state.entityCount);
+            for (int entity = 0; entity < state.entityCount; entity++) {
+                update(entity);
+            }
+        }
+
+        @Override
+        public int select() {
+            int best = waiting.peek();
+            if (best < 0) {
+                return current;
+            }
+            if (current != TaskRegistry.IDLE) {
+                long currentKey = zeroLaxityTime(current);
+                if (waiting.keyOf(best) >= currentKey - threshold) {
+                    return current;
+                }
+                waiting.set(current, (int) currentKey);
+            }
+            waiting.remove(best);
+            current = best;
+            return best;
+        }
+
+        @Override
+        public void update(int entity) {
+            boolean ready = remaining[entity] > 0 && !blocked[entity];
+            if (entity == current) {
+                if (!ready) {
+                    current = TaskRegistry.IDLE;
+                }
+            } else if (ready) {
+                waiting.set(entity, zeroLaxityTime(entity));
+            } else {
+                waiting.remove(entity);
+            }
+        }
+
+        @Override
+        public void resume(int lastSelected) {
+            if (lastSelected != TaskRegistry.IDLE && waiting.contains(lastSelected)) {
+                waiting.remove(lastSelected);
+                current = lastSelected;
+            }
+        }
+
+        // Laxity plus the current time, which stays put while the job waits
+        private int zeroLaxityTime(int entity) {
+            return absoluteDeadline[entity] - remaining[entity];
+        }
+    }
+}
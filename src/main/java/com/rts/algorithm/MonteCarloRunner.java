@@ -0,0 +1,90 @@
+package com.rts.algorithm;
+
+import com.rts.model.MonteCarloResult;
+import com.rts.model.Task;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+// Runs a task set many times with independently drawn execution times (and release delays)
+// and merges the statistics. Every run gets a fresh engine from the supplier and seeds from
+// its own split of one root stream. The seeds are drawn up front, so the merged result
+// depends only on the seed and run count, not on the parallelism or thread timing. Runs are
+// spread over a ForkJoinPool; each worker collects into a MonteCarloResult of its own, and
+// these are merged pairwise when the workers finish.
+public class MonteCarloRunner {
+    private final Supplier<? extends AbstractScheduler> engines;
+    private int runs = 1000;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private long seed;
+
+    // `engines` must return a new, fully configured engine on every call
+    public MonteCarloRunner(Supplier<? extends AbstractScheduler> engines) {
+        if (engines == null) {
+            throw new IllegalArgumentException("Engine supplier must not be null");
+        }
+        this.engines = engines;
+    }
+
+    public int getRuns() {
+        return runs;
+    }
+
+    public void setRuns(int runs) {
+        if (runs <= 0) {
+            throw new IllegalArgumentException("Run count must be positive");
+        }
+        this.runs = runs;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public MonteCarloResult run(List<Task> tasks, int simulationTime) {
+        if (simulationTime <= 0) {
+            throw new IllegalArgumentException("Simulation time must be positive");
+        }
+        SplittableRandom root = new SplittableRandom(seed);
+        long[] executionSeeds = new long[runs];
+        long[] jitterSeeds = new long[runs];
+        for (int run = 0; run < runs; run++) {
+            SplittableRandom stream = root.split();
+            executionSeeds[run] = stream.nextLong();
+            jitterSeeds[run] = stream.nextLong();
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> IntStream.range(0, runs).parallel().collect(
+                    () -> new MonteCarloResult(tasks),
+                    (result, run) -> {
+                        AbstractScheduler engine = engines.get();
+                        engine.setExecutionTimeSeed(executionSeeds[run]);
+                        engine.setReleaseJitterSeed(jitterSeeds[run]);
+                        result.add(engine.schedule(tasks, simulationTime));
+                    },
+                    MonteCarloResult::merge)).join();
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.rts.algorithm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.rts.PreemptionBurst")
+@Label("Preemption Burst")
+@Category({"RTS", "Scheduler"})
+@Description("A window of simulated ticks with many preemptions")
+@StackTrace(false)
+final class PreemptionBurstEvent extends jdk.jfr.Event {
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Window Start")
+    int windowStart;
+
+    @Label("Window Length")
+    int windowLength;
+
+    @Label("Preemptions")
+    int preemptions;
+}
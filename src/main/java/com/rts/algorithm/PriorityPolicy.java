@@ -0,0 +1,19 @@
+package com.rts.algorithm;
+
+import com.rts.model.OverheadModel;
+import com.rts.model.PreemptionMode;
+import com.rts.model.ResourceProtocol;
+import com.rts.model.Task;
+
+import java.util.List;
+
+// Assigns the fixed priorities a FixedPriorityScheduler dispatches by. Policies get the
+// engine's overhead, preemption and resource settings, so analysis-driven assignments are
+// made for the system that is actually simulated.
+public interface PriorityPolicy {
+    // Indices into `tasks` from highest to lowest priority
+    int[] assignPriorities(List<Task> tasks, OverheadModel overheads, PreemptionMode mode,
+                           int preemptionPointInterval, ResourceProtocol protocol);
+
+    String getName();
+}
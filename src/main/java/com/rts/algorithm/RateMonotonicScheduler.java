@@ -1,69 +1,22 @@
 package com.rts.algorithm;
 
-import com.rts.model.Task;
-import com.rts.model.ScheduleResult;
+import com.rts.model.ServerPolicy;
 
-import java.util.*;
+public class RateMonotonicScheduler extends FixedPriorityScheduler {
 
-public class RateMonotonicScheduler implements Scheduler {
+    public RateMonotonicScheduler() {
+        // RMS - shorter period = higher priority
+        super(StandardPriorityPolicy.RATE_MONOTONIC);
+    }
     
     @Override
-    public ScheduleResult schedule(List<Task> tasks, int simulationTime) {
-        List<String> timeline = new ArrayList<>();
-        List<String> missedDeadlines = new ArrayList<>();
-        
-        // Sort tasks by period (RMS - shorter period = higher priority)
-        List<Task> sortedTasks = new ArrayList<>(tasks);
-        sortedTasks.sort(Comparator.comparingInt(Task::getPeriod));
-        
-        // Reset all tasks
-        for (Task task : sortedTasks) {
-            task.reset();
-        }
-        
-        // Track absolute deadlines for each task instance
-        Map<String, Integer> absoluteDeadlines = new HashMap<>();
-        for (Task task : sortedTasks) {
-            absoluteDeadlines.put(task.getId(), task.getDeadline());
-        }
-        
-        // Simulate scheduling
-        for (int time = 0; time < simulationTime; time++) {
-            // Release tasks that are ready at this time
-            for (Task task : sortedTasks) {
-                if (time % task.getPeriod() == 0) {
-                    if (task.getRemainingTime() > 0 && time > 0) {
-                        // Deadline miss - task not completed before next release
-                        missedDeadlines.add(String.format("Task %s missed deadline at time %d", 
-                            task.getId(), time));
-                    }
-                    task.setRemainingTime(task.getExecutionTime());
-                    absoluteDeadlines.put(task.getId(), time + task.getDeadline());
-                }
-            }
-            
-            // Select highest priority ready task (lowest period)
-            Task selectedTask = null;
-            for (Task task : sortedTasks) {
-                if (task.getRemainingTime() > 0) {
-                    selectedTask = task;
-                    break;
-                }
-            }
-            
-            if (selectedTask != null) {
-                timeline.add(selectedTask.getId());
-                selectedTask.setRemainingTime(selectedTask.getRemainingTime() - 1);
-            } else {
-                timeline.add("IDLE");
-            }
-        }
-        
-        return new ScheduleResult(timeline, missedDeadlines);
+    protected boolean supportsServer(ServerPolicy policy) {
+        // The server slot gets the RM priority of its replenishment period
+        return policy.isFixedPriority();
     }
     
     @Override
     public String getAlgorithmName() {
         return "Rate Monotonic Scheduling (RMS)";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package com.rts.algorithm;
+
+// Two-level bitmap of ready priority levels (0 = highest). The summary word marks which
+// 64-level words are non-empty, so finding the highest ready level is two
+// numberOfTrailingZeros calls for up to 4096 levels, plus a scan of one summary word per
+// further 4096 levels.
+final class ReadyBitmap {
+    private final long[] words;
+    private final long[] summary;
+
+    ReadyBitmap(int levels) {
+        this.words = new long[(levels + 63) >>> 6];
+        this.summary = new long[(words.length + 63) >>> 6];
+    }
+
+    void set(int level) {
+        int word = level >>> 6;
+        words[word] |= 1L << level;
+        summary[word >>> 6] |= 1L << word;
+    }
+
+    void clear(int level) {
+        int word = level >>> 6;
+        words[word] &= ~(1L << level);
+        if (words[word] == 0) {
+            summary[word >>> 6] &= ~(1L << word);
+        }
+    }
+
+    // Lowest set level, or -1 if nothing is ready
+    int first() {
+        for (int s = 0; s < summary.length; s++) {
+            if (summary[s] != 0) {
+                int word = (s << 6) + Long.numberOfTrailingZeros(summary[s]);
+                return (word << 6) + Long.numberOfTrailingZeros(words[word]);
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,100 @@
+package com.rts.algorithm;
+
+// Hashed timing wheel of next release times. Each entity sits in the slot of its next
+// release; a tick only touches its own slot, so releasing costs O(1) amortized per job
+// instead of a scan of every task on every tick. Periods longer than the wheel simply
+// stay in their slot for extra rounds.
+final class ReleaseWheel {
+    private static final int MAX_SLOTS = 1 << 16;
+    private static final int NONE = -1;
+    private static final int INSERTION_SORT_LIMIT = 8;
+
+    private final int mask;
+    private final int[] slotHead;
+    private final int[] next;
+    private final int[] releaseTime;
+    // Order same-tick releases are collected in, or null for index order
+    private final int[] rank;
+    // Entity at each rank (null for index order), and the ranks due at the current tick, for
+    // releases too many to insertion-sort
+    private final int[] byRank;
+    private final ReadyBitmap dueRanks;
+
+    ReleaseWheel(int entityCount, int maxPeriod) {
+        this(entityCount, maxPeriod, null);
+    }
+
+    ReleaseWheel(int entityCount, int maxPeriod, int[] rank) {
+        int slots = Integer.highestOneBit(Math.max(1, Math.min(maxPeriod, MAX_SLOTS - 1))) << 1;
+        this.mask = slots - 1;
+        this.slotHead = new int[slots];
+        java.util.Arrays.fill(slotHead, NONE);
+        this.next = new int[entityCount];
+        this.releaseTime = new int[entityCount];
+        this.rank = rank;
+        this.byRank = rank != null ? new int[rank.length] : null;
+        for (int entity = 0; rank != null && entity < rank.length; entity++) {
+            byRank[rank[entity]] = entity;
+        }
+        this.dueRanks = new ReadyBitmap(rank != null ? rank.length : entityCount);
+    }
+
+    void schedule(int entity, int time) {
+        releaseTime[entity] = time;
+        int slot = time & mask;
+        next[entity] = slotHead[slot];
+        slotHead[slot] = entity;
+    }
+
+    // Time the entity was last scheduled for
+    int getReleaseTime(int entity) {
+        return releaseTime[entity];
+    }
+
+    // Removes the entities released at `time`, writes them to `due` in rank order and
+    // returns how many there are. A few releases are insertion-sorted; larger groups, such as
+    // every task of a synchronous set at a hyperperiod boundary, go through a bitmap of their
+    // ranks, which costs O(1) per release for up to 4096 ranks instead of O(k) for k releases.
+    int collectDue(int time, int[] due) {
+        int slot = time & mask;
+        int entity = slotHead[slot];
+        slotHead[slot] = NONE;
+        int count = 0;
+        while (entity != NONE) {
+            int following = next[entity];
+            if (releaseTime[entity] == time) {
+                due[count++] = entity;
+            } else {
+                // Due in a later round of the wheel
+                next[entity] = slotHead[slot];
+                slotHead[slot] = entity;
+            }
+            entity = following;
+        }
+        if (count <= INSERTION_SORT_LIMIT) {
+            for (int d = 1; d < count; d++) {
+                int released = due[d];
+                int position = d;
+                while (position > 0 && rankOf(due[position - 1]) > rankOf(released)) {
+                    due[position] = due[position - 1];
+                    position--;
+                }
+                due[position] = released;
+            }
+        } else {
+            for (int d = 0; d < count; d++) {
+                dueRanks.set(rankOf(due[d]));
+            }
+            for (int d = 0; d < count; d++) {
+                int level = dueRanks.first();
+                dueRanks.clear(level);
+                due[d] = rank != null ? byRank[level] : level;
+            }
+        }
+        return count;
+    }
+
+    private int rankOf(int entity) {
+        return rank != null ? rank[entity] : entity;
+    }
+}
@@ -0,0 +1,339 @@
+package com.rts.algorithm;
+
+import com.rts.model.CriticalSection;
+import com.rts.model.ResourceProtocol;
+import com.rts.model.Task;
+import com.rts.model.TaskRegistry;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Lock state of the shared resources during one run. Critical sections are located by the
+// remaining work of the job, so the cache reload added on preemption is redone before the
+// lock is taken, and inside the section while it is held.
+//
+// Sections never nest, so a lock holder never waits for another lock and blocking is one
+// level deep. Under inheritance and ceiling protocols the blocked job stays ready and its
+// blocker simply runs in its place: that is the blocker inheriting the blocked job's
+// priority, with no queue reordering. Without a protocol the blocked job leaves the ready
+// set until the lock is released. The system ceiling is the highest locked level in a
+// bitmap, so every lock event is constant time apart from waking plain-lock waiters.
+final class ResourceState {
+    private final ResourceProtocol protocol;
+    private final int[] remaining;
+    private final boolean[] blocked;
+
+    // Per entity: remaining work at which each section's lock is taken and released
+    private final int[][] lockAt;
+    private final int[][] unlockAt;
+    private final int[][] sectionResource;
+    // Next section of each entity's current job, and the resource it holds (-1 if none)
+    private final int[] nextSection;
+    private final int[] holding;
+    private final int[] waitingOn;
+    private final int[] nextWaiter;
+    // Set once the current job has executed; SRP only tests jobs that have not started
+    private final boolean[] started;
+    private final String[] resourceName;
+
+    private final int[] holder;
+    private final int[] firstWaiter;
+    private final int[] ceiling;
+    private final int[] lockedAtLevel;
+    private final int[] levelHolder;
+    private final ReadyBitmap systemCeiling;
+    private int[] level;
+
+    private ResourceState(SchedulingState state, ResourceProtocol protocol, Map<String, Integer> resources) {
+        int entityCount = state.entityCount;
+        this.protocol = protocol;
+        this.remaining = state.remaining;
+        this.blocked = state.blocked;
+        this.lockAt = new int[entityCount][];
+        this.unlockAt = new int[entityCount][];
+        this.sectionResource = new int[entityCount][];
+        for (int e = 0; e < entityCount; e++) {
+            Task task = state.registry.getTask(e);
+            List<CriticalSection> sections = task.getCriticalSections();
+            lockAt[e] = new int[sections.size()];
+            unlockAt[e] = new int[sections.size()];
+            sectionResource[e] = new int[sections.size()];
+            for (int k = 0; k < sections.size(); k++) {
+                CriticalSection section = sections.get(k);
+                lockAt[e][k] = task.getExecutionTime() - section.getStart();
+                unlockAt[e][k] = task.getExecutionTime() - section.getEnd();
+                sectionResource[e][k] = resources.get(section.getResource());
+            }
+        }
+        this.nextSection = new int[entityCount];
+        this.holding = new int[entityCount];
+        this.waitingOn = new int[entityCount];
+        this.nextWaiter = new int[entityCount];
+        this.started = new boolean[entityCount];
+        Arrays.fill(holding, -1);
+        Arrays.fill(waitingOn, -1);
+
+        int resourceCount = resources.size();
+        this.resourceName = new String[resourceCount];
+        for (Map.Entry<String, Integer> resource : resources.entrySet()) {
+            resourceName[resource.getValue()] = resource.getKey();
+        }
+        this.holder = new int[resourceCount];
+        this.firstWaiter = new int[resourceCount];
+        this.ceiling = new int[resourceCount];
+        Arrays.fill(holder, -1);
+        Arrays.fill(firstWaiter, -1);
+        this.lockedAtLevel = new int[entityCount];
+        this.levelHolder = new int[entityCount];
+        this.systemCeiling = new ReadyBitmap(entityCount);
+    }
+
+    // Lock state for the run, or null if no entity has critical sections
+    static ResourceState create(SchedulingState state, ResourceProtocol protocol) {
+        Map<String, Integer> resources = new HashMap<>();
+        for (int e = 0; e < state.entityCount; e++) {
+            for (CriticalSection section : state.registry.getTask(e).getCriticalSections()) {
+                resources.putIfAbsent(section.getResource(), resources.size());
+            }
+        }
+        return resources.isEmpty() ? null : new ResourceState(state, protocol, resources);
+    }
+
+    ResourceProtocol getProtocol() {
+        return protocol;
+    }
+
+    // Priority (fixed priority) or preemption level (SRP) of every entity, 0 = highest.
+    // A resource's ceiling is the highest level among the entities that use it.
+    void setLevels(int[] level) {
+        this.level = level.clone();
+        Arrays.fill(ceiling, Integer.MAX_VALUE);
+        for (int e = 0; e < level.length; e++) {
+            for (int r : sectionResource[e]) {
+                ceiling[r] = Math.min(ceiling[r], level[e]);
+            }
+        }
+    }
+
+    // Entity to run when the dispatcher picked `entity`. A job that reaches a section takes
+    // the lock if the protocol grants it. Otherwise its blocker runs instead, or, with plain
+    // locks, the job leaves the ready set and the dispatcher is asked again.
+    int resolve(int entity, Dispatcher dispatcher) {
+        while (entity != TaskRegistry.IDLE && needsLock(entity)) {
+            int resource = sectionResource[entity][nextSection[entity]];
+            int blocker = blockerOf(entity, resource);
+            if (blocker < 0) {
+                lock(entity, resource);
+                return entity;
+            }
+            if (protocol != ResourceProtocol.NONE) {
+                return blocker;
+            }
+            blocked[entity] = true;
+            waitingOn[entity] = resource;
+            nextWaiter[entity] = firstWaiter[resource];
+            firstWaiter[resource] = entity;
+            dispatcher.update(entity);
+            entity = dispatcher.select();
+        }
+        return entity;
+    }
+
+    // Takes the next lock of a job that keeps the CPU without a dispatch. Returns false if
+    // the job has to wait, leaving the choice to resolve().
+    boolean tryLock(int entity) {
+        if (!needsLock(entity)) {
+            return true;
+        }
+        int resource = sectionResource[entity][nextSection[entity]];
+        if (blockerOf(entity, resource) >= 0) {
+            return false;
+        }
+        lock(entity, resource);
+        return true;
+    }
+
+    // Whether the job stands at a section it has not been granted yet
+    boolean waitsForLock(int entity) {
+        return entity >= 0 && needsLock(entity);
+    }
+
+    boolean hasStarted(int entity) {
+        return started[entity];
+    }
+
+    // SRP start rule: a job that has not started yet may only start above the system ceiling
+    boolean mayStart(int entity) {
+        if (started[entity]) {
+            return true;
+        }
+        int systemLevel = systemCeiling.first();
+        return systemLevel < 0 || level[entity] < systemLevel;
+    }
+
+    // Called after the entity executed one unit. Returns true if it released a lock, which
+    // ends its non-preemptive chunk so the jobs it blocked can run.
+    boolean afterTick(int entity, Dispatcher dispatcher) {
+        started[entity] = true;
+        if (holding[entity] >= 0 && remaining[entity] == unlockAt[entity][nextSection[entity]]) {
+            unlock(entity, dispatcher);
+            return true;
+        }
+        return false;
+    }
+
+    // A new job replaces the entity's current one; an unfinished job gives up what it holds
+    void resetJob(int entity, Dispatcher dispatcher) {
+        if (holding[entity] >= 0) {
+            unlock(entity, dispatcher);
+        }
+        if (waitingOn[entity] >= 0) {
+            int resource = waitingOn[entity];
+            if (firstWaiter[resource] == entity) {
+                firstWaiter[resource] = nextWaiter[entity];
+            } else {
+                int w = firstWaiter[resource];
+                while (nextWaiter[w] != entity) {
+                    w = nextWaiter[w];
+                }
+                nextWaiter[w] = nextWaiter[entity];
+            }
+            waitingOn[entity] = -1;
+            blocked[entity] = false;
+        }
+        nextSection[entity] = 0;
+        started[entity] = false;
+    }
+
+    // Number of ints appendState() writes
+    int stateSize() {
+        return 3 * lockAt.length;
+    }
+
+    // Lock state that decides the rest of the run, for checkpoint comparison
+    void appendState(int[] snapshot, int offset) {
+        for (int e = 0; e < lockAt.length; e++) {
+            snapshot[offset + 3 * e] = nextSection[e];
+            snapshot[offset + 3 * e + 1] = holding[e];
+            snapshot[offset + 3 * e + 2] = (started[e] ? 1 : 0) + (blocked[e] ? 2 : 0);
+        }
+    }
+
+    // Per-job lock state for a checkpoint; resources are named, as their indices depend on
+    // the task set
+    Snapshot capture() {
+        int entityCount = lockAt.length;
+        Snapshot snapshot = new Snapshot(entityCount);
+        for (int e = 0; e < entityCount; e++) {
+            snapshot.nextSection[e] = nextSection[e];
+            snapshot.holding[e] = holding[e] >= 0 ? resourceName[holding[e]] : null;
+            snapshot.waitingOn[e] = waitingOn[e] >= 0 ? resourceName[waitingOn[e]] : null;
+            snapshot.started[e] = started[e];
+        }
+        return snapshot;
+    }
+
+    // Resumes from a snapshot taken in the same index space. Levels must already be set, since
+    // the system ceiling is rebuilt from the held resources.
+    void restore(Snapshot snapshot) {
+        Map<String, Integer> indexByName = new HashMap<>();
+        for (int r = 0; r < resourceName.length; r++) {
+            indexByName.put(resourceName[r], r);
+        }
+        for (int e = 0; e < lockAt.length; e++) {
+            nextSection[e] = snapshot.nextSection[e];
+            started[e] = snapshot.started[e];
+            if (snapshot.holding[e] != null) {
+                lock(e, indexByName.get(snapshot.holding[e]));
+                started[e] = snapshot.started[e];
+            }
+            if (snapshot.waitingOn[e] != null) {
+                int resource = indexByName.get(snapshot.waitingOn[e]);
+                waitingOn[e] = resource;
+                nextWaiter[e] = firstWaiter[resource];
+                firstWaiter[resource] = e;
+            }
+        }
+    }
+
+    static final class Snapshot {
+        private final int[] nextSection;
+        private final String[] holding;
+        private final String[] waitingOn;
+        private final boolean[] started;
+
+        private Snapshot(int entityCount) {
+            this.nextSection = new int[entityCount];
+            this.holding = new String[entityCount];
+            this.waitingOn = new String[entityCount];
+            this.started = new boolean[entityCount];
+        }
+
+        // Same state with entity i moved to slot indexMap[i]; entities nothing moves to have
+        // not started their first job
+        Snapshot translate(int[] indexMap, int entityCount) {
+            Snapshot copy = new Snapshot(entityCount);
+            for (int e = 0; e < indexMap.length; e++) {
+                int target = indexMap[e];
+                if (target >= 0) {
+                    copy.nextSection[target] = nextSection[e];
+                    copy.holding[target] = holding[e];
+                    copy.waitingOn[target] = waitingOn[e];
+                    copy.started[target] = started[e];
+                }
+            }
+            return copy;
+        }
+    }
+
+    private boolean needsLock(int entity) {
+        int k = nextSection[entity];
+        return holding[entity] < 0 && k < lockAt[entity].length && remaining[entity] == lockAt[entity][k];
+    }
+
+    // Job that keeps `entity` from locking `resource`, or -1 if the lock is granted
+    private int blockerOf(int entity, int resource) {
+        if (holder[resource] >= 0) {
+            return holder[resource];
+        }
+        if (protocol == ResourceProtocol.PRIORITY_CEILING) {
+            // Only above the ceilings of everything locked by other jobs
+            int systemLevel = systemCeiling.first();
+            if (systemLevel >= 0 && systemLevel <= level[entity]) {
+                return levelHolder[systemLevel];
+            }
+        }
+        return -1;
+    }
+
+    private void lock(int entity, int resource) {
+        // The lock may be granted on a tick spent on switch overhead; the job has started anyway
+        started[entity] = true;
+        holder[resource] = entity;
+        holding[entity] = resource;
+        int ceilingLevel = ceiling[resource];
+        if (lockedAtLevel[ceilingLevel]++ == 0) {
+            systemCeiling.set(ceilingLevel);
+        }
+        levelHolder[ceilingLevel] = entity;
+    }
+
+    private void unlock(int entity, Dispatcher dispatcher) {
+        int resource = holding[entity];
+        holder[resource] = -1;
+        holding[entity] = -1;
+        nextSection[entity]++;
+        int ceilingLevel = ceiling[resource];
+        if (--lockedAtLevel[ceilingLevel] == 0) {
+            systemCeiling.clear(ceilingLevel);
+        }
+        for (int w = firstWaiter[resource]; w >= 0; w = nextWaiter[w]) {
+            waitingOn[w] = -1;
+            blocked[w] = false;
+            dispatcher.update(w);
+        }
+        firstWaiter[resource] = -1;
+    }
+}
@@ -0,0 +1,97 @@
+package com.rts.algorithm;
+
+import com.rts.model.DeadlineMiss;
+import com.rts.model.TaskRegistry;
+
+import java.util.List;
+
+// Collects the phase timings and preemption bursts of one instrumented run, then commits
+// its Flight Recorder events and counters. Only created while instrumentation is on.
+final class RunProbe {
+    // Preemptions are counted per window of this many ticks; a window with at least
+    // BURST_PREEMPTIONS of them is reported as a burst
+    private static final int BURST_WINDOW = 100;
+    private static final int BURST_PREEMPTIONS = 10;
+
+    private final String algorithm;
+    private final SimulationRunEvent event = new SimulationRunEvent();
+    private final long start = System.nanoTime();
+    private long loopStart;
+    private long loopEnd;
+    private int preemptions;
+    private int windowStart = -1;
+    private int windowPreemptions;
+
+    RunProbe(String algorithm, int taskCount, int simulationTime) {
+        this.algorithm = algorithm;
+        event.algorithm = algorithm;
+        event.tasks = taskCount;
+        event.horizon = simulationTime;
+        event.begin();
+    }
+
+    void loopStarted(int startTime) {
+        loopStart = System.nanoTime();
+        event.resumedAt = startTime;
+    }
+
+    void loopFinished() {
+        loopEnd = System.nanoTime();
+    }
+
+    void preemption(int time) {
+        preemptions++;
+        int window = time - time % BURST_WINDOW;
+        if (window != windowStart) {
+            reportBurst();
+            windowStart = window;
+            windowPreemptions = 0;
+        }
+        windowPreemptions++;
+    }
+
+    // `firstNewMiss` skips misses carried over from the checkpoint a run resumed from. The engine
+    // adds late completions to `misses` as they happen, so they are reported and counted too.
+    void finish(TaskRegistry registry, List<DeadlineMiss> misses, int firstNewMiss, int ticks) {
+        reportBurst();
+        long end = System.nanoTime();
+        int newMisses = misses.size() - firstNewMiss;
+        // Checked once per run rather than once per miss
+        if (newMisses > 0 && new DeadlineMissEvent().isEnabled()) {
+            for (int m = firstNewMiss; m < misses.size(); m++) {
+                DeadlineMiss miss = misses.get(m);
+                DeadlineMissEvent missEvent = new DeadlineMissEvent();
+                missEvent.algorithm = algorithm;
+                missEvent.task = registry.getId(miss.getTaskIndex());
+                missEvent.time = miss.getTime();
+                missEvent.late = miss.isLate();
+                missEvent.commit();
+            }
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.ticks = ticks;
+            event.deadlineMisses = newMisses;
+            event.preemptions = preemptions;
+            event.setupNanos = loopStart - start;
+            event.loopNanos = loopEnd - loopStart;
+            event.finishNanos = end - loopEnd;
+            event.commit();
+        }
+        SchedulerInstrumentation.count(ticks, newMisses, preemptions, end - start);
+    }
+
+    private void reportBurst() {
+        if (windowPreemptions >= BURST_PREEMPTIONS) {
+            PreemptionBurstEvent burst = new PreemptionBurstEvent();
+            if (burst.shouldCommit()) {
+                burst.algorithm = algorithm;
+                burst.windowStart = windowStart;
+                burst.windowLength = BURST_WINDOW;
+                burst.preemptions = windowPreemptions;
+                burst.commit();
+            }
+        }
+        windowPreemptions = 0;
+    }
+}
@@ -0,0 +1,313 @@
+package com.rts.algorithm;
+
+import com.rts.model.CriticalSection;
+import com.rts.model.DeadlineMiss;
+import com.rts.model.ScheduleResult;
+import com.rts.model.SimulationMetrics;
+import com.rts.model.Task;
+import com.rts.model.TaskRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Memoizes schedule() runs. A run is keyed by the task parameters in canonical order, the
+// engine configuration and the horizon, so permuted or renamed copies of a set share one
+// entry. Cached runs are simulated on the canonical order, which means ties between tasks
+// of equal priority are broken in that order rather than in the caller's.
+//
+// Entries are evicted least recently used once their estimated size exceeds the budget.
+// With a spill directory evicted runs are written to disk and read back on a later miss.
+// Callers on different threads asking for the same run wait for one simulation.
+public class ScheduleCache {
+    private static final String SPILL_SUFFIX = ".run";
+    // Rough bytes per timeline tick, deadline miss and task of a cached run
+    private static final long TICK_BYTES = 4;
+    private static final long MISS_BYTES = 24;
+    private static final long TASK_BYTES = 512;
+
+    private static final Comparator<Task> CANONICAL_ORDER = Comparator
+            .comparingInt(Task::getPeriod)
+            .thenComparingInt(Task::getDeadline)
+            .thenComparingInt(Task::getExecutionTime)
+            .thenComparingInt(Task::getOffset)
+            .thenComparingInt(Task::getReleaseJitter)
+            .thenComparing(task -> task.getCriticalSections().toString())
+            .thenComparing(task -> String.valueOf(task.getExecutionTimeDistribution()))
+            .thenComparing(Task::getId);
+
+    private final long maxBytes;
+    private final Path spillDirectory;
+    private final LinkedHashMap<String, CachedRun> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<CachedRun>> inFlight = new ConcurrentHashMap<>();
+    private long bytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ScheduleCache(long maxBytes) {
+        this(maxBytes, null);
+    }
+
+    // A null spill directory keeps the cache in memory only
+    public ScheduleCache(long maxBytes, Path spillDirectory) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("Cache size must be positive");
+        }
+        this.maxBytes = maxBytes;
+        this.spillDirectory = spillDirectory;
+    }
+
+    // Order the cache simulates a task set in
+    public static List<Task> canonicalOrder(List<Task> tasks) {
+        List<Task> ordered = new ArrayList<>(tasks);
+        ordered.sort(CANONICAL_ORDER);
+        return ordered;
+    }
+
+    // Result of scheduler.schedule(canonicalOrder(tasks), simulationTime), reused when an
+    // equal run was cached. The result's registry holds the caller's tasks; its metrics are
+    // shared with other hits and must be treated as read-only.
+    public ScheduleResult schedule(AbstractScheduler scheduler, List<Task> tasks, int simulationTime) {
+        List<Task> ordered = canonicalOrder(tasks);
+        String key = key(scheduler, ordered, simulationTime);
+        CachedRun run = lookup(key);
+        if (run != null) {
+            hits.incrementAndGet();
+            return run.bind(scheduler, ordered);
+        }
+
+        CompletableFuture<CachedRun> pending = new CompletableFuture<>();
+        CompletableFuture<CachedRun> running = inFlight.putIfAbsent(key, pending);
+        if (running != null) {
+            hits.incrementAndGet();
+            return await(running).bind(scheduler, ordered);
+        }
+        try {
+            run = lookup(key);
+            if (run != null) {
+                hits.incrementAndGet();
+            } else if ((run = readSpilled(key)) != null) {
+                diskHits.incrementAndGet();
+                store(key, run);
+            } else {
+                misses.incrementAndGet();
+                run = new CachedRun(key, scheduler.schedule(ordered, simulationTime));
+                store(key, run);
+            }
+            pending.complete(run);
+        } catch (RuntimeException | Error e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, pending);
+        }
+        return run.bind(scheduler, ordered);
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    // Misses served from the spill directory instead of a new simulation
+    public long getDiskHitCount() {
+        return diskHits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // Estimated bytes held in memory
+    public synchronized long getSize() {
+        return bytes;
+    }
+
+    // Drops every cached run, including the spilled ones
+    public void clear() {
+        synchronized (this) {
+            entries.clear();
+            bytes = 0;
+        }
+        if (spillDirectory == null || !Files.isDirectory(spillDirectory)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(spillDirectory, "*" + SPILL_SUFFIX)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            // Whatever is left is still verified against its key before reuse
+        }
+    }
+
+    private static String key(AbstractScheduler scheduler, List<Task> ordered, int simulationTime) {
+        StringBuilder key = new StringBuilder();
+        scheduler.appendConfiguration(key);
+        key.append("|horizon=").append(simulationTime).append("|tasks=");
+        for (Task task : ordered) {
+            key.append(task.getExecutionTime()).append(',').append(task.getPeriod())
+                    .append(',').append(task.getDeadline()).append(',').append(task.getOffset())
+                    .append(',').append(task.getReleaseJitter());
+            for (CriticalSection section : task.getCriticalSections()) {
+                key.append(',').append(section);
+            }
+            if (task.getExecutionTimeDistribution() != null) {
+                key.append(',').append(task.getExecutionTimeDistribution());
+            }
+            key.append(';');
+        }
+        return key.toString();
+    }
+
+    private synchronized CachedRun lookup(String key) {
+        return entries.get(key);
+    }
+
+    private void store(String key, CachedRun run) {
+        List<CachedRun> evicted = new ArrayList<>();
+        synchronized (this) {
+            if (entries.put(key, run) == null) {
+                bytes += run.bytes;
+            }
+            Iterator<CachedRun> eldest = entries.values().iterator();
+            // The newest run stays even if it alone exceeds the budget
+            while (bytes > maxBytes && entries.size() > 1) {
+                CachedRun victim = eldest.next();
+                eldest.remove();
+                bytes -= victim.bytes;
+                evicted.add(victim);
+            }
+        }
+        for (CachedRun victim : evicted) {
+            spill(victim);
+        }
+    }
+
+    // Best effort: a run that cannot be written is simply simulated again when asked for
+    private void spill(CachedRun run) {
+        if (spillDirectory == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(spillDirectory);
+            Path file = spillFile(run.key);
+            if (Files.exists(file)) {
+                return;
+            }
+            Path temp = Files.createTempFile(spillDirectory, "spill", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp);
+                 ObjectOutputStream objects = new ObjectOutputStream(out)) {
+                objects.writeObject(run);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Leave the run out of the store
+        }
+    }
+
+    private CachedRun readSpilled(String key) {
+        if (spillDirectory == null) {
+            return null;
+        }
+        Path file = spillFile(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (InputStream in = Files.newInputStream(file);
+             ObjectInputStream objects = new ObjectInputStream(in)) {
+            CachedRun run = (CachedRun) objects.readObject();
+            // The file name is a hash of the key; a collision or stale file is a miss
+            return key.equals(run.key) ? run : null;
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            return null;
+        }
+    }
+
+    private Path spillFile(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder();
+            for (byte b : digest) {
+                name.append(String.format("%02x", b));
+            }
+            return spillDirectory.resolve(name.append(SPILL_SUFFIX).toString());
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static CachedRun await(CompletableFuture<CachedRun> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // Everything of a result that does not depend on which tasks it is bound to
+    private static final class CachedRun implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final String key;
+        private final int[] timeline;
+        private final ArrayList<DeadlineMiss> deadlineMisses;
+        private final SimulationMetrics metrics;
+        private final long bytes;
+
+        CachedRun(String key, ScheduleResult result) {
+            this.key = key;
+            this.timeline = new int[result.getTimelineLength()];
+            for (int time = 0; time < timeline.length; time++) {
+                timeline[time] = result.getTaskIndexAt(time);
+            }
+            this.deadlineMisses = new ArrayList<>(result.getDeadlineMisses());
+            this.metrics = result.getMetrics();
+            this.bytes = 2L * key.length() + TICK_BYTES * timeline.length
+                    + MISS_BYTES * deadlineMisses.size() + TASK_BYTES * metrics.getTaskCount();
+        }
+
+        // Entity i of the run is the i-th canonical task, then the server slot if any
+        ScheduleResult bind(AbstractScheduler scheduler, List<Task> ordered) {
+            List<Task> entities = ordered;
+            if (scheduler.getAperiodicServer() != null) {
+                entities = new ArrayList<>(ordered);
+                entities.add(scheduler.getAperiodicServer().toTask());
+            }
+            return new ScheduleResult(new TaskRegistry(entities), timeline, new ArrayList<>(deadlineMisses),
+                    metrics);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.rts.algorithm;
+
+import com.rts.model.ScheduleResult;
+import com.rts.model.Task;
+import com.rts.model.TaskMetrics;
+import com.rts.model.TaskRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+// Runs several registered schedulers against one task set at the same time, so a
+// comparison takes as long as the slowest engine rather than the sum of all of them.
+// Every engine sees the same unmodifiable snapshot of the set. An engine that rejects
+// the set (an unsupported server or protocol) reports its error without stopping the rest.
+public class ScheduleComparison {
+    private final Map<String, Scheduler> schedulers = new LinkedHashMap<>();
+    private ScheduleCache cache;
+
+    public void register(String name, Scheduler scheduler) {
+        if (scheduler == null) {
+            throw new IllegalArgumentException("Scheduler must not be null");
+        }
+        schedulers.put(name, scheduler);
+    }
+
+    public List<String> getNames() {
+        return new ArrayList<>(schedulers.keySet());
+    }
+
+    // Runs of AbstractScheduler engines go through this cache when it is set
+    public void setCache(ScheduleCache cache) {
+        this.cache = cache;
+    }
+
+    // Completes with one run per registered scheduler, in registration order
+    public CompletableFuture<List<Run>> runAsync(List<Task> tasks, int simulationTime, Executor executor) {
+        List<Task> snapshot = Collections.unmodifiableList(new ArrayList<>(tasks));
+        List<CompletableFuture<Run>> pending = new ArrayList<>();
+        for (Map.Entry<String, Scheduler> entry : schedulers.entrySet()) {
+            String name = entry.getKey();
+            Scheduler scheduler = entry.getValue();
+            pending.add(CompletableFuture.supplyAsync(() -> run(name, scheduler, snapshot, simulationTime), executor));
+        }
+        return CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+            List<Run> runs = new ArrayList<>(pending.size());
+            for (CompletableFuture<Run> run : pending) {
+                runs.add(run.join());
+            }
+            return runs;
+        });
+    }
+
+    private Run run(String name, Scheduler scheduler, List<Task> tasks, int simulationTime) {
+        long start = System.nanoTime();
+        try {
+            ScheduleResult result = cache != null && scheduler instanceof AbstractScheduler
+                    ? cache.schedule((AbstractScheduler) scheduler, tasks, simulationTime)
+                    : scheduler.schedule(tasks, simulationTime);
+            return new Run(name, result, null, System.nanoTime() - start);
+        } catch (IllegalArgumentException e) {
+            return new Run(name, null, e.getMessage(), System.nanoTime() - start);
+        }
+    }
+
+    // Outcome of one engine: a result, or the reason the engine rejected the set
+    public static final class Run {
+        private final String name;
+        private final ScheduleResult result;
+        private final String error;
+        private final long elapsedNanos;
+
+        Run(String name, ScheduleResult result, String error, long elapsedNanos) {
+            this.name = name;
+            this.result = result;
+            this.error = error;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        // Null if the engine rejected the set
+        public ScheduleResult getResult() {
+            return result;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        // Metrics of the task with the given id, or null if it was not scheduled. Engines
+        // may index the set differently, so runs are compared by id.
+        public TaskMetrics getTaskMetrics(String taskId) {
+            if (result == null) {
+                return null;
+            }
+            TaskRegistry registry = result.getRegistry();
+            int index = registry.indexOf(taskId);
+            return index >= 0 ? result.getMetrics().getTaskMetrics(index) : null;
+        }
+    }
+}
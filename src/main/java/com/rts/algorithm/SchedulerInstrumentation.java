@@ -0,0 +1,75 @@
+package com.rts.algorithm;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Switch and counters for profiling the engines. Off by default, where a run costs one
+// volatile read; start the JVM with -Drts.instrumentation=true or call setEnabled(true)
+// to turn it on without rebuilding. Enabled runs emit JDK Flight Recorder events
+// (com.rts.SimulationRun, com.rts.DeadlineMiss, com.rts.PreemptionBurst), which cost
+// nothing further unless a recording has them enabled, and add to the counters below.
+// The counters are striped LongAdders, so parallel sweeps do not contend on them.
+public final class SchedulerInstrumentation {
+    private static volatile boolean enabled = Boolean.getBoolean("rts.instrumentation");
+
+    private static final LongAdder runs = new LongAdder();
+    private static final LongAdder ticks = new LongAdder();
+    private static final LongAdder deadlineMisses = new LongAdder();
+    private static final LongAdder preemptions = new LongAdder();
+    private static final LongAdder busyNanos = new LongAdder();
+
+    private SchedulerInstrumentation() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        SchedulerInstrumentation.enabled = enabled;
+    }
+
+    public static long getRunCount() {
+        return runs.sum();
+    }
+
+    // Ticks simulated by instrumented runs; resumed runs count only the ticks they simulated
+    public static long getTickCount() {
+        return ticks.sum();
+    }
+
+    // Jobs that missed their deadline, late completions included
+    public static long getDeadlineMissCount() {
+        return deadlineMisses.sum();
+    }
+
+    public static long getPreemptionCount() {
+        return preemptions.sum();
+    }
+
+    // Ticks per second of engine time, summed over threads
+    public static double getTicksPerSecond() {
+        long nanos = busyNanos.sum();
+        return nanos == 0 ? 0 : ticks.sum() * 1e9 / nanos;
+    }
+
+    public static void reset() {
+        runs.reset();
+        ticks.reset();
+        deadlineMisses.reset();
+        preemptions.reset();
+        busyNanos.reset();
+    }
+
+    // Probe for one run, or null when instrumentation is off
+    static RunProbe begin(AbstractScheduler engine, int taskCount, int simulationTime) {
+        return enabled ? new RunProbe(engine.getAlgorithmName(), taskCount, simulationTime) : null;
+    }
+
+    static void count(long runTicks, long runMisses, long runPreemptions, long runNanos) {
+        runs.increment();
+        ticks.add(runTicks);
+        deadlineMisses.add(runMisses);
+        preemptions.add(runPreemptions);
+        busyNanos.add(runNanos);
+    }
+}
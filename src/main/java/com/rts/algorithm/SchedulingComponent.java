@@ -0,0 +1,87 @@
+package com.rts.algorithm;
+
+import com.rts.model.PeriodicResource;
+import com.rts.model.Task;
+import com.rts.model.TaskSet;
+import com.rts.util.CompositionalAnalyzer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Subsystem of a hierarchical system: its own task set, dispatched by its own local engine
+// inside a periodic-resource partition of the CPU. Local engines must be fixed-priority or
+// EDF for the analysis; HierarchicalScheduler simulates any engine.
+public class SchedulingComponent {
+    private final String name;
+    private final List<Task> tasks;
+    private final AbstractScheduler localScheduler;
+    private final PeriodicResource resource;
+
+    public SchedulingComponent(String name, List<Task> tasks, AbstractScheduler localScheduler,
+                               PeriodicResource resource) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Component name is required");
+        }
+        if (tasks == null || tasks.isEmpty()) {
+            throw new IllegalArgumentException("A component needs at least one task");
+        }
+        if (localScheduler == null || resource == null) {
+            throw new IllegalArgumentException("Local scheduler and resource must not be null");
+        }
+        this.name = name;
+        this.tasks = Collections.unmodifiableList(new ArrayList<>(tasks));
+        this.localScheduler = localScheduler;
+        this.resource = resource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public AbstractScheduler getLocalScheduler() {
+        return localScheduler;
+    }
+
+    public PeriodicResource getResource() {
+        return resource;
+    }
+
+    // Whether the local engine meets every deadline on the component's resource
+    public boolean isSchedulable() {
+        TaskSet taskSet = new TaskSet(tasks);
+        if (localScheduler instanceof FixedPriorityScheduler) {
+            return CompositionalAnalyzer.isSchedulableFP(taskSet,
+                    ((FixedPriorityScheduler) localScheduler).getPriorityOrder(tasks), resource);
+        }
+        checkAnalyzable();
+        return CompositionalAnalyzer.isSchedulableEDF(taskSet, resource);
+    }
+
+    // Smallest budget per `period` the component needs, or -1 if a whole CPU is not enough
+    public int getMinimumBudget(int period) {
+        TaskSet taskSet = new TaskSet(tasks);
+        if (localScheduler instanceof FixedPriorityScheduler) {
+            return CompositionalAnalyzer.minimumBudgetFP(taskSet,
+                    ((FixedPriorityScheduler) localScheduler).getPriorityOrder(tasks), period);
+        }
+        checkAnalyzable();
+        return CompositionalAnalyzer.minimumBudgetEDF(taskSet, period);
+    }
+
+    private void checkAnalyzable() {
+        if (!(localScheduler instanceof EarliestDeadlineFirstScheduler)) {
+            throw new IllegalArgumentException("Supply-bound analysis covers fixed-priority and EDF components only");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SchedulingComponent{name=" + name + ", scheduler=" + localScheduler.getAlgorithmName()
+                + ", tasks=" + tasks.size() + ", resource=" + resource + '}';
+    }
+}
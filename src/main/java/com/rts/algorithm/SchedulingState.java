@@ -0,0 +1,66 @@
+package com.rts.algorithm;
+
+import com.rts.model.ExecutionTimeDistribution;
+import com.rts.model.Task;
+import com.rts.model.TaskRegistry;
+
+// Per-run job state of the tick-driven engines, indexed by registry index.
+// Task objects are only read once here, so the same task list can be simulated
+// by several engines at the same time. Periodic tasks come first; an aperiodic
+// server, if any, occupies the slots after them.
+final class SchedulingState {
+    final TaskRegistry registry;
+    // Periodic tasks released by the engine loop
+    final int taskCount;
+    // Everything a dispatcher may pick: periodic tasks plus server slots
+    final int entityCount;
+    final int[] executionTime;
+    final int[] period;
+    final int[] relativeDeadline;
+    final int[] offset;
+    final int[] releaseJitter;
+    // Per-job execution times, null where every job runs for executionTime
+    final ExecutionTimeDistribution[] executionTimes;
+
+    // Remaining work and absolute deadline of each task's current job
+    final int[] remaining;
+    final int[] absoluteDeadline;
+    // Jobs waiting for a plain lock; dispatchers treat them as not ready
+    final boolean[] blocked;
+    // Tick being simulated, set by the engine loop before the tick's releases
+    int time;
+    // Lock state, or null if no entity has critical sections. Set before the dispatcher is
+    // created, which assigns the levels the resource ceilings are taken from.
+    ResourceState resources;
+    // Level of each entity under a fixed priority order (0 is highest), or null. Set by the
+    // dispatcher; same-tick releases, and the misses they find, are handled in this order.
+    int[] priorityLevel;
+
+    SchedulingState(TaskRegistry registry) {
+        this(registry, registry.size());
+    }
+
+    SchedulingState(TaskRegistry registry, int taskCount) {
+        this.registry = registry;
+        this.taskCount = taskCount;
+        this.entityCount = registry.size();
+        this.executionTime = new int[entityCount];
+        this.period = new int[entityCount];
+        this.relativeDeadline = new int[entityCount];
+        this.offset = new int[entityCount];
+        this.releaseJitter = new int[entityCount];
+        this.executionTimes = new ExecutionTimeDistribution[entityCount];
+        for (int i = 0; i < entityCount; i++) {
+            Task task = registry.getTask(i);
+            executionTime[i] = task.getExecutionTime();
+            period[i] = task.getPeriod();
+            relativeDeadline[i] = task.getDeadline();
+            offset[i] = task.getOffset();
+            releaseJitter[i] = task.getReleaseJitter();
+            executionTimes[i] = task.getExecutionTimeDistribution();
+        }
+        this.remaining = new int[entityCount];
+        this.absoluteDeadline = relativeDeadline.clone();
+        this.blocked = new boolean[entityCount];
+    }
+}
@@ -0,0 +1,177 @@
+package com.rts.algorithm;
+
+import com.rts.model.DeadlineMiss;
+import com.rts.model.SimulationMetrics;
+import com.rts.model.Task;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Engine state at the start of one tick of a periodic run: everything the loop needs to
+// continue from there as if it had simulated the ticks before. Checkpoints are immutable;
+// restoring one hands out copies, so it can seed any number of resumed runs.
+final class SimulationCheckpoint {
+    private final int time;
+    private final int[] remaining;
+    private final int[] absoluteDeadline;
+    private final int[] arrival;
+    private final int[] releaseAt;
+    private final int[] jobCount;
+    private final boolean[] awaitingRelease;
+    private final boolean[] blocked;
+    private final int pendingOverhead;
+    private final int lastDispatched;
+    private final int lastRunning;
+    private final int nonPreemptiveLeft;
+    private final int lastSelected;
+    private final List<DeadlineMiss> deadlineMisses;
+    private final SimulationMetrics metrics;
+    private final ResourceState.Snapshot resources;
+
+    private SimulationCheckpoint(int time, int taskCount, int pendingOverhead, int lastDispatched, int lastRunning,
+                                 int nonPreemptiveLeft, int lastSelected, List<DeadlineMiss> deadlineMisses,
+                                 SimulationMetrics metrics, ResourceState.Snapshot resources) {
+        this.time = time;
+        this.remaining = new int[taskCount];
+        this.absoluteDeadline = new int[taskCount];
+        this.arrival = new int[taskCount];
+        this.releaseAt = new int[taskCount];
+        this.jobCount = new int[taskCount];
+        this.awaitingRelease = new boolean[taskCount];
+        this.blocked = new boolean[taskCount];
+        this.pendingOverhead = pendingOverhead;
+        this.lastDispatched = lastDispatched;
+        this.lastRunning = lastRunning;
+        this.nonPreemptiveLeft = nonPreemptiveLeft;
+        this.lastSelected = lastSelected;
+        this.deadlineMisses = deadlineMisses;
+        this.metrics = metrics;
+        this.resources = resources;
+    }
+
+    static SimulationCheckpoint capture(int time, SchedulingState state, int[] arrival, boolean[] awaitingRelease,
+                                        int[] jobCount, ReleaseWheel releases, int pendingOverhead,
+                                        int lastDispatched, int lastRunning, int nonPreemptiveLeft,
+                                        int lastSelected, List<DeadlineMiss> deadlineMisses,
+                                        SimulationMetrics metrics) {
+        int taskCount = state.taskCount;
+        SimulationCheckpoint checkpoint = new SimulationCheckpoint(time, taskCount, pendingOverhead, lastDispatched,
+                lastRunning, nonPreemptiveLeft, lastSelected, new ArrayList<>(deadlineMisses),
+                metrics.copy(identity(taskCount), taskCount),
+                state.resources != null ? state.resources.capture() : null);
+        System.arraycopy(state.remaining, 0, checkpoint.remaining, 0, taskCount);
+        System.arraycopy(state.absoluteDeadline, 0, checkpoint.absoluteDeadline, 0, taskCount);
+        System.arraycopy(arrival, 0, checkpoint.arrival, 0, taskCount);
+        System.arraycopy(jobCount, 0, checkpoint.jobCount, 0, taskCount);
+        System.arraycopy(awaitingRelease, 0, checkpoint.awaitingRelease, 0, taskCount);
+        System.arraycopy(state.blocked, 0, checkpoint.blocked, 0, taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            checkpoint.releaseAt[i] = releases.getReleaseTime(i);
+        }
+        return checkpoint;
+    }
+
+    // The same instant for an edited task set: task i of `before` is task indexMap[i] of
+    // `after` (or was removed). The caller guarantees that no edit has been observed by this
+    // tick, so only job parameters that were fixed at release need adjusting: remaining work
+    // by the change in execution time, the deadline and the next nominal arrival.
+    SimulationCheckpoint translate(int[] indexMap, Task[] before, List<Task> after) {
+        int taskCount = after.size();
+        List<DeadlineMiss> misses = new ArrayList<>(deadlineMisses.size());
+        for (DeadlineMiss miss : deadlineMisses) {
+            misses.add(new DeadlineMiss(indexMap[miss.getTaskIndex()], miss.getTime(), miss.isLate()));
+        }
+        SimulationCheckpoint translated = new SimulationCheckpoint(time, taskCount, pendingOverhead,
+                mapEntity(indexMap, lastDispatched), mapEntity(indexMap, lastRunning), nonPreemptiveLeft,
+                mapEntity(indexMap, lastSelected), misses,
+                metrics.copy(indexMap, taskCount),
+                resources != null ? resources.translate(indexMap, taskCount) : null);
+        for (int n = 0; n < taskCount; n++) {
+            // Tasks nothing moves to have not reached their first arrival
+            Task task = after.get(n);
+            translated.absoluteDeadline[n] = task.getDeadline();
+            translated.releaseAt[n] = task.getOffset();
+        }
+        for (int o = 0; o < indexMap.length; o++) {
+            int n = indexMap[o];
+            if (n < 0) {
+                continue;
+            }
+            Task task = after.get(n);
+            translated.remaining[n] = remaining[o] > 0
+                    ? remaining[o] + task.getExecutionTime() - before[o].getExecutionTime() : 0;
+            translated.arrival[n] = arrival[o];
+            translated.jobCount[n] = jobCount[o];
+            translated.awaitingRelease[n] = awaitingRelease[o];
+            translated.blocked[n] = blocked[o];
+            if (jobCount[o] > 0) {
+                translated.absoluteDeadline[n] = arrival[o] + task.getDeadline();
+                translated.releaseAt[n] = awaitingRelease[o] ? releaseAt[o] : arrival[o] + task.getPeriod();
+            }
+        }
+        return translated;
+    }
+
+    // Loads the job state into a run over the same task set and returns the metrics to
+    // continue with. Levels and the dispatcher must already be set up.
+    SimulationMetrics restore(SchedulingState state, int[] arrival, boolean[] awaitingRelease, int[] jobCount,
+                              ReleaseWheel releases, Dispatcher dispatcher) {
+        int taskCount = state.taskCount;
+        System.arraycopy(remaining, 0, state.remaining, 0, taskCount);
+        System.arraycopy(absoluteDeadline, 0, state.absoluteDeadline, 0, taskCount);
+        System.arraycopy(this.arrival, 0, arrival, 0, taskCount);
+        System.arraycopy(this.jobCount, 0, jobCount, 0, taskCount);
+        System.arraycopy(this.awaitingRelease, 0, awaitingRelease, 0, taskCount);
+        System.arraycopy(blocked, 0, state.blocked, 0, taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            releases.schedule(i, releaseAt[i]);
+        }
+        if (state.resources != null && resources != null) {
+            state.resources.restore(resources);
+        }
+        for (int entity = 0; entity < state.entityCount; entity++) {
+            dispatcher.update(entity);
+        }
+        return metrics.copy(identity(taskCount), taskCount);
+    }
+
+    int getTime() {
+        return time;
+    }
+
+    int getPendingOverhead() {
+        return pendingOverhead;
+    }
+
+    int getLastDispatched() {
+        return lastDispatched;
+    }
+
+    int getLastRunning() {
+        return lastRunning;
+    }
+
+    int getNonPreemptiveLeft() {
+        return nonPreemptiveLeft;
+    }
+
+    int getLastSelected() {
+        return lastSelected;
+    }
+
+    List<DeadlineMiss> getDeadlineMisses() {
+        return deadlineMisses;
+    }
+
+    private static int mapEntity(int[] indexMap, int entity) {
+        return entity >= 0 ? indexMap[entity] : entity;
+    }
+
+    static int[] identity(int count) {
+        int[] map = new int[count];
+        for (int i = 0; i < count; i++) {
+            map[i] = i;
+        }
+        return map;
+    }
+}
@@ -0,0 +1,49 @@
+package com.rts.algorithm;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("com.rts.SimulationRun")
+@Label("Simulation Run")
+@Category({"RTS", "Scheduler"})
+@Description("One schedule() or isFeasible() run of a simulation engine")
+@StackTrace(false)
+final class SimulationRunEvent extends jdk.jfr.Event {
+    @Label("Algorithm")
+    String algorithm;
+
+    @Label("Tasks")
+    int tasks;
+
+    @Label("Horizon")
+    int horizon;
+
+    @Label("Resumed At")
+    @Description("Tick an incremental run resumed from; 0 for a run from the start")
+    int resumedAt;
+
+    @Label("Ticks Simulated")
+    int ticks;
+
+    @Label("Deadline Misses")
+    int deadlineMisses;
+
+    @Label("Preemptions")
+    int preemptions;
+
+    @Label("Setup")
+    @Timespan(Timespan.NANOSECONDS)
+    long setupNanos;
+
+    @Label("Tick Loop")
+    @Timespan(Timespan.NANOSECONDS)
+    long loopNanos;
+
+    @Label("Finish")
+    @Timespan(Timespan.NANOSECONDS)
+    long finishNanos;
+}
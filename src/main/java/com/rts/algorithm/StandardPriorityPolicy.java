@@ -0,0 +1,62 @@
+package com.rts.algorithm;
+
+import com.rts.model.OverheadModel;
+import com.rts.model.PreemptionMode;
+import com.rts.model.ResourceProtocol;
+import com.rts.model.Task;
+import com.rts.model.TaskSet;
+import com.rts.model.TaskTiming;
+import com.rts.util.SchedulabilityAnalyzer;
+
+import java.util.List;
+
+// Priority orders shared with the response-time analysis in SchedulabilityAnalyzer
+public enum StandardPriorityPolicy implements PriorityPolicy {
+    // Shorter period first
+    RATE_MONOTONIC("Rate Monotonic"),
+    // Shorter deadline (less release jitter) first; optimal for preemptive constrained-deadline sets
+    DEADLINE_MONOTONIC("Deadline Monotonic"),
+    // Audsley's Optimal Priority Assignment under the engine's overhead and preemption settings.
+    // Falls back to deadline-monotonic order when no order is schedulable.
+    OPTIMAL("Optimal Priority Assignment");
+
+    private final String name;
+
+    StandardPriorityPolicy(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public int[] assignPriorities(List<Task> tasks, OverheadModel overheads, PreemptionMode mode,
+                                  int preemptionPointInterval, ResourceProtocol protocol) {
+        TaskSet taskSet = new TaskSet(tasks);
+        switch (this) {
+            case RATE_MONOTONIC:
+                return SchedulabilityAnalyzer.rateMonotonicOrder(taskSet);
+            case DEADLINE_MONOTONIC:
+                return SchedulabilityAnalyzer.deadlineMonotonicOrder(taskSet);
+            default:
+                int[] order = SchedulabilityAnalyzer.findOptimalPriorityOrder(taskSet, overheads,
+                        mode, preemptionPointInterval, protocol);
+                return order != null ? order : SchedulabilityAnalyzer.deadlineMonotonicOrder(taskSet);
+        }
+    }
+
+    // The same order for 64-bit parameters, which only the plain preemptive model covers
+    public int[] assignPriorities(List<TaskTiming> tasks) {
+        switch (this) {
+            case RATE_MONOTONIC:
+                return SchedulabilityAnalyzer.rateMonotonicOrder(tasks);
+            case DEADLINE_MONOTONIC:
+                return SchedulabilityAnalyzer.deadlineMonotonicOrder(tasks);
+            default:
+                int[] order = SchedulabilityAnalyzer.findOptimalPriorityOrder(tasks);
+                return order != null ? order : SchedulabilityAnalyzer.deadlineMonotonicOrder(tasks);
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
@@ -10,8 +10,6 @@ import javafx.scene.control.Button;
 import javafx.scene.control.ProgressBar;
 import javafx.scene.control.TextArea;
 
-import java.util.ArrayList;
-
 public class SimulationController {
     private TaskSet taskSet;
     @SuppressWarnings("unused")
@@ -35,7 +33,7 @@ public class SimulationController {
         this.logArea = logArea;
         this.taskSet = new TaskSet();
         this.scheduler = new RateMonotonicScheduler(); // or new EarliestDeadlineFirstScheduler();
-        this.scheduleResult = new ScheduleResult(new ArrayList<>(), new ArrayList<>());
+        this.scheduleResult = ScheduleResult.empty();
         this.isRunning = false;
 
         initialize();
@@ -64,7 +62,7 @@ public class SimulationController {
         isRunning = false;
         progressBar.setProgress(0);
         logArea.clear();
-        scheduleResult = new ScheduleResult(new ArrayList<>(), new ArrayList<>());
+        scheduleResult = ScheduleResult.empty();
         taskSet.clear();
     }
 
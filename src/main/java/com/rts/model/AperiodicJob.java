@@ -0,0 +1,30 @@
+package com.rts.model;
+
+public class AperiodicJob {
+    private final int arrivalTime;
+    private final int executionTime;
+
+    public AperiodicJob(int arrivalTime, int executionTime) {
+        if (arrivalTime < 0 || executionTime <= 0) {
+            throw new IllegalArgumentException("Aperiodic jobs need a non-negative arrival and positive execution time");
+        }
+        this.arrivalTime = arrivalTime;
+        this.executionTime = executionTime;
+    }
+
+    public int getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public int getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String toString() {
+        return "AperiodicJob{" +
+                "arrivalTime=" + arrivalTime +
+                ", executionTime=" + executionTime +
+                '}';
+    }
+}
@@ -0,0 +1,51 @@
+package com.rts.model;
+
+// Server that runs aperiodic jobs with a budget of `budget` units every `period` units
+// (for the Total Bandwidth Server only the bandwidth budget / period matters)
+public class AperiodicServer {
+    private final ServerPolicy policy;
+    private final int budget;
+    private final int period;
+
+    public AperiodicServer(ServerPolicy policy, int budget, int period) {
+        if (policy == null) {
+            throw new IllegalArgumentException("Server policy is required");
+        }
+        if (budget <= 0 || period <= 0 || budget > period) {
+            throw new IllegalArgumentException("Server budget must be positive and not exceed its period");
+        }
+        this.policy = policy;
+        this.budget = budget;
+        this.period = period;
+    }
+
+    public ServerPolicy getPolicy() {
+        return policy;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public double getUtilization() {
+        return (double) budget / period;
+    }
+
+    // Periodic task with the server's parameters, used to give it a timeline lane and an RM priority
+    public Task toTask() {
+        return new Task(policy.getShortName(), budget, period, period);
+    }
+
+    @Override
+    public String toString() {
+        return "AperiodicServer{" +
+                "policy=" + policy +
+                ", budget=" + budget +
+                ", period=" + period +
+                '}';
+    }
+}
@@ -0,0 +1,70 @@
+package com.rts.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Part of a job's execution during which it holds a shared resource. The lock is taken once
+// the job has executed `start` units and released `length` units later. Sections of one task
+// must not overlap, so a job holds at most one resource at a time.
+public class CriticalSection {
+    private final String resource;
+    private final int start;
+    private final int length;
+
+    public CriticalSection(String resource, int start, int length) {
+        if (resource == null || resource.isEmpty()) {
+            throw new IllegalArgumentException("Critical section needs a resource name");
+        }
+        if (start < 0 || length <= 0) {
+            throw new IllegalArgumentException("Critical section must start at 0 or later and have a positive length");
+        }
+        this.resource = resource;
+        this.start = start;
+        this.length = length;
+    }
+
+    // Parses "R1@0+2, R2@3+1" (resource@start+length, separated by commas or semicolons)
+    public static List<CriticalSection> parseList(String text) {
+        List<CriticalSection> sections = new ArrayList<>();
+        for (String part : text.split("[,;]")) {
+            String item = part.trim();
+            if (item.isEmpty()) {
+                continue;
+            }
+            int at = item.lastIndexOf('@');
+            int plus = item.lastIndexOf('+');
+            if (at <= 0 || plus < at) {
+                throw new IllegalArgumentException("Critical sections are written as resource@start+length");
+            }
+            try {
+                sections.add(new CriticalSection(item.substring(0, at).trim(),
+                        Integer.parseInt(item.substring(at + 1, plus).trim()),
+                        Integer.parseInt(item.substring(plus + 1).trim())));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Critical sections are written as resource@start+length");
+            }
+        }
+        return sections;
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    public int getEnd() {
+        return start + length;
+    }
+
+    @Override
+    public String toString() {
+        return resource + "@" + start + "+" + length;
+    }
+}
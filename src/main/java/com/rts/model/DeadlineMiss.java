@@ -0,0 +1,50 @@
+package com.rts.model;
+
+import java.io.Serializable;
+
+// A job that did not complete by its deadline. Most are found at the task's next arrival, with
+// the job still unfinished; a late one completed after its deadline (constrained deadlines), or
+// was still unfinished past it when the run ended, and is reported at that time instead.
+public class DeadlineMiss implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int taskIndex;
+    private final int time;
+    private final boolean late;
+
+    public DeadlineMiss(int taskIndex, int time) {
+        this(taskIndex, time, false);
+    }
+
+    public DeadlineMiss(int taskIndex, int time, boolean late) {
+        this.taskIndex = taskIndex;
+        this.time = time;
+        this.late = late;
+    }
+
+    public int getTaskIndex() {
+        return taskIndex;
+    }
+
+    public int getTime() {
+        return time;
+    }
+
+    public boolean isLate() {
+        return late;
+    }
+
+    public String describe(TaskRegistry registry) {
+        return String.format(late ? "Task %s was past its deadline at time %d" : "Task %s missed deadline at time %d",
+                registry.getId(taskIndex), time);
+    }
+
+    @Override
+    public String toString() {
+        return "DeadlineMiss{" +
+                "taskIndex=" + taskIndex +
+                ", time=" + time +
+                ", late=" + late +
+                '}';
+    }
+}
@@ -0,0 +1,254 @@
+package com.rts.model;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Execution time of individual jobs of a task, in whole ticks of at least 1. A task's
+// executionTime stays its worst case, which every sample must not exceed, so the analyzers
+// are unaffected. Distributions are immutable; toString() describes one completely and
+// doubles as its identity in cache keys.
+public abstract class ExecutionTimeDistribution {
+    // Draws of a truncated normal outside the bounds before it falls back to clamping
+    private static final int MAX_REJECTIONS = 64;
+
+    public abstract int sample(SplittableRandom random);
+
+    public abstract int getMin();
+
+    public abstract int getMax();
+
+    public abstract double getMean();
+
+    // Every value in [min, max] equally likely
+    public static ExecutionTimeDistribution uniform(int min, int max) {
+        checkBounds(min, max);
+        return new Uniform(min, max);
+    }
+
+    // Normal distribution restricted to [min, max] by redrawing samples outside it
+    public static ExecutionTimeDistribution truncatedNormal(double mean, double standardDeviation, int min, int max) {
+        checkBounds(min, max);
+        if (!(standardDeviation >= 0) || Double.isInfinite(standardDeviation) || Double.isNaN(mean)
+                || Double.isInfinite(mean)) {
+            throw new IllegalArgumentException("Mean must be finite and the standard deviation non-negative");
+        }
+        return new TruncatedNormal(mean, standardDeviation, min, max);
+    }
+
+    // values[k] occurs with relative frequency weights[k], e.g. a measured histogram
+    public static ExecutionTimeDistribution empirical(int[] values, long[] weights) {
+        if (values.length == 0 || values.length != weights.length) {
+            throw new IllegalArgumentException("Every value needs exactly one weight");
+        }
+        int[] sortedValues = new int[values.length];
+        long[] cumulative = new long[values.length];
+        Integer[] order = new Integer[values.length];
+        for (int k = 0; k < order.length; k++) {
+            order[k] = k;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(values[a], values[b]));
+        long total = 0;
+        for (int k = 0; k < order.length; k++) {
+            int value = values[order[k]];
+            long weight = weights[order[k]];
+            if (value < 1 || weight < 0) {
+                throw new IllegalArgumentException("Values must be positive and weights non-negative");
+            }
+            total = Math.addExact(total, weight);
+            sortedValues[k] = value;
+            cumulative[k] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+        return new Empirical(sortedValues, cumulative);
+    }
+
+    // Every observed execution time equally likely
+    public static ExecutionTimeDistribution empirical(int[] samples) {
+        long[] weights = new long[samples.length];
+        Arrays.fill(weights, 1);
+        return empirical(samples, weights);
+    }
+
+    private static void checkBounds(int min, int max) {
+        if (min < 1 || max < min) {
+            throw new IllegalArgumentException("Bounds must satisfy 1 <= min <= max");
+        }
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ExecutionTimeDistribution && other.toString().equals(toString());
+    }
+
+    @Override
+    public int hashCode() {
+        return toString().hashCode();
+    }
+
+    private static final class Uniform extends ExecutionTimeDistribution {
+        private final int min;
+        private final int max;
+
+        Uniform(int min, int max) {
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public int sample(SplittableRandom random) {
+            return random.nextInt(min, max + 1);
+        }
+
+        @Override
+        public int getMin() {
+            return min;
+        }
+
+        @Override
+        public int getMax() {
+            return max;
+        }
+
+        @Override
+        public double getMean() {
+            return (min + (double) max) / 2;
+        }
+
+        @Override
+        public String toString() {
+            return "uniform(" + min + "," + max + ")";
+        }
+    }
+
+    private static final class TruncatedNormal extends ExecutionTimeDistribution {
+        private final double mean;
+        private final double standardDeviation;
+        private final int min;
+        private final int max;
+
+        TruncatedNormal(double mean, double standardDeviation, int min, int max) {
+            this.mean = mean;
+            this.standardDeviation = standardDeviation;
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        public int sample(SplittableRandom random) {
+            long value = 0;
+            for (int attempt = 0; attempt < MAX_REJECTIONS; attempt++) {
+                value = Math.round(mean + standardDeviation * gaussian(random));
+                if (value >= min && value <= max) {
+                    return (int) value;
+                }
+            }
+            // Almost all the mass lies outside the bounds; the nearest bound is the best answer
+            return (int) Math.max(min, Math.min(max, value));
+        }
+
+        // Marsaglia's polar method; SplittableRandom has no nextGaussian() before Java 17
+        private static double gaussian(SplittableRandom random) {
+            double u;
+            double v;
+            double s;
+            do {
+                u = 2 * random.nextDouble() - 1;
+                v = 2 * random.nextDouble() - 1;
+                s = u * u + v * v;
+            } while (s >= 1 || s == 0);
+            return u * Math.sqrt(-2 * Math.log(s) / s);
+        }
+
+        @Override
+        public int getMin() {
+            return min;
+        }
+
+        @Override
+        public int getMax() {
+            return max;
+        }
+
+        // Of the untruncated normal, clamped to the bounds
+        @Override
+        public double getMean() {
+            return Math.max(min, Math.min(max, mean));
+        }
+
+        @Override
+        public String toString() {
+            return "normal(" + mean + "," + standardDeviation + "," + min + "," + max + ")";
+        }
+    }
+
+    private static final class Empirical extends ExecutionTimeDistribution {
+        private final int[] values;
+        // Running total of the weights up to and including each value
+        private final long[] cumulative;
+
+        Empirical(int[] values, long[] cumulative) {
+            this.values = values;
+            this.cumulative = cumulative;
+        }
+
+        @Override
+        public int sample(SplittableRandom random) {
+            long target = random.nextLong(cumulative[cumulative.length - 1]);
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (cumulative[mid] <= target) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return values[low];
+        }
+
+        @Override
+        public int getMin() {
+            for (int k = 0; k < values.length; k++) {
+                if (cumulative[k] > (k > 0 ? cumulative[k - 1] : 0)) {
+                    return values[k];
+                }
+            }
+            return values[0];
+        }
+
+        @Override
+        public int getMax() {
+            for (int k = values.length - 1; k > 0; k--) {
+                if (cumulative[k] > cumulative[k - 1]) {
+                    return values[k];
+                }
+            }
+            return values[0];
+        }
+
+        @Override
+        public double getMean() {
+            double sum = 0;
+            long previous = 0;
+            for (int k = 0; k < values.length; k++) {
+                sum += (double) values[k] * (cumulative[k] - previous);
+                previous = cumulative[k];
+            }
+            return sum / previous;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder description = new StringBuilder("empirical(");
+            long previous = 0;
+            for (int k = 0; k < values.length; k++) {
+                description.append(k > 0 ? "," : "").append(values[k]).append(':').append(cumulative[k] - previous);
+                previous = cumulative[k];
+            }
+            return description.append(')').toString();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.rts.model;
+
+import com.rts.util.Histogram;
+
+import java.util.List;
+
+// Summary of an event-driven run, which keeps no timeline: per-task counters and response
+// times, and totals over the whole horizon, all in 64-bit ticks.
+public class LongHorizonResult {
+    private final String[] taskIds;
+    private final long horizon;
+    private final long[] releasedJobs;
+    private final long[] completedJobs;
+    private final long[] deadlineMisses;
+    private final long[] lateJobs;
+    private final long[] preemptions;
+    private final long[] executedTime;
+    private final Histogram[] responseTimes;
+    private long busyTime;
+    private long contextSwitches;
+    private long firstMissTime = -1;
+    private long events;
+
+    // Tasks are identified by index; ids are only kept for reports
+    public LongHorizonResult(List<String> taskIds, long horizon) {
+        int taskCount = taskIds.size();
+        this.taskIds = taskIds.toArray(new String[0]);
+        this.horizon = horizon;
+        this.releasedJobs = new long[taskCount];
+        this.completedJobs = new long[taskCount];
+        this.deadlineMisses = new long[taskCount];
+        this.lateJobs = new long[taskCount];
+        this.preemptions = new long[taskCount];
+        this.executedTime = new long[taskCount];
+        this.responseTimes = new Histogram[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            responseTimes[i] = new Histogram();
+        }
+    }
+
+    public void recordRelease(int taskIndex) {
+        releasedJobs[taskIndex]++;
+    }
+
+    // Job of the task unfinished at its next arrival, at the given time
+    public void recordDeadlineMiss(int taskIndex, long time) {
+        deadlineMisses[taskIndex]++;
+        if (firstMissTime < 0) {
+            firstMissTime = time;
+        }
+    }
+
+    // Job that completed after its deadline, or was unfinished past it at the horizon
+    public void recordLateJob(int taskIndex) {
+        lateJobs[taskIndex]++;
+    }
+
+    public void recordExecution(int taskIndex, long ticks) {
+        executedTime[taskIndex] += ticks;
+        busyTime += ticks;
+    }
+
+    public void recordCompletion(int taskIndex, long responseTime) {
+        completedJobs[taskIndex]++;
+        responseTimes[taskIndex].record(responseTime);
+    }
+
+    public void recordPreemption(int taskIndex) {
+        preemptions[taskIndex]++;
+    }
+
+    public void recordContextSwitch() {
+        contextSwitches++;
+    }
+
+    // One scheduling decision; the simulation's cost grows with these rather than the horizon
+    public void recordEvent() {
+        events++;
+    }
+
+    public int getTaskCount() {
+        return taskIds.length;
+    }
+
+    public String getTaskId(int taskIndex) {
+        return taskIds[taskIndex];
+    }
+
+    public long getHorizon() {
+        return horizon;
+    }
+
+    public long getReleasedJobs(int taskIndex) {
+        return releasedJobs[taskIndex];
+    }
+
+    public long getCompletedJobs(int taskIndex) {
+        return completedJobs[taskIndex];
+    }
+
+    public long getDeadlineMisses(int taskIndex) {
+        return deadlineMisses[taskIndex];
+    }
+
+    public long getLateJobs(int taskIndex) {
+        return lateJobs[taskIndex];
+    }
+
+    // Every job that did not complete by its deadline
+    public long getMissedJobs(int taskIndex) {
+        return deadlineMisses[taskIndex] + lateJobs[taskIndex];
+    }
+
+    public long getPreemptions(int taskIndex) {
+        return preemptions[taskIndex];
+    }
+
+    public long getExecutedTime(int taskIndex) {
+        return executedTime[taskIndex];
+    }
+
+    public Histogram getResponseTimes(int taskIndex) {
+        Histogram copy = new Histogram();
+        copy.merge(responseTimes[taskIndex]);
+        return copy;
+    }
+
+    public long getWorstResponseTime(int taskIndex) {
+        return responseTimes[taskIndex].getTotalCount() > 0 ? responseTimes[taskIndex].getMax() : 0;
+    }
+
+    public long getTotalDeadlineMisses() {
+        long total = 0;
+        for (long misses : deadlineMisses) {
+            total += misses;
+        }
+        return total;
+    }
+
+    public long getTotalPreemptions() {
+        long total = 0;
+        for (long count : preemptions) {
+            total += count;
+        }
+        return total;
+    }
+
+    // Time of the first deadline miss, or -1
+    public long getFirstMissTime() {
+        return firstMissTime;
+    }
+
+    public long getBusyTime() {
+        return busyTime;
+    }
+
+    public long getIdleTime() {
+        return horizon - busyTime;
+    }
+
+    public long getContextSwitches() {
+        return contextSwitches;
+    }
+
+    public long getEventCount() {
+        return events;
+    }
+
+    public double getCpuUtilization() {
+        return horizon > 0 ? (double) busyTime / horizon : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LongHorizonResult{horizon=%d, misses=%d, preemptions=%d, contextSwitches=%d, "
+                        + "utilization=%.4f, events=%d}", horizon, getTotalDeadlineMisses(), getTotalPreemptions(),
+                contextSwitches, getCpuUtilization(), events);
+    }
+}
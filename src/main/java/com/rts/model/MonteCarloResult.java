@@ -0,0 +1,126 @@
+package com.rts.model;
+
+import com.rts.util.Histogram;
+
+import java.util.List;
+
+// Statistics merged over many randomized runs of one task set. Each instance is filled by
+// a single thread through add(); parallel runners give every thread its own and combine
+// them with merge() at the end, so no locking is needed.
+public class MonteCarloResult {
+    private final String[] taskIds;
+    private final Histogram[] responseTimes;
+    // Per run, the permille of the task's released jobs that missed their deadline
+    private final Histogram[] missPermille;
+    private final long[] releasedJobs;
+    // Jobs unfinished at their next arrival plus jobs that completed late (TaskMetrics.getMissedJobs)
+    private final long[] deadlineMisses;
+    private long runs;
+    private long runsWithMisses;
+
+    public MonteCarloResult(List<Task> tasks) {
+        int taskCount = tasks.size();
+        this.taskIds = new String[taskCount];
+        this.responseTimes = new Histogram[taskCount];
+        this.missPermille = new Histogram[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            taskIds[i] = tasks.get(i).getId();
+            responseTimes[i] = new Histogram();
+            missPermille[i] = new Histogram();
+        }
+        this.releasedJobs = new long[taskCount];
+        this.deadlineMisses = new long[taskCount];
+    }
+
+    // Adds one run of the same task list, in the same order. With deadlines shorter than
+    // periods a job can finish late before its next arrival, so late completions count too.
+    public void add(ScheduleResult result) {
+        SimulationMetrics metrics = result.getMetrics();
+        boolean missed = false;
+        for (int i = 0; i < taskIds.length; i++) {
+            TaskMetrics task = metrics.getTaskMetrics(i);
+            responseTimes[i].merge(task.getResponseTimes());
+            releasedJobs[i] += task.getReleasedJobs();
+            deadlineMisses[i] += task.getMissedJobs();
+            missPermille[i].record(task.getReleasedJobs() == 0 ? 0
+                    : 1000L * task.getMissedJobs() / task.getReleasedJobs());
+            missed |= task.getMissedJobs() > 0;
+        }
+        runs++;
+        if (missed) {
+            runsWithMisses++;
+        }
+    }
+
+    public void merge(MonteCarloResult other) {
+        if (other.taskIds.length != taskIds.length) {
+            throw new IllegalArgumentException("Cannot merge results of different task sets");
+        }
+        for (int i = 0; i < taskIds.length; i++) {
+            responseTimes[i].merge(other.responseTimes[i]);
+            missPermille[i].merge(other.missPermille[i]);
+            releasedJobs[i] += other.releasedJobs[i];
+            deadlineMisses[i] += other.deadlineMisses[i];
+        }
+        runs += other.runs;
+        runsWithMisses += other.runsWithMisses;
+    }
+
+    public int getTaskCount() {
+        return taskIds.length;
+    }
+
+    public String getTaskId(int taskIndex) {
+        return taskIds[taskIndex];
+    }
+
+    public long getRunCount() {
+        return runs;
+    }
+
+    // Response times of every completed job of the task over all runs
+    public Histogram getResponseTimes(int taskIndex) {
+        return copy(responseTimes[taskIndex]);
+    }
+
+    // Distribution over runs of the task's missed jobs per 1000 released
+    public Histogram getMissPermille(int taskIndex) {
+        return copy(missPermille[taskIndex]);
+    }
+
+    public long getReleasedJobs(int taskIndex) {
+        return releasedJobs[taskIndex];
+    }
+
+    public long getDeadlineMisses(int taskIndex) {
+        return deadlineMisses[taskIndex];
+    }
+
+    // Fraction of the task's released jobs that missed their deadline
+    public double getJobMissProbability(int taskIndex) {
+        return releasedJobs[taskIndex] == 0 ? 0 : (double) deadlineMisses[taskIndex] / releasedJobs[taskIndex];
+    }
+
+    // Fraction of runs with at least one deadline miss
+    public double getRunMissProbability() {
+        return runs == 0 ? 0 : (double) runsWithMisses / runs;
+    }
+
+    private static Histogram copy(Histogram histogram) {
+        Histogram copy = new Histogram();
+        copy.merge(histogram);
+        return copy;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder(String.format("MonteCarloResult{runs=%d, runMissProbability=%.4f",
+                runs, getRunMissProbability()));
+        for (int i = 0; i < taskIds.length; i++) {
+            text.append(String.format(", %s{p50=%d, p99=%d, max=%d, missProbability=%.4f}", taskIds[i],
+                    responseTimes[i].getValueAtPercentile(50), responseTimes[i].getValueAtPercentile(99),
+                    responseTimes[i].getMax(), getJobMissProbability(i)));
+        }
+        return text.append('}').toString();
+    }
+}
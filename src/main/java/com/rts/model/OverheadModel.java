@@ -0,0 +1,55 @@
+package com.rts.model;
+
+// Scheduler and hardware costs, in time units, that the engines charge into the timeline.
+// contextSwitchCost is paid whenever the CPU switches to a different task, releaseCost for
+// every job release (timer interrupt + queue insertion), and preemptionCost is the cache
+// reload a preempted job must redo when it resumes.
+public class OverheadModel {
+    public static final OverheadModel NONE = new OverheadModel(0, 0, 0);
+
+    private final int contextSwitchCost;
+    private final int preemptionCost;
+    private final int releaseCost;
+
+    public OverheadModel(int contextSwitchCost, int preemptionCost, int releaseCost) {
+        if (contextSwitchCost < 0 || preemptionCost < 0 || releaseCost < 0) {
+            throw new IllegalArgumentException("Overhead costs must be non-negative");
+        }
+        this.contextSwitchCost = contextSwitchCost;
+        this.preemptionCost = preemptionCost;
+        this.releaseCost = releaseCost;
+    }
+
+    public int getContextSwitchCost() {
+        return contextSwitchCost;
+    }
+
+    public int getPreemptionCost() {
+        return preemptionCost;
+    }
+
+    public int getReleaseCost() {
+        return releaseCost;
+    }
+
+    public boolean isZero() {
+        return contextSwitchCost == 0 && preemptionCost == 0 && releaseCost == 0;
+    }
+
+    // Worst-case dispatch overhead attributable to one job: the switch to it, the switch back
+    // to whatever it interrupted, and the cache reload it forces on that job. Release cost is
+    // not included because it runs at interrupt level and delays every task, not just
+    // lower-priority ones.
+    public int getPerJobOverhead() {
+        return 2 * contextSwitchCost + preemptionCost;
+    }
+
+    @Override
+    public String toString() {
+        return "OverheadModel{" +
+                "contextSwitchCost=" + contextSwitchCost +
+                ", preemptionCost=" + preemptionCost +
+                ", releaseCost=" + releaseCost +
+                '}';
+    }
+}
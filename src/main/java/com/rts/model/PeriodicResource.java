@@ -0,0 +1,52 @@
+package com.rts.model;
+
+// Periodic resource Γ(Π, Θ): a partition guaranteed `budget` units of CPU in every
+// `period`, at positions inside the period that are not known in advance. A server with
+// these parameters that idles away its budget whenever its component has nothing to run
+// provides at least supplyBound(t) units in any interval of length t.
+public class PeriodicResource {
+    private final int period;
+    private final int budget;
+
+    public PeriodicResource(int period, int budget) {
+        if (period <= 0 || budget <= 0 || budget > period) {
+            throw new IllegalArgumentException("Budget must be positive and not exceed the period");
+        }
+        this.period = period;
+        this.budget = budget;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public double getBandwidth() {
+        return (double) budget / period;
+    }
+
+    // Supply bound function (Shin & Lee). In the worst case the budget comes at the start of
+    // one period and the end of the next, leaving a gap of 2 (Π - Θ) without supply; after
+    // that every further period adds Θ.
+    public long supplyBound(long interval) {
+        long gap = period - budget;
+        if (interval <= gap) {
+            return 0;
+        }
+        long periods = (interval - gap) / period;
+        return periods * budget + Math.max(0, interval - 2 * gap - periods * period);
+    }
+
+    // Periodic task with the server's parameters, as the global scheduler sees it
+    public Task toTask(String id) {
+        return new Task(id, budget, period, period);
+    }
+
+    @Override
+    public String toString() {
+        return "PeriodicResource{period=" + period + ", budget=" + budget + '}';
+    }
+}
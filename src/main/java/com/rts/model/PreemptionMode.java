@@ -0,0 +1,35 @@
+package com.rts.model;
+
+// How often a running job may be preempted. DEFERRED places a fixed preemption point
+// after every `interval` units a job executes; between points the job keeps the CPU.
+public enum PreemptionMode {
+    PREEMPTIVE,
+    NON_PREEMPTIVE,
+    DEFERRED;
+
+    // Units a job runs between preemption points
+    public int getChunkLength(int interval) {
+        switch (this) {
+            case NON_PREEMPTIVE:
+                return Integer.MAX_VALUE;
+            case DEFERRED:
+                return interval;
+            default:
+                return 1;
+        }
+    }
+
+    // Longest non-preemptive chunk of a job with the given execution time
+    public int getMaxChunk(int executionTime, int interval) {
+        return Math.min(executionTime, getChunkLength(interval));
+    }
+
+    // Length of the final non-preemptive chunk of a job with the given execution time
+    public int getLastChunk(int executionTime, int interval) {
+        int chunk = getChunkLength(interval);
+        if (chunk >= executionTime) {
+            return executionTime;
+        }
+        return executionTime - ((executionTime - 1) / chunk) * chunk;
+    }
+}
@@ -0,0 +1,16 @@
+package com.rts.model;
+
+// How the engines arbitrate the shared resources of critical sections
+public enum ResourceProtocol {
+    // Plain locks: a blocked job waits at its own priority, so medium-priority work can
+    // delay it without bound
+    NONE,
+    // The lock holder runs at the highest priority of the jobs it blocks (fixed priority)
+    PRIORITY_INHERITANCE,
+    // A lock is granted only above the ceilings of all resources locked by other jobs, so a
+    // job is blocked at most once, by one critical section (fixed priority)
+    PRIORITY_CEILING,
+    // A job may only start once its preemption level is above the system ceiling; once
+    // started it never blocks (EDF, preemption levels ordered by relative deadline)
+    STACK_RESOURCE_POLICY
+}
@@ -1,37 +1,91 @@
 package com.rts.model;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class ScheduleResult {
+    private final TaskRegistry registry;
+    private final int[] timeline;
+    private final List<DeadlineMiss> deadlineMisses;
+    private final SimulationMetrics metrics;
+
+    // String views are resolved lazily, only when the UI asks for them
     private List<String> executionTimeline;
     private List<String> missedDeadlines;
+    private TimelineIndex timelineIndex;
 
-    public ScheduleResult(List<String> executionTimeline, List<String> missedDeadlines) {
-        this.executionTimeline = executionTimeline;
-        this.missedDeadlines = missedDeadlines;
+    public ScheduleResult(TaskRegistry registry, int[] timeline, List<DeadlineMiss> deadlineMisses,
+                          SimulationMetrics metrics) {
+        this.registry = registry;
+        this.timeline = timeline;
+        this.deadlineMisses = deadlineMisses;
+        this.metrics = metrics;
     }
 
-    public List<String> getExecutionTimeline() {
-        return executionTimeline;
+    public static ScheduleResult empty() {
+        return new ScheduleResult(new TaskRegistry(Collections.emptyList()), new int[0], new ArrayList<>(),
+                new SimulationMetrics(0));
     }
 
-    public void setExecutionTimeline(List<String> executionTimeline) {
-        this.executionTimeline = executionTimeline;
+    public TaskRegistry getRegistry() {
+        return registry;
     }
 
-    public List<String> getMissedDeadlines() {
-        return missedDeadlines;
+    public int getTimelineLength() {
+        return timeline.length;
     }
 
-    public void setMissedDeadlines(List<String> missedDeadlines) {
-        this.missedDeadlines = missedDeadlines;
+    // Task index running at the given tick, TaskRegistry.IDLE or TaskRegistry.OVERHEAD
+    public int getTaskIndexAt(int time) {
+        return timeline[time];
+    }
+
+    // Every job that missed its deadline, in time order; per task these add up to
+    // TaskMetrics.getMissedJobs
+    public List<DeadlineMiss> getDeadlineMisses() {
+        return deadlineMisses;
+    }
+
+    public SimulationMetrics getMetrics() {
+        return metrics;
+    }
+
+    // Segment and interval queries over the timeline, built on first use
+    public synchronized TimelineIndex getTimelineIndex() {
+        if (timelineIndex == null) {
+            timelineIndex = new TimelineIndex(timeline, registry.size(), deadlineMisses);
+        }
+        return timelineIndex;
+    }
+
+    public List<String> getExecutionTimeline() {
+        if (executionTimeline == null) {
+            List<String> ids = new ArrayList<>(timeline.length);
+            for (int taskIndex : timeline) {
+                ids.add(registry.getId(taskIndex));
+            }
+            executionTimeline = ids;
+        }
+        return executionTimeline;
+    }
+
+    public List<String> getMissedDeadlines() {
+        if (missedDeadlines == null) {
+            List<String> messages = new ArrayList<>(deadlineMisses.size());
+            for (DeadlineMiss miss : deadlineMisses) {
+                messages.add(miss.describe(registry));
+            }
+            missedDeadlines = messages;
+        }
+        return missedDeadlines;
     }
 
     @Override
     public String toString() {
         return "ScheduleResult{" +
-                "executionTimeline=" + executionTimeline +
-                ", missedDeadlines=" + missedDeadlines +
+                "executionTimeline=" + getExecutionTimeline() +
+                ", missedDeadlines=" + getMissedDeadlines() +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.rts.model;
+
+// Budget rules for serving aperiodic jobs next to the periodic task set
+public enum ServerPolicy {
+    // Full budget at each period start, dropped if no job is waiting (RM)
+    POLLING("PS"),
+    // Full budget at each period start, kept until used within the period (RM)
+    DEFERRABLE("DS"),
+    // Consumed budget comes back one period after the server became active (RM)
+    SPORADIC("SS"),
+    // Each job gets deadline max(arrival, previous deadline) + C / Us (EDF)
+    TOTAL_BANDWIDTH("TBS");
+
+    private final String shortName;
+
+    ServerPolicy(String shortName) {
+        this.shortName = shortName;
+    }
+
+    public String getShortName() {
+        return shortName;
+    }
+
+    public boolean isFixedPriority() {
+        return this != TOTAL_BANDWIDTH;
+    }
+}
@@ -0,0 +1,226 @@
+package com.rts.model;
+
+import com.rts.util.Histogram;
+
+import java.io.Serializable;
+
+// Online statistics for one simulation run. The engines feed it events as they
+// happen, so memory stays constant in the simulation length.
+public class SimulationMetrics implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_UTILIZATION_WINDOW = 10;
+
+    private final TaskMetrics[] taskMetrics;
+    private final int[] currentRelease;
+    private final boolean[] started;
+
+    private final int utilizationWindow;
+    private int aperiodicServerIndex = -1;
+    private final Histogram windowUtilization = new Histogram();
+    private int windowBusy;
+    private int windowLength;
+    private double minWindowUtilization = Double.MAX_VALUE;
+    private double maxWindowUtilization = 0.0;
+
+    private int contextSwitches;
+    private int preemptions;
+    private int busyTime;
+    private int idleTime;
+    private int overheadTime;
+
+    public SimulationMetrics(int taskCount) {
+        this(taskCount, DEFAULT_UTILIZATION_WINDOW);
+    }
+
+    public SimulationMetrics(int taskCount, int utilizationWindow) {
+        if (utilizationWindow <= 0) {
+            throw new IllegalArgumentException("Utilization window must be positive");
+        }
+        this.taskMetrics = new TaskMetrics[taskCount];
+        for (int i = 0; i < taskCount; i++) {
+            taskMetrics[i] = new TaskMetrics();
+        }
+        this.currentRelease = new int[taskCount];
+        this.started = new boolean[taskCount];
+        this.utilizationWindow = utilizationWindow;
+    }
+
+    public void recordRelease(int taskIndex, int time) {
+        currentRelease[taskIndex] = time;
+        started[taskIndex] = false;
+        taskMetrics[taskIndex].recordRelease();
+    }
+
+    public void recordDeadlineMiss(int taskIndex) {
+        taskMetrics[taskIndex].recordDeadlineMiss();
+    }
+
+    // Called for a job that completed after its deadline, or is still unfinished past it at
+    // the end of the run
+    public void recordLateJob(int taskIndex) {
+        taskMetrics[taskIndex].recordLateJob();
+    }
+
+    // Called once per tick with the task that ran in [time, time + 1), IDLE or OVERHEAD
+    public void recordTick(int taskIndex, int time) {
+        if (taskIndex == TaskRegistry.IDLE) {
+            idleTime++;
+        } else if (taskIndex == TaskRegistry.OVERHEAD) {
+            overheadTime++;
+            windowBusy++;
+        } else {
+            busyTime++;
+            windowBusy++;
+            if (!started[taskIndex]) {
+                started[taskIndex] = true;
+                taskMetrics[taskIndex].recordStart(time - currentRelease[taskIndex]);
+            }
+            taskMetrics[taskIndex].recordExecution();
+        }
+
+        if (++windowLength == utilizationWindow) {
+            closeWindow();
+        }
+    }
+
+    // Called by the engine when an unfinished job loses the CPU to another task
+    public void recordPreemption(int taskIndex) {
+        preemptions++;
+        taskMetrics[taskIndex].recordPreemption();
+    }
+
+    // Called by the engine when the CPU switches to a task other than the last one it ran
+    public void recordContextSwitch() {
+        contextSwitches++;
+    }
+
+    // Called when the running job finishes its last unit at the end of tick `time - 1`
+    public void recordCompletion(int taskIndex, int time) {
+        taskMetrics[taskIndex].recordCompletion(time - currentRelease[taskIndex]);
+    }
+
+    // Flushes a trailing partial utilization window
+    public void finish() {
+        if (windowLength > 0) {
+            closeWindow();
+        }
+    }
+
+    private void closeWindow() {
+        double utilization = (double) windowBusy / windowLength;
+        minWindowUtilization = Math.min(minWindowUtilization, utilization);
+        maxWindowUtilization = Math.max(maxWindowUtilization, utilization);
+        windowUtilization.record(Math.round(utilization * 100));
+        windowBusy = 0;
+        windowLength = 0;
+    }
+
+    // Copy for resuming a run over an edited task set: the statistics of task i move to slot
+    // indexMap[i], or are dropped if that is negative, and slots nothing moves to start empty
+    public SimulationMetrics copy(int[] indexMap, int taskCount) {
+        SimulationMetrics copy = new SimulationMetrics(taskCount, utilizationWindow);
+        for (int i = 0; i < indexMap.length; i++) {
+            int target = indexMap[i];
+            if (target >= 0) {
+                copy.taskMetrics[target] = taskMetrics[i].copy();
+                copy.currentRelease[target] = currentRelease[i];
+                copy.started[target] = started[i];
+            }
+        }
+        copy.windowUtilization.merge(windowUtilization);
+        copy.windowBusy = windowBusy;
+        copy.windowLength = windowLength;
+        copy.minWindowUtilization = minWindowUtilization;
+        copy.maxWindowUtilization = maxWindowUtilization;
+        copy.contextSwitches = contextSwitches;
+        copy.preemptions = preemptions;
+        copy.busyTime = busyTime;
+        copy.idleTime = idleTime;
+        copy.overheadTime = overheadTime;
+        return copy;
+    }
+
+    public TaskMetrics getTaskMetrics(int taskIndex) {
+        return taskMetrics[taskIndex];
+    }
+
+    // Marks the entity slot of an aperiodic server; each aperiodic job it serves is
+    // recorded there as one job, measured from its arrival
+    public void setAperiodicServerIndex(int aperiodicServerIndex) {
+        this.aperiodicServerIndex = aperiodicServerIndex;
+    }
+
+    // Response times, jitter and preemptions of the aperiodic jobs, or null without a server
+    public TaskMetrics getAperiodicMetrics() {
+        return aperiodicServerIndex >= 0 ? taskMetrics[aperiodicServerIndex] : null;
+    }
+
+    public int getTaskCount() {
+        return taskMetrics.length;
+    }
+
+    // Jobs of every entity that did not complete by their deadline (TaskMetrics.getMissedJobs)
+    public int getMissedJobs() {
+        int missed = 0;
+        for (TaskMetrics metrics : taskMetrics) {
+            missed += metrics.getMissedJobs();
+        }
+        return missed;
+    }
+
+    public int getContextSwitches() {
+        return contextSwitches;
+    }
+
+    public int getPreemptions() {
+        return preemptions;
+    }
+
+    public int getBusyTime() {
+        return busyTime;
+    }
+
+    public int getIdleTime() {
+        return idleTime;
+    }
+
+    public int getOverheadTime() {
+        return overheadTime;
+    }
+
+    // Fraction of time spent executing task work; overhead ticks count as lost capacity
+    public double getCpuUtilization() {
+        int total = busyTime + idleTime + overheadTime;
+        return total == 0 ? 0.0 : (double) busyTime / total;
+    }
+
+    public int getUtilizationWindow() {
+        return utilizationWindow;
+    }
+
+    public double getMinWindowUtilization() {
+        return minWindowUtilization == Double.MAX_VALUE ? 0.0 : minWindowUtilization;
+    }
+
+    public double getMaxWindowUtilization() {
+        return maxWindowUtilization;
+    }
+
+    // Distribution of per-window utilization, in percent
+    public Histogram getWindowUtilization() {
+        return windowUtilization;
+    }
+
+    @Override
+    public String toString() {
+        return "SimulationMetrics{" +
+                "contextSwitches=" + contextSwitches +
+                ", preemptions=" + preemptions +
+                ", busyTime=" + busyTime +
+                ", idleTime=" + idleTime +
+                ", overheadTime=" + overheadTime +
+                ", utilization=" + String.format("%.3f", getCpuUtilization()) +
+                '}';
+    }
+}
@@ -1,20 +1,43 @@
 package com.rts.model;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 public class Task {
     private String id;
     private int executionTime;
     private int period;
     private int deadline;
+    // Release of the first job, and how late after its nominal arrival a job may be released
+    private int offset;
+    private int releaseJitter;
+    // Shared resources each job locks, in execution order
+    private List<CriticalSection> criticalSections = Collections.emptyList();
+    // Execution time of individual jobs, or null if every job runs for executionTime
+    private ExecutionTimeDistribution executionTimeDistribution;
     private int remainingTime;
     private int nextReleaseTime;
 
     public Task(String id, int executionTime, int period, int deadline) {
+        this(id, executionTime, period, deadline, 0, 0);
+    }
+
+    public Task(String id, int executionTime, int period, int deadline, int offset, int releaseJitter) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (releaseJitter < 0 || (releaseJitter > 0 && releaseJitter >= period)) {
+            throw new IllegalArgumentException("Release jitter must be between 0 and period - 1");
+        }
         this.id = id;
         this.executionTime = executionTime;
         this.period = period;
         this.deadline = deadline;
+        this.offset = offset;
+        this.releaseJitter = releaseJitter;
         this.remainingTime = executionTime;
-        this.nextReleaseTime = 0;
+        this.nextReleaseTime = offset;
     }
 
     public String getId() {
@@ -33,6 +56,57 @@ public class Task {
         return deadline;
     }
 
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getReleaseJitter() {
+        return releaseJitter;
+    }
+
+    public List<CriticalSection> getCriticalSections() {
+        return criticalSections;
+    }
+
+    // Sections must lie within the execution time and must not overlap
+    public void setCriticalSections(List<CriticalSection> criticalSections) {
+        if (executionTimeDistribution != null && !criticalSections.isEmpty()) {
+            throw new IllegalArgumentException("Tasks with an execution-time distribution cannot lock resources");
+        }
+        List<CriticalSection> sorted = new ArrayList<>(criticalSections);
+        sorted.sort((a, b) -> Integer.compare(a.getStart(), b.getStart()));
+        int end = 0;
+        for (CriticalSection section : sorted) {
+            if (section.getStart() < end) {
+                throw new IllegalArgumentException("Critical sections of a task must not overlap");
+            }
+            end = section.getEnd();
+        }
+        if (end > executionTime) {
+            throw new IllegalArgumentException("Critical sections must end within the execution time");
+        }
+        this.criticalSections = Collections.unmodifiableList(sorted);
+    }
+
+    public ExecutionTimeDistribution getExecutionTimeDistribution() {
+        return executionTimeDistribution;
+    }
+
+    // Jobs draw their execution time from the distribution, which must stay within the worst
+    // case executionTime; null makes every job run for executionTime again. Critical sections
+    // sit at fixed points of the worst case, so a task cannot have both.
+    public void setExecutionTimeDistribution(ExecutionTimeDistribution executionTimeDistribution) {
+        if (executionTimeDistribution != null) {
+            if (executionTimeDistribution.getMax() > executionTime) {
+                throw new IllegalArgumentException("Execution times must not exceed the worst case " + executionTime);
+            }
+            if (!criticalSections.isEmpty()) {
+                throw new IllegalArgumentException("Tasks with critical sections cannot vary their execution time");
+            }
+        }
+        this.executionTimeDistribution = executionTimeDistribution;
+    }
+
     public int getRemainingTime() {
         return remainingTime;
     }
@@ -51,7 +125,7 @@ public class Task {
     
     public void reset() {
         this.remainingTime = executionTime;
-        this.nextReleaseTime = 0;
+        this.nextReleaseTime = offset;
     }
     
     public double getUtilization() {
@@ -65,6 +139,10 @@ public class Task {
                 ", executionTime=" + executionTime +
                 ", period=" + period +
                 ", deadline=" + deadline +
+                ", offset=" + offset +
+                ", releaseJitter=" + releaseJitter +
+                ", criticalSections=" + criticalSections +
+                (executionTimeDistribution != null ? ", executionTimes=" + executionTimeDistribution : "") +
                 ", remainingTime=" + remainingTime +
                 ", nextReleaseTime=" + nextReleaseTime +
                 '}';
@@ -0,0 +1,137 @@
+package com.rts.model;
+
+import com.rts.util.Histogram;
+
+import java.io.Serializable;
+
+// Per-task statistics accumulated online while a schedule is simulated
+public class TaskMetrics implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Histogram responseTimes = new Histogram();
+    private int releasedJobs;
+    private int completedJobs;
+    private int deadlineMisses;
+    private int lateJobs;
+    private int preemptions;
+    private int executedTime;
+    private int minStartLatency = Integer.MAX_VALUE;
+    private int maxStartLatency = Integer.MIN_VALUE;
+
+    void recordRelease() {
+        releasedJobs++;
+    }
+
+    void recordStart(int startLatency) {
+        minStartLatency = Math.min(minStartLatency, startLatency);
+        maxStartLatency = Math.max(maxStartLatency, startLatency);
+    }
+
+    void recordExecution() {
+        executedTime++;
+    }
+
+    void recordCompletion(int responseTime) {
+        completedJobs++;
+        responseTimes.record(responseTime);
+    }
+
+    void recordPreemption() {
+        preemptions++;
+    }
+
+    void recordDeadlineMiss() {
+        deadlineMisses++;
+    }
+
+    void recordLateJob() {
+        lateJobs++;
+    }
+
+    TaskMetrics copy() {
+        TaskMetrics copy = new TaskMetrics();
+        copy.responseTimes.merge(responseTimes);
+        copy.releasedJobs = releasedJobs;
+        copy.completedJobs = completedJobs;
+        copy.deadlineMisses = deadlineMisses;
+        copy.lateJobs = lateJobs;
+        copy.preemptions = preemptions;
+        copy.executedTime = executedTime;
+        copy.minStartLatency = minStartLatency;
+        copy.maxStartLatency = maxStartLatency;
+        return copy;
+    }
+
+    public int getReleasedJobs() {
+        return releasedJobs;
+    }
+
+    public int getCompletedJobs() {
+        return completedJobs;
+    }
+
+    // Jobs still unfinished when the next job of the task arrived
+    public int getDeadlineMisses() {
+        return deadlineMisses;
+    }
+
+    // Jobs that completed after their absolute deadline, or were unfinished past it when the
+    // run ended. With deadlines shorter than periods these are not caught at the next arrival.
+    public int getLateJobs() {
+        return lateJobs;
+    }
+
+    // Every job that did not complete by its deadline
+    public int getMissedJobs() {
+        return deadlineMisses + lateJobs;
+    }
+
+    public int getPreemptions() {
+        return preemptions;
+    }
+
+    public int getExecutedTime() {
+        return executedTime;
+    }
+
+    public Histogram getResponseTimes() {
+        return responseTimes;
+    }
+
+    public long getWorstResponseTime() {
+        return responseTimes.getMax();
+    }
+
+    public double getAverageResponseTime() {
+        return responseTimes.getMean();
+    }
+
+    public long getResponseTimePercentile(double percentile) {
+        return responseTimes.getValueAtPercentile(percentile);
+    }
+
+    // Variation in how long jobs wait after release before they first run
+    public int getStartJitter() {
+        return minStartLatency == Integer.MAX_VALUE ? 0 : maxStartLatency - minStartLatency;
+    }
+
+    // Variation in job completion relative to release (max - min response time)
+    public long getFinishJitter() {
+        return responseTimes.getMax() - responseTimes.getMin();
+    }
+
+    @Override
+    public String toString() {
+        return "TaskMetrics{" +
+                "released=" + releasedJobs +
+                ", completed=" + completedJobs +
+                ", misses=" + deadlineMisses +
+                ", late=" + lateJobs +
+                ", preemptions=" + preemptions +
+                ", worstResponse=" + getWorstResponseTime() +
+                ", avgResponse=" + String.format("%.2f", getAverageResponseTime()) +
+                ", startJitter=" + getStartJitter() +
+                ", finishJitter=" + getFinishJitter() +
+                '}';
+    }
+}
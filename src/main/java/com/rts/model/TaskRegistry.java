@@ -0,0 +1,50 @@
+package com.rts.model;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Assigns dense int indices to tasks so the scheduling hot paths never touch ids.
+// Strings are only resolved through getId() at the UI/report edge.
+public class TaskRegistry {
+    public static final int IDLE = -1;
+    public static final String IDLE_ID = "IDLE";
+    // Timeline marker for ticks spent on scheduling overhead (see OverheadModel)
+    public static final int OVERHEAD = -2;
+    public static final String OVERHEAD_ID = "OVERHEAD";
+
+    private final Task[] tasks;
+    private final String[] ids;
+    private final Map<String, Integer> indexById;
+
+    public TaskRegistry(List<Task> tasks) {
+        this.tasks = tasks.toArray(new Task[0]);
+        this.ids = new String[this.tasks.length];
+        this.indexById = new HashMap<>();
+        for (int i = 0; i < this.tasks.length; i++) {
+            ids[i] = this.tasks[i].getId();
+            indexById.putIfAbsent(ids[i], i);
+        }
+    }
+
+    public int size() {
+        return tasks.length;
+    }
+
+    public Task getTask(int index) {
+        return tasks[index];
+    }
+
+    public String getId(int index) {
+        if (index == IDLE) {
+            return IDLE_ID;
+        }
+        return index == OVERHEAD ? OVERHEAD_ID : ids[index];
+    }
+
+    // Returns the task index for the given id, or -1 if it is not registered
+    public int indexOf(String id) {
+        Integer index = indexById.get(id);
+        return index != null ? index : -1;
+    }
+}
@@ -5,30 +5,43 @@ import java.util.List;
 
 public class TaskSet {
     private List<Task> tasks;
+    private TaskRegistry registry;
 
     public TaskSet() {
         this.tasks = new ArrayList<>();
     }
 
+    public TaskSet(List<Task> tasks) {
+        this.tasks = new ArrayList<>(tasks);
+        this.registry = new TaskRegistry(this.tasks);
+    }
+
     public void addTask(Task task) {
         tasks.add(task);
+        registry = null;
     }
 
     public void removeTask(Task task) {
-        tasks.remove(task);
+        if (tasks.remove(task)) {
+            registry = null;
+        }
     }
 
     public List<Task> getTasks() {
         return tasks;
     }
 
-    public Task getTaskById(String id) {
-        for (Task task : tasks) {
-            if (task.getId().equals(id)) {
-                return task;
-            }
+    // Dense task indices, rebuilt lazily after the set is modified
+    public TaskRegistry getRegistry() {
+        if (registry == null) {
+            registry = new TaskRegistry(tasks);
         }
-        return null;
+        return registry;
+    }
+
+    public Task getTaskById(String id) {
+        int index = getRegistry().indexOf(id);
+        return index >= 0 ? tasks.get(index) : null;
     }
 
     public int size() {
@@ -48,5 +61,6 @@ public class TaskSet {
 
     public void clear() {
         tasks.clear();
+        registry = null;
     }
-}
\ No newline at end of file
+}
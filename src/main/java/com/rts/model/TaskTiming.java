@@ -0,0 +1,65 @@
+package com.rts.model;
+
+// Task parameters in some unit of time (see TimeBase), as 64-bit values. Task holds whole
+// ticks as int; a TimeBase converts between the two. EventDrivenSimulator.runTimings() and
+// the SchedulabilityAnalyzer tests for TaskTiming take these values without conversion.
+public class TaskTiming {
+    private final String id;
+    private final long executionTime;
+    private final long period;
+    private final long deadline;
+    private final long offset;
+    private final long releaseJitter;
+
+    public TaskTiming(String id, long executionTime, long period, long deadline) {
+        this(id, executionTime, period, deadline, 0, 0);
+    }
+
+    public TaskTiming(String id, long executionTime, long period, long deadline, long offset, long releaseJitter) {
+        if (executionTime <= 0 || period <= 0 || deadline <= 0) {
+            throw new IllegalArgumentException("Execution time, period and deadline must be positive");
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (releaseJitter < 0 || (releaseJitter > 0 && releaseJitter >= period)) {
+            throw new IllegalArgumentException("Release jitter must be between 0 and period - 1");
+        }
+        this.id = id;
+        this.executionTime = executionTime;
+        this.period = period;
+        this.deadline = deadline;
+        this.offset = offset;
+        this.releaseJitter = releaseJitter;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    public long getPeriod() {
+        return period;
+    }
+
+    public long getDeadline() {
+        return deadline;
+    }
+
+    public long getOffset() {
+        return offset;
+    }
+
+    public long getReleaseJitter() {
+        return releaseJitter;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s(C=%d, T=%d, D=%d, O=%d, J=%d)", id, executionTime, period, deadline, offset,
+                releaseJitter);
+    }
+}
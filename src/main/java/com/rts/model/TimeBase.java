@@ -0,0 +1,104 @@
+package com.rts.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Length of one simulation tick as a number of units of time. The tick engines keep
+// per-tick state in arrays and work in whole int ticks; parameters given in finer units
+// (µs, ns) are converted here. fit() picks the largest tick that divides every parameter,
+// so the conversion is exact and the tick counts stay as small as possible. With a tick
+// chosen by hand, values that are not a whole number of ticks are rounded the pessimistic
+// way: execution times and jitter up, periods and deadlines down. Sets that do not fit in
+// int ticks go to EventDrivenSimulator.runTimings() and the TaskTiming analyses as they are.
+public class TimeBase {
+    private final TimeUnit unit;
+    private final long tickLength;
+
+    public TimeBase(TimeUnit unit, long tickLength) {
+        if (unit == null) {
+            throw new IllegalArgumentException("Time unit must not be null");
+        }
+        if (tickLength <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive");
+        }
+        this.unit = unit;
+        this.tickLength = tickLength;
+    }
+
+    // Largest tick (in `unit`) that divides every parameter of every task
+    public static TimeBase fit(List<TaskTiming> tasks, TimeUnit unit) {
+        long gcd = 0;
+        for (TaskTiming task : tasks) {
+            gcd = gcd(gcd, task.getExecutionTime());
+            gcd = gcd(gcd, task.getPeriod());
+            gcd = gcd(gcd, task.getDeadline());
+            gcd = gcd(gcd, task.getOffset());
+            gcd = gcd(gcd, task.getReleaseJitter());
+        }
+        return new TimeBase(unit, gcd > 0 ? gcd : 1);
+    }
+
+    public TimeUnit getUnit() {
+        return unit;
+    }
+
+    // Units per tick
+    public long getTickLength() {
+        return tickLength;
+    }
+
+    public long getTickNanos() {
+        return Math.multiplyExact(unit.toNanos(1), tickLength);
+    }
+
+    // Whole ticks in the given duration, rounded down; for horizons
+    public long toTicks(long duration) {
+        return Math.floorDiv(duration, tickLength);
+    }
+
+    public long toDuration(long ticks) {
+        return Math.multiplyExact(ticks, tickLength);
+    }
+
+    // Tasks in ticks of this base, in the same order. Throws IllegalArgumentException when
+    // a period or deadline is shorter than one tick, or a value needs more ticks than an int holds.
+    public List<Task> toTasks(List<TaskTiming> timings) {
+        List<Task> tasks = new ArrayList<>(timings.size());
+        for (TaskTiming timing : timings) {
+            int period = ticks(timing, timing.getPeriod(), false);
+            int deadline = ticks(timing, timing.getDeadline(), false);
+            if (period == 0 || deadline == 0) {
+                throw new IllegalArgumentException(timing.getId() + " has a period or deadline shorter than one tick");
+            }
+            // Task rejects jitter that rounding pushed up to the period
+            tasks.add(new Task(timing.getId(), ticks(timing, timing.getExecutionTime(), true), period, deadline,
+                    ticks(timing, timing.getOffset(), false), ticks(timing, timing.getReleaseJitter(), true)));
+        }
+        return tasks;
+    }
+
+    private int ticks(TaskTiming timing, long duration, boolean roundUp) {
+        long ticks = roundUp ? -Math.floorDiv(-duration, tickLength) : Math.floorDiv(duration, tickLength);
+        if (ticks > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(timing.getId() + " needs " + ticks + " ticks of " + tickLength + " "
+                    + unit.name().toLowerCase() + ", more than the tick engines support; use a longer tick or "
+                    + "the 64-bit event-driven engine");
+        }
+        return (int) ticks;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long r = a % b;
+            a = b;
+            b = r;
+        }
+        return a;
+    }
+
+    @Override
+    public String toString() {
+        return tickLength + " " + unit.name().toLowerCase() + " per tick";
+    }
+}
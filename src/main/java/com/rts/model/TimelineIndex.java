@@ -0,0 +1,153 @@
+package com.rts.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Read-only index over a result's timeline for hover hit-testing and reports. The
+// timeline is cut into segments of consecutive ticks of one entity; segmentAt() finds
+// the segment around a tick by binary search over their start ticks. Execution over an
+// interval comes from per-entity prefix sums, built the first time an entity is asked
+// about, so every interval query after that is O(1).
+//
+// Entities are registry indices, TaskRegistry.IDLE or TaskRegistry.OVERHEAD.
+public class TimelineIndex {
+    // Prefix-sum slots are shifted so OVERHEAD and IDLE get slots 0 and 1
+    private static final int SLOT_OFFSET = 2;
+
+    private final int[] timeline;
+    private final int[] segmentStart;
+    private final int[] segmentEntity;
+    private final int[][] executedBefore;
+    private final List<DeadlineMiss> misses;
+    private final int[] missTimes;
+
+    public TimelineIndex(int[] timeline, int entityCount, List<DeadlineMiss> deadlineMisses) {
+        this.timeline = timeline;
+        int segments = 0;
+        for (int time = 0; time < timeline.length; time++) {
+            if (time == 0 || timeline[time] != timeline[time - 1]) {
+                segments++;
+            }
+        }
+        this.segmentStart = new int[segments];
+        this.segmentEntity = new int[segments];
+        int segment = 0;
+        for (int time = 0; time < timeline.length; time++) {
+            if (time == 0 || timeline[time] != timeline[time - 1]) {
+                segmentStart[segment] = time;
+                segmentEntity[segment] = timeline[time];
+                segment++;
+            }
+        }
+        this.executedBefore = new int[entityCount + SLOT_OFFSET][];
+
+        // Misses are recorded in time order by the engine; sorting keeps the index
+        // correct for results assembled elsewhere
+        List<DeadlineMiss> sorted = new ArrayList<>(deadlineMisses);
+        sorted.sort((a, b) -> Integer.compare(a.getTime(), b.getTime()));
+        this.misses = Collections.unmodifiableList(sorted);
+        this.missTimes = new int[sorted.size()];
+        for (int m = 0; m < missTimes.length; m++) {
+            missTimes[m] = sorted.get(m).getTime();
+        }
+    }
+
+    public int getLength() {
+        return timeline.length;
+    }
+
+    public int getSegmentCount() {
+        return segmentStart.length;
+    }
+
+    // Segment containing the given tick
+    public int segmentAt(int time) {
+        checkTime(time);
+        int segment = Arrays.binarySearch(segmentStart, time);
+        return segment >= 0 ? segment : -segment - 2;
+    }
+
+    public int getSegmentStart(int segment) {
+        return segmentStart[segment];
+    }
+
+    // First tick after the segment
+    public int getSegmentEnd(int segment) {
+        return segment + 1 < segmentStart.length ? segmentStart[segment + 1] : timeline.length;
+    }
+
+    public int getSegmentEntity(int segment) {
+        return segmentEntity[segment];
+    }
+
+    // Entity that ran at the given tick
+    public int entityAt(int time) {
+        return segmentEntity[segmentAt(time)];
+    }
+
+    // Ticks the entity ran in [from, to)
+    public int getExecutionTime(int entity, int from, int to) {
+        checkInterval(from, to);
+        int[] prefix = prefixSums(entity);
+        return prefix[to] - prefix[from];
+    }
+
+    // Fraction of [from, to) the entity ran for; 0 for an empty interval
+    public double getShare(int entity, int from, int to) {
+        return from == to ? 0 : (double) getExecutionTime(entity, from, to) / (to - from);
+    }
+
+    // Deadline misses recorded in [from, to), in time order; a late completion is recorded at
+    // the tick its job completed
+    public List<DeadlineMiss> getMissesBetween(int from, int to) {
+        if (from > to) {
+            throw new IllegalArgumentException("Interval start must not be after its end");
+        }
+        return misses.subList(firstMissAtOrAfter(from), firstMissAtOrAfter(to));
+    }
+
+    private int firstMissAtOrAfter(int time) {
+        int low = 0;
+        int high = missTimes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (missTimes[mid] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // Built per entity on first use
+    private synchronized int[] prefixSums(int entity) {
+        int slot = entity + SLOT_OFFSET;
+        if (slot < 0 || slot >= executedBefore.length) {
+            throw new IllegalArgumentException("Unknown entity " + entity);
+        }
+        int[] prefix = executedBefore[slot];
+        if (prefix == null) {
+            prefix = new int[timeline.length + 1];
+            for (int time = 0; time < timeline.length; time++) {
+                prefix[time + 1] = prefix[time] + (timeline[time] == entity ? 1 : 0);
+            }
+            executedBefore[slot] = prefix;
+        }
+        return prefix;
+    }
+
+    private void checkTime(int time) {
+        if (time < 0 || time >= timeline.length) {
+            throw new IllegalArgumentException("Time " + time + " is outside the timeline");
+        }
+    }
+
+    private void checkInterval(int from, int to) {
+        if (from < 0 || to > timeline.length || from > to) {
+            throw new IllegalArgumentException("Interval [" + from + ", " + to + ") is outside the timeline");
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.rts.runtime;
+
+import com.rts.util.Histogram;
+
+// What RealTimeExecutor measured for one task, in nanoseconds. Release latency is how late
+// the timer released a job after its nominal arrival; response time runs from the nominal
+// arrival to completion, as in the simulated TaskMetrics. A miss is counted once per job,
+// when its deadline passes unfinished or when it completes late. Updated by the timer and
+// worker threads, so readers get a consistent copy through snapshot().
+public class ObservedTaskMetrics {
+    private final String taskId;
+    private final Histogram releaseLatency = new Histogram();
+    private final Histogram responseTimes = new Histogram();
+    private int releasedJobs;
+    private int completedJobs;
+    private int deadlineMisses;
+    private int failedJobs;
+    private int droppedJobs;
+
+    ObservedTaskMetrics(String taskId) {
+        this.taskId = taskId;
+    }
+
+    synchronized void recordRelease(long latencyNanos) {
+        releasedJobs++;
+        releaseLatency.record(Math.max(0, latencyNanos));
+    }
+
+    synchronized void recordCompletion(long responseNanos, boolean failed) {
+        completedJobs++;
+        responseTimes.record(Math.max(0, responseNanos));
+        if (failed) {
+            failedJobs++;
+        }
+    }
+
+    synchronized void recordDeadlineMiss() {
+        deadlineMisses++;
+    }
+
+    // A job still queued when the executor stopped; `missed` unless already counted
+    synchronized void recordDropped(boolean missed) {
+        droppedJobs++;
+        if (missed) {
+            deadlineMisses++;
+        }
+    }
+
+    public synchronized ObservedTaskMetrics snapshot() {
+        ObservedTaskMetrics copy = new ObservedTaskMetrics(taskId);
+        copy.releaseLatency.merge(releaseLatency);
+        copy.responseTimes.merge(responseTimes);
+        copy.releasedJobs = releasedJobs;
+        copy.completedJobs = completedJobs;
+        copy.deadlineMisses = deadlineMisses;
+        copy.failedJobs = failedJobs;
+        copy.droppedJobs = droppedJobs;
+        return copy;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public synchronized int getReleasedJobs() {
+        return releasedJobs;
+    }
+
+    public synchronized int getCompletedJobs() {
+        return completedJobs;
+    }
+
+    // Jobs not completed by their absolute deadline: late, still pending at it, or dropped
+    public synchronized int getDeadlineMisses() {
+        return deadlineMisses;
+    }
+
+    // Jobs whose workload threw; they still count as completed
+    public synchronized int getFailedJobs() {
+        return failedJobs;
+    }
+
+    // Jobs still queued when the executor stopped; they count as missed
+    public synchronized int getDroppedJobs() {
+        return droppedJobs;
+    }
+
+    public synchronized Histogram getReleaseLatency() {
+        Histogram copy = new Histogram();
+        copy.merge(releaseLatency);
+        return copy;
+    }
+
+    public synchronized Histogram getResponseTimes() {
+        Histogram copy = new Histogram();
+        copy.merge(responseTimes);
+        return copy;
+    }
+
+    public synchronized long getWorstResponseTime() {
+        return responseTimes.getTotalCount() > 0 ? responseTimes.getMax() : 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s{released=%d, completed=%d, misses=%d, failed=%d, dropped=%d, "
+                        + "latency=%s, response=%s}", taskId, releasedJobs, completedJobs, deadlineMisses,
+                failedJobs, droppedJobs, releaseLatency, responseTimes);
+    }
+}
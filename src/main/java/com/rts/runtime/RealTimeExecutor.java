@@ -0,0 +1,299 @@
+package com.rts.runtime;
+
+import com.rts.algorithm.AbstractScheduler;
+import com.rts.algorithm.EarliestDeadlineFirstScheduler;
+import com.rts.algorithm.FixedPriorityScheduler;
+import com.rts.model.Task;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Runs real Runnable workloads as periodic tasks. One timer thread releases every job at
+// offset + k * period ticks after start(); released jobs wait in one ready queue ordered
+// by the same policy a FixedPriorityScheduler (priority rank) or the EDF engine (absolute
+// deadline) dispatches by, and a bounded pool of workers always takes the head of it.
+// Arrivals are absolute: every release is scheduled for its own nominal arrival, so a late
+// release delays that job only and never shifts the ones after it.
+//
+// Java threads cannot be preempted, so a job runs to completion once a worker has taken
+// it; a higher-priority release waits for the next free worker. The measurements are
+// what the JVM actually delivered: release latency against the nominal arrival, response
+// time from arrival to completion, and misses of the absolute deadline. A job counts as
+// missed as soon as its deadline passes unfinished, whether it is queued, running or
+// later dropped by stop(). Execution times
+// and release jitter of the Task are not enforced, the workload decides how long it runs.
+public class RealTimeExecutor {
+    // Time between start() and the first arrival, which covers setting up the releases
+    private static final long START_LEAD_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    private final boolean earliestDeadlineFirst;
+    private final FixedPriorityScheduler fixedPriority;
+    private final int workerCount;
+    private final long tickNanos;
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<Runnable> workloads = new ArrayList<>();
+    private ThreadFactory threadFactory = new DaemonThreadFactory("rts-worker-");
+
+    private final PriorityQueue<Job> ready;
+    private final Object lock = new Object();
+    private final AtomicLong sequence = new AtomicLong();
+    private List<ObservedTaskMetrics> observed = Collections.emptyList();
+    private ScheduledExecutorService timer;
+    private List<Thread> workers = Collections.emptyList();
+    private boolean running;
+
+    // `policy` is a FixedPriorityScheduler (its priority order is used) or the EDF engine;
+    // one tick of the task parameters lasts tickNanos
+    public RealTimeExecutor(AbstractScheduler policy, int workerCount, long tickNanos) {
+        if (policy instanceof FixedPriorityScheduler) {
+            this.fixedPriority = (FixedPriorityScheduler) policy;
+            this.earliestDeadlineFirst = false;
+        } else if (policy instanceof EarliestDeadlineFirstScheduler) {
+            this.fixedPriority = null;
+            this.earliestDeadlineFirst = true;
+        } else {
+            throw new IllegalArgumentException("Only fixed-priority and EDF policies can dispatch real workloads");
+        }
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive");
+        }
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick length must be positive");
+        }
+        this.workerCount = workerCount;
+        this.tickNanos = tickNanos;
+        // nanoTime values are only comparable by their difference
+        Comparator<Job> order = earliestDeadlineFirst
+                ? (a, b) -> Long.signum(a.deadline - b.deadline)
+                : Comparator.comparingInt((Job job) -> job.rank);
+        this.ready = new PriorityQueue<>(order.thenComparingLong(job -> job.sequence));
+    }
+
+    public synchronized void addTask(Task task, Runnable workload) {
+        if (task == null || workload == null) {
+            throw new IllegalArgumentException("Task and workload must not be null");
+        }
+        if (timer != null) {
+            throw new IllegalStateException("Tasks must be added before start()");
+        }
+        tasks.add(task);
+        workloads.add(workload);
+    }
+
+    // Creates the worker threads; pass a virtual-thread factory on JVMs that have one
+    public synchronized void setThreadFactory(ThreadFactory threadFactory) {
+        if (threadFactory == null) {
+            throw new IllegalArgumentException("Thread factory must not be null");
+        }
+        this.threadFactory = threadFactory;
+    }
+
+    public synchronized void start() {
+        if (timer != null) {
+            throw new IllegalStateException("Executor was already started");
+        }
+        if (tasks.isEmpty()) {
+            throw new IllegalArgumentException("No tasks to run");
+        }
+        int[] rank = new int[tasks.size()];
+        if (fixedPriority != null) {
+            int[] order = fixedPriority.getPriorityOrder(tasks);
+            for (int level = 0; level < order.length; level++) {
+                rank[order[level]] = level;
+            }
+        }
+        List<ObservedTaskMetrics> metrics = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            metrics.add(new ObservedTaskMetrics(task.getId()));
+        }
+        observed = Collections.unmodifiableList(metrics);
+        synchronized (lock) {
+            running = true;
+        }
+
+        List<Thread> threads = new ArrayList<>(workerCount);
+        for (int w = 0; w < workerCount; w++) {
+            Thread worker = threadFactory.newThread(this::work);
+            threads.add(worker);
+            worker.start();
+        }
+        workers = threads;
+
+        ScheduledThreadPoolExecutor releases = new ScheduledThreadPoolExecutor(1,
+                new DaemonThreadFactory("rts-timer-"));
+        releases.setRemoveOnCancelPolicy(true);
+        releases.prestartAllCoreThreads();
+        timer = releases;
+        // Every task's arrivals are counted from this instant, a little ahead so the timer
+        // is ready before the first of them
+        long start = System.nanoTime() + START_LEAD_NANOS;
+        for (int i = 0; i < tasks.size(); i++) {
+            scheduleRelease(releases, i, rank[i], start + tasks.get(i).getOffset() * tickNanos);
+        }
+    }
+
+    // Stops releasing jobs and lets the workers finish the job they are running. Jobs still
+    // in the ready queue are dropped.
+    public void stop() throws InterruptedException {
+        ScheduledExecutorService releases;
+        List<Thread> threads;
+        synchronized (this) {
+            releases = timer;
+            threads = workers;
+        }
+        if (releases == null) {
+            return;
+        }
+        releases.shutdownNow();
+        releases.awaitTermination(1, TimeUnit.MINUTES);
+        synchronized (lock) {
+            running = false;
+            // Dropped jobs never complete, so any not already counted miss their deadline
+            for (Job job : ready) {
+                observed.get(job.task).recordDropped(job.settle());
+            }
+            ready.clear();
+            lock.notifyAll();
+        }
+        for (Thread worker : threads) {
+            worker.join();
+        }
+    }
+
+    // Metrics so far, one per task in the order they were added
+    public List<ObservedTaskMetrics> getObservedMetrics() {
+        List<ObservedTaskMetrics> copies = new ArrayList<>(observed.size());
+        for (ObservedTaskMetrics metrics : observed) {
+            copies.add(metrics.snapshot());
+        }
+        return copies;
+    }
+
+    public long getTickNanos() {
+        return tickNanos;
+    }
+
+    // Releases the task's job arriving at `arrival` and its successors, one timer event each
+    private void scheduleRelease(ScheduledExecutorService releases, int task, int rank, long arrival) {
+        long period = tasks.get(task).getPeriod() * tickNanos;
+        try {
+            releases.schedule(() -> {
+                // The next arrival is fixed before this one is handled, so lateness never accumulates
+                scheduleRelease(releases, task, rank, arrival + period);
+                release(releases, task, rank, arrival);
+            }, arrival - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // stop() shut the timer down
+        }
+    }
+
+    private void release(ScheduledExecutorService releases, int task, int rank, long arrival) {
+        long now = System.nanoTime();
+        observed.get(task).recordRelease(now - arrival);
+        long deadline = arrival + tasks.get(task).getDeadline() * tickNanos;
+        Job job = new Job(task, rank, arrival, deadline, sequence.getAndIncrement());
+        synchronized (lock) {
+            if (!running) {
+                return;
+            }
+            ready.add(job);
+            lock.notify();
+        }
+        try {
+            // Counts the miss when the deadline passes, even if no worker has taken the job yet
+            releases.schedule(() -> {
+                if (job.settle()) {
+                    observed.get(task).recordDeadlineMiss();
+                }
+            }, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // stop() shut the timer down and counts the job if it is dropped
+        }
+    }
+
+    private void work() {
+        while (true) {
+            Job job;
+            synchronized (lock) {
+                while (running && ready.isEmpty()) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (!running) {
+                    return;
+                }
+                job = ready.poll();
+            }
+            boolean failed = false;
+            try {
+                workloads.get(job.task).run();
+            } catch (Throwable e) {
+                // A failing workload, Errors included, must not take its worker down with it,
+                // or the pool would shrink for good
+                failed = true;
+            }
+            long finish = System.nanoTime();
+            ObservedTaskMetrics metrics = observed.get(job.task);
+            // An on-time job is settled here, so its deadline event finds nothing to count
+            if (job.settle() && finish - job.deadline > 0) {
+                metrics.recordDeadlineMiss();
+            }
+            metrics.recordCompletion(finish - job.arrival, failed);
+        }
+    }
+
+    private static final class Job {
+        final int task;
+        final int rank;
+        final long arrival;
+        final long deadline;
+        final long sequence;
+        // Set once the job has completed on time or been counted as missed
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        Job(int task, int rank, long arrival, long deadline, long sequence) {
+            this.task = task;
+            this.rank = rank;
+            this.arrival = arrival;
+            this.deadline = deadline;
+            this.sequence = sequence;
+        }
+
+        // True for the first caller only, so a miss is counted once
+        boolean settle() {
+            return settled.compareAndSet(false, true);
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        DaemonThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MAX_PRIORITY);
+            return thread;
+        }
+    }
+}
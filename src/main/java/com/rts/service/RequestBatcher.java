@@ -0,0 +1,175 @@
+package com.rts.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+// Coalesces queued requests into batches for a fixed worker pool. One dispatcher thread
+// waits until a worker is idle, then drains everything queued so far (up to maxBatch) into
+// one batch, so batches grow by themselves while the workers are busy. Requests with equal
+// keys in a batch are executed once and share the reply; the distinct ones are split into
+// contiguous slices over the idle workers, one pool task per slice.
+final class RequestBatcher {
+    private final Function<SimulationRequest, ServiceReply> handler;
+    private final int workerCount;
+    private final int maxBatch;
+    private final ExecutorService workers;
+    // One permit per idle worker
+    private final Semaphore idleWorkers;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    RequestBatcher(Function<SimulationRequest, ServiceReply> handler, int workerCount, int maxBatch) {
+        if (workerCount <= 0) {
+            throw new IllegalArgumentException("Worker count must be positive");
+        }
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.handler = handler;
+        this.workerCount = workerCount;
+        this.maxBatch = maxBatch;
+        this.idleWorkers = new Semaphore(workerCount);
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "rts-service-worker-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher = new Thread(this::dispatch, "rts-service-batcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    CompletableFuture<ServiceReply> submit(SimulationRequest request) {
+        Pending pending = new Pending(request);
+        if (!running) {
+            pending.reply.completeExceptionally(new IllegalStateException("Service is stopped"));
+            return pending.reply;
+        }
+        submitted.incrementAndGet();
+        queue.add(pending);
+        if (!running && queue.remove(pending)) {
+            // shutdown() drained the queue between the check above and the add
+            pending.reply.completeExceptionally(new IllegalStateException("Service is stopped"));
+        }
+        return pending.reply;
+    }
+
+    // Fails whatever is still queued; slices already running finish
+    void shutdown() {
+        running = false;
+        dispatcher.interrupt();
+        workers.shutdown();
+        List<Pending> left = new ArrayList<>();
+        queue.drainTo(left);
+        for (Pending pending : left) {
+            pending.reply.completeExceptionally(new IllegalStateException("Service is stopped"));
+        }
+    }
+
+    long getSubmittedCount() {
+        return submitted.get();
+    }
+
+    long getBatchCount() {
+        return batches.get();
+    }
+
+    // Requests answered by the execution of an equal request in the same batch
+    long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    private void dispatch() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                idleWorkers.acquire();
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+
+            Map<String, List<Pending>> byKey = new LinkedHashMap<>();
+            for (Pending pending : batch) {
+                byKey.computeIfAbsent(pending.request.getKey(), key -> new ArrayList<>(1)).add(pending);
+            }
+            coalesced.addAndGet(batch.size() - byKey.size());
+            batch.clear();
+            List<List<Pending>> groups = new ArrayList<>(byKey.values());
+            batches.incrementAndGet();
+
+            int slices = 1;
+            while (slices < workerCount && slices < groups.size() && idleWorkers.tryAcquire()) {
+                slices++;
+            }
+            for (int s = 0; s < slices; s++) {
+                List<List<Pending>> slice = groups.subList(groups.size() * s / slices,
+                        groups.size() * (s + 1) / slices);
+                try {
+                    workers.execute(() -> run(slice));
+                } catch (RejectedExecutionException e) {
+                    // shutdown() stopped the pool while this batch was formed
+                    for (List<Pending> group : slice) {
+                        fail(group, new IllegalStateException("Service is stopped"));
+                    }
+                    idleWorkers.release();
+                }
+            }
+        }
+    }
+
+    private void run(List<List<Pending>> slice) {
+        try {
+            for (List<Pending> group : slice) {
+                ServiceReply reply;
+                try {
+                    reply = handler.apply(group.get(0).request);
+                } catch (Throwable e) {
+                    // Errors too: a run near the horizon limit can exhaust the heap, and its
+                    // clients must still get an answer
+                    fail(group, e);
+                    continue;
+                }
+                for (Pending pending : group) {
+                    pending.reply.complete(reply);
+                }
+            }
+        } finally {
+            idleWorkers.release();
+        }
+    }
+
+    private static void fail(List<Pending> group, Throwable failure) {
+        for (Pending pending : group) {
+            pending.reply.completeExceptionally(failure);
+        }
+    }
+
+    private static final class Pending {
+        final SimulationRequest request;
+        final CompletableFuture<ServiceReply> reply = new CompletableFuture<>();
+
+        Pending(SimulationRequest request) {
+            this.request = request;
+        }
+    }
+}
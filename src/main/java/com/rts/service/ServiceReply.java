@@ -0,0 +1,11 @@
+package com.rts.service;
+
+import com.sun.net.httpserver.HttpExchange;
+
+import java.io.IOException;
+
+// Outcome of one executed request. Coalesced requests share a reply, so send() may be
+// called once per waiting exchange and must not consume the reply.
+interface ServiceReply {
+    void send(HttpExchange exchange) throws IOException;
+}
@@ -0,0 +1,321 @@
+package com.rts.service;
+
+import com.rts.algorithm.AbstractScheduler;
+import com.rts.algorithm.EarliestDeadlineFirstScheduler;
+import com.rts.algorithm.EarliestDeadlineZeroLaxityScheduler;
+import com.rts.algorithm.FixedPriorityScheduler;
+import com.rts.algorithm.LeastLaxityFirstScheduler;
+import com.rts.algorithm.RateMonotonicScheduler;
+import com.rts.algorithm.ScheduleCache;
+import com.rts.algorithm.StandardPriorityPolicy;
+import com.rts.model.DeadlineMiss;
+import com.rts.model.OverheadModel;
+import com.rts.model.PreemptionMode;
+import com.rts.model.ResourceProtocol;
+import com.rts.model.ScheduleResult;
+import com.rts.model.SimulationMetrics;
+import com.rts.model.Task;
+import com.rts.model.TaskMetrics;
+import com.rts.model.TaskRegistry;
+import com.rts.model.TaskSet;
+import com.rts.model.TimelineIndex;
+import com.rts.util.SchedulabilityAnalyzer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// One parsed /analyze or /simulate request:
+//
+//   {"algorithm": "RM" | "DM" | "OPA" | "EDF" | "LLF" | "EDZL",
+//    "tasks": [{"id": "T1", "executionTime": 1, "period": 4, "deadline": 4,
+//               "offset": 0, "releaseJitter": 0}, ...],
+//    "overheads": {"contextSwitch": 0, "preemption": 0, "release": 0},
+//    "horizon": 1000, "trace": true}
+//
+// deadline defaults to the period, offsets, jitter and overheads to 0. horizon and trace
+// only apply to simulations; trace adds the timeline as run-length segments. A simulation
+// is feasible when no job misses its deadline within the horizon, late completions
+// included; the deadlineMisses list holds the jobs still unfinished at their next arrival.
+final class SimulationRequest {
+    static final int MAX_HORIZON = 50_000_000;
+    static final int MAX_TASKS = 10_000;
+    private static final List<String> ALGORITHMS = Arrays.asList("RM", "DM", "OPA", "EDF", "LLF", "EDZL");
+
+    private final boolean simulation;
+    private final String algorithm;
+    private final List<Task> tasks;
+    private final OverheadModel overheads;
+    private final int horizon;
+    private final boolean trace;
+    private final String key;
+
+    private SimulationRequest(boolean simulation, String algorithm, List<Task> tasks, OverheadModel overheads,
+                              int horizon, boolean trace) {
+        this.simulation = simulation;
+        this.algorithm = algorithm;
+        this.tasks = tasks;
+        this.overheads = overheads;
+        this.horizon = horizon;
+        this.trace = trace;
+        StringBuilder key = new StringBuilder(simulation ? "simulate|" : "analyze|").append(algorithm)
+                .append('|').append(overheads.getContextSwitchCost()).append(',')
+                .append(overheads.getPreemptionCost()).append(',').append(overheads.getReleaseCost())
+                .append('|').append(horizon).append('|').append(trace);
+        for (Task task : tasks) {
+            key.append('|').append(task.getId().length()).append(':').append(task.getId())
+                    .append(',').append(task.getExecutionTime()).append(',').append(task.getPeriod())
+                    .append(',').append(task.getDeadline()).append(',').append(task.getOffset())
+                    .append(',').append(task.getReleaseJitter());
+        }
+        this.key = key.toString();
+    }
+
+    static SimulationRequest parse(String body, boolean simulation) {
+        Object root = Json.parse(body);
+        if (!(root instanceof Map)) {
+            throw new IllegalArgumentException("Request must be a JSON object");
+        }
+        Map<?, ?> request = (Map<?, ?>) root;
+        Object algorithmValue = request.get("algorithm");
+        String algorithm = algorithmValue instanceof String ? ((String) algorithmValue).toUpperCase() : "";
+        if (!ALGORITHMS.contains(algorithm)) {
+            throw new IllegalArgumentException("algorithm must be one of " + ALGORITHMS);
+        }
+
+        Object taskValues = request.get("tasks");
+        if (!(taskValues instanceof List) || ((List<?>) taskValues).isEmpty()) {
+            throw new IllegalArgumentException("tasks must be a non-empty array");
+        }
+        if (((List<?>) taskValues).size() > MAX_TASKS) {
+            throw new IllegalArgumentException("At most " + MAX_TASKS + " tasks are accepted");
+        }
+        List<Task> tasks = new ArrayList<>();
+        for (Object taskValue : (List<?>) taskValues) {
+            if (!(taskValue instanceof Map)) {
+                throw new IllegalArgumentException("Every task must be a JSON object");
+            }
+            tasks.add(parseTask((Map<?, ?>) taskValue, tasks.size()));
+        }
+
+        OverheadModel overheads = OverheadModel.NONE;
+        Object overheadValue = request.get("overheads");
+        if (overheadValue instanceof Map) {
+            Map<?, ?> costs = (Map<?, ?>) overheadValue;
+            overheads = new OverheadModel(intField(costs, "contextSwitch", 0), intField(costs, "preemption", 0),
+                    intField(costs, "release", 0));
+        } else if (overheadValue != null) {
+            throw new IllegalArgumentException("overheads must be a JSON object");
+        }
+
+        int horizon = 0;
+        boolean trace = false;
+        if (simulation) {
+            horizon = intField(request, "horizon", -1);
+            if (horizon <= 0 || horizon > MAX_HORIZON) {
+                throw new IllegalArgumentException("horizon must be between 1 and " + MAX_HORIZON);
+            }
+            trace = Boolean.TRUE.equals(request.get("trace"));
+        }
+        return new SimulationRequest(simulation, algorithm, Collections.unmodifiableList(tasks), overheads,
+                horizon, trace);
+    }
+
+    private static Task parseTask(Map<?, ?> values, int index) {
+        Object id = values.get("id");
+        String taskId = id instanceof String ? (String) id : "T" + (index + 1);
+        int executionTime = intField(values, "executionTime", -1);
+        int period = intField(values, "period", -1);
+        int deadline = intField(values, "deadline", period);
+        if (executionTime <= 0 || period <= 0 || deadline <= 0) {
+            throw new IllegalArgumentException("Task " + taskId
+                    + " needs a positive executionTime, period and deadline");
+        }
+        return new Task(taskId, executionTime, period, deadline, intField(values, "offset", 0),
+                intField(values, "releaseJitter", 0));
+    }
+
+    private static int intField(Map<?, ?> values, String name, int defaultValue) {
+        Object value = values.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!(value instanceof Long) || (Long) value < Integer.MIN_VALUE || (Long) value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(name + " must be an integer");
+        }
+        return (int) (long) (Long) value;
+    }
+
+    // Requests with equal keys have equal replies
+    String getKey() {
+        return key;
+    }
+
+    ServiceReply execute(ScheduleCache cache) {
+        return simulation ? simulate(cache) : analyze();
+    }
+
+    private ServiceReply analyze() {
+        TaskSet taskSet = new TaskSet(tasks);
+        int[] priorityOrder = null;
+        boolean schedulable;
+        switch (algorithm) {
+            case "RM":
+                priorityOrder = SchedulabilityAnalyzer.rateMonotonicOrder(taskSet);
+                break;
+            case "DM":
+                priorityOrder = SchedulabilityAnalyzer.deadlineMonotonicOrder(taskSet);
+                break;
+            case "OPA":
+                priorityOrder = SchedulabilityAnalyzer.findOptimalPriorityOrder(taskSet, overheads,
+                        PreemptionMode.PREEMPTIVE, 1, ResourceProtocol.NONE);
+                break;
+            case "EDF":
+                break;
+            default:
+                throw new IllegalArgumentException("There is no schedulability test for " + algorithm
+                        + "; use /simulate");
+        }
+        long[] responseTimes = null;
+        if (algorithm.equals("EDF")) {
+            schedulable = SchedulabilityAnalyzer.isSchedulableEDF(taskSet, overheads);
+        } else {
+            // OPA reports deadline-monotonic response times when no order is schedulable
+            schedulable = priorityOrder != null;
+            if (priorityOrder == null) {
+                priorityOrder = SchedulabilityAnalyzer.deadlineMonotonicOrder(taskSet);
+            }
+            responseTimes = SchedulabilityAnalyzer.calculateResponseTimes(taskSet, priorityOrder, overheads,
+                    PreemptionMode.PREEMPTIVE, 1, ResourceProtocol.NONE);
+            for (int i = 0; schedulable && i < responseTimes.length; i++) {
+                schedulable = responseTimes[i] <= tasks.get(i).getDeadline();
+            }
+        }
+
+        StringBuilder json = new StringBuilder(64 + 32 * tasks.size());
+        json.append("{\"algorithm\":");
+        Json.quote(json, algorithm);
+        json.append(",\"schedulable\":").append(schedulable)
+                .append(",\"utilization\":").append(SchedulabilityAnalyzer.calculateUtilization(taskSet, overheads));
+        if (responseTimes != null) {
+            json.append(",\"priorityOrder\":[");
+            for (int p = 0; p < priorityOrder.length; p++) {
+                Json.quote(p > 0 ? json.append(',') : json, tasks.get(priorityOrder[p]).getId());
+            }
+            // An unbounded response time is reported as null
+            json.append("],\"responseTimes\":{");
+            for (int i = 0; i < responseTimes.length; i++) {
+                Json.quote(i > 0 ? json.append(',') : json, tasks.get(i).getId()).append(':');
+                json.append(responseTimes[i] == Long.MAX_VALUE ? "null" : Long.toString(responseTimes[i]));
+            }
+            json.append('}');
+        }
+        byte[] body = json.append('}').toString().getBytes(StandardCharsets.UTF_8);
+        return exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", SimulationService.JSON_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        };
+    }
+
+    private ServiceReply simulate(ScheduleCache cache) {
+        AbstractScheduler scheduler = createScheduler();
+        scheduler.setOverheadModel(overheads);
+        ScheduleResult result = cache.schedule(scheduler, tasks, horizon);
+        if (trace) {
+            // Built once here rather than by every coalesced reply
+            result.getTimelineIndex();
+        }
+        // Length 0 sends the body in chunks, as the writer's buffer fills
+        return exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", SimulationService.JSON_TYPE);
+            exchange.sendResponseHeaders(200, 0);
+            try (Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(),
+                    StandardCharsets.UTF_8), SimulationService.CHUNK_SIZE)) {
+                writeResult(result, scheduler.getAlgorithmName(), out);
+            } finally {
+                exchange.close();
+            }
+        };
+    }
+
+    private void writeResult(ScheduleResult result, String algorithmName, Writer out) throws IOException {
+        TaskRegistry registry = result.getRegistry();
+        SimulationMetrics metrics = result.getMetrics();
+        boolean feasible = true;
+        for (int i = 0; feasible && i < registry.size(); i++) {
+            feasible = metrics.getTaskMetrics(i).getMissedJobs() == 0;
+        }
+        StringBuilder json = new StringBuilder(256);
+        json.append("{\"algorithm\":");
+        Json.quote(json, algorithmName);
+        json.append(",\"horizon\":").append(horizon)
+                .append(",\"feasible\":").append(feasible)
+                .append(",\"preemptions\":").append(metrics.getPreemptions())
+                .append(",\"contextSwitches\":").append(metrics.getContextSwitches())
+                .append(",\"cpuUtilization\":").append(metrics.getCpuUtilization())
+                .append(",\"tasks\":[");
+        for (int i = 0; i < registry.size(); i++) {
+            TaskMetrics task = metrics.getTaskMetrics(i);
+            json.append(i > 0 ? ",{\"id\":" : "{\"id\":");
+            Json.quote(json, registry.getId(i));
+            json.append(",\"completedJobs\":").append(task.getCompletedJobs())
+                    .append(",\"deadlineMisses\":").append(task.getMissedJobs())
+                    .append(",\"worstResponseTime\":").append(task.getWorstResponseTime()).append('}');
+        }
+        json.append("],\"deadlineMisses\":[");
+        out.append(json);
+
+        List<DeadlineMiss> misses = result.getDeadlineMisses();
+        for (int m = 0; m < misses.size(); m++) {
+            json.setLength(0);
+            json.append(m > 0 ? ",{\"task\":" : "{\"task\":");
+            Json.quote(json, registry.getId(misses.get(m).getTaskIndex()));
+            json.append(",\"time\":").append(misses.get(m).getTime())
+                    .append(",\"late\":").append(misses.get(m).isLate()).append('}');
+            out.append(json);
+        }
+        out.write(']');
+
+        if (trace) {
+            // [entity, start, end) segments of the timeline
+            out.write(",\"timeline\":[");
+            TimelineIndex index = result.getTimelineIndex();
+            for (int s = 0; s < index.getSegmentCount(); s++) {
+                json.setLength(0);
+                json.append(s > 0 ? ",[" : "[");
+                Json.quote(json, registry.getId(index.getSegmentEntity(s)));
+                json.append(',').append(index.getSegmentStart(s)).append(',').append(index.getSegmentEnd(s))
+                        .append(']');
+                out.append(json);
+            }
+            out.write(']');
+        }
+        out.write('}');
+    }
+
+    private AbstractScheduler createScheduler() {
+        switch (algorithm) {
+            case "RM":
+                return new RateMonotonicScheduler();
+            case "DM":
+                return new FixedPriorityScheduler(StandardPriorityPolicy.DEADLINE_MONOTONIC);
+            case "OPA":
+                return new FixedPriorityScheduler(StandardPriorityPolicy.OPTIMAL);
+            case "LLF":
+                return new LeastLaxityFirstScheduler();
+            case "EDZL":
+                return new EarliestDeadlineZeroLaxityScheduler();
+            default:
+                return new EarliestDeadlineFirstScheduler();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.rts.service;
+
+import com.rts.algorithm.ScheduleCache;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Local HTTP service around the engines and the analyzer, for tools that need answers
+// without the JavaFX app. It listens on the loopback interface only:
+//
+//   POST /analyze   schedulability test, response times and utilization of a task set
+//   POST /simulate  simulation summary and deadline misses, plus the timeline with "trace"
+//   GET  /stats     request, batch and cache counters
+//
+// Request bodies are described in SimulationRequest. HTTP threads only parse requests;
+// a RequestBatcher runs them in batches on the worker pool, and every simulation goes
+// through one shared ScheduleCache. Simulation replies are streamed in chunks, so a long
+// trace is never held as one string. Bad requests are answered with 400 and
+// {"error": "..."}.
+public class SimulationService {
+    public static final int DEFAULT_PORT = 8642;
+    static final String JSON_TYPE = "application/json; charset=utf-8";
+    static final int CHUNK_SIZE = 16 * 1024;
+    private static final int MAX_BODY_BYTES = 4 * 1024 * 1024;
+    private static final int MAX_BATCH = 256;
+
+    private final HttpServer server;
+    private final ExecutorService httpThreads;
+    private final RequestBatcher batcher;
+    private final ScheduleCache cache;
+
+    // Port 0 picks a free port, see getPort()
+    public SimulationService(int port, int workerCount, ScheduleCache cache) throws IOException {
+        if (cache == null) {
+            throw new IllegalArgumentException("Cache must not be null");
+        }
+        this.cache = cache;
+        this.batcher = new RequestBatcher(request -> request.execute(cache), workerCount, MAX_BATCH);
+        AtomicInteger threads = new AtomicInteger();
+        this.httpThreads = Executors.newFixedThreadPool(Math.max(2, workerCount), runnable -> {
+            Thread thread = new Thread(runnable, "rts-service-http-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        server.setExecutor(httpThreads);
+        server.createContext("/analyze", exchange -> handleRequest(exchange, false));
+        server.createContext("/simulate", exchange -> handleRequest(exchange, true));
+        server.createContext("/stats", this::handleStats);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // Stops accepting connections, waiting up to delaySeconds for exchanges in progress
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        batcher.shutdown();
+        httpThreads.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public ScheduleCache getCache() {
+        return cache;
+    }
+
+    private void handleRequest(HttpExchange exchange, boolean simulation) throws IOException {
+        if (!checkRoute(exchange, "POST")) {
+            return;
+        }
+        SimulationRequest request;
+        try {
+            request = SimulationRequest.parse(readBody(exchange), simulation);
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+            return;
+        }
+        // Replies are written from the HTTP threads, so workers only compute
+        batcher.submit(request).whenCompleteAsync((reply, failure) -> {
+            try {
+                if (failure == null) {
+                    reply.send(exchange);
+                    return;
+                }
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                        ? failure.getCause() : failure;
+                if (cause instanceof IllegalArgumentException) {
+                    sendError(exchange, 400, cause.getMessage());
+                } else if (cause instanceof IllegalStateException) {
+                    sendError(exchange, 503, cause.getMessage());
+                } else {
+                    sendError(exchange, 500, String.valueOf(cause));
+                }
+            } catch (IOException e) {
+                // The client went away; nothing is left to answer
+                exchange.close();
+            }
+        }, httpThreads);
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        if (!checkRoute(exchange, "GET")) {
+            return;
+        }
+        String json = "{\"requests\":" + batcher.getSubmittedCount()
+                + ",\"batches\":" + batcher.getBatchCount()
+                + ",\"coalesced\":" + batcher.getCoalescedCount()
+                + ",\"cacheHits\":" + cache.getHitCount()
+                + ",\"cacheDiskHits\":" + cache.getDiskHitCount()
+                + ",\"cacheMisses\":" + cache.getMissCount()
+                + ",\"cachedRuns\":" + cache.size() + "}";
+        send(exchange, 200, json);
+    }
+
+    // Contexts match by prefix; anything but the exact path is unknown
+    private static boolean checkRoute(HttpExchange exchange, String method) throws IOException {
+        if (!exchange.getRequestURI().getPath().equals(exchange.getHttpContext().getPath())) {
+            sendError(exchange, 404, "Unknown path " + exchange.getRequestURI().getPath());
+            return false;
+        }
+        if (!exchange.getRequestMethod().equals(method)) {
+            exchange.getResponseHeaders().set("Allow", method);
+            sendError(exchange, 405, "Use " + method);
+            return false;
+        }
+        return true;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        try (InputStream in = exchange.getRequestBody()) {
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                if (body.size() + read > MAX_BODY_BYTES) {
+                    throw new IllegalArgumentException("Request body exceeds " + MAX_BODY_BYTES + " bytes");
+                }
+                body.write(buffer, 0, read);
+            }
+        }
+        return new String(body.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        Json.quote(json, message != null ? message : "Unknown error").append('}');
+        send(exchange, status, json.toString());
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", JSON_TYPE);
+        exchange.sendResponseHeaders(status, body.length);
+        exchange.getResponseBody().write(body);
+        exchange.close();
+    }
+
+    // Runs the service headless: [port] [workers] [cache MB]
+    public static void main(String[] args) throws IOException {
+        // The JDK server writes headers and body in separate packets; with Nagle's algorithm
+        // on, every small reply waits out the client's delayed ACK (about 40 ms). This process
+        // only runs the service, so the launcher may switch it off unless told otherwise.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        long cacheBytes = (args.length > 2 ? Long.parseLong(args[2]) : 256) * 1024 * 1024;
+        SimulationService service = new SimulationService(port, workers, new ScheduleCache(cacheBytes));
+        service.start();
+        System.out.println("Simulation service listening on http://localhost:" + service.getPort());
+    }
+}
@@ -0,0 +1,151 @@
+package com.rts.util;
+
+import com.rts.model.PeriodicResource;
+import com.rts.model.Task;
+import com.rts.model.TaskSet;
+
+import java.util.function.IntPredicate;
+
+// Schedulability of one component of a hierarchical system on its periodic resource, and the
+// smallest budget that makes it schedulable. The component's demand in every interval must
+// fit the resource's supply bound: for EDF the demand bound function at every absolute
+// deadline, and for fixed priorities the request bound of each task at some point up to its
+// deadline (Shin & Lee, "Periodic Resource Model for Compositional Real-Time Guarantees").
+// Offsets are ignored and release jitter is charged as in SchedulabilityAnalyzer; overheads
+// and shared resources are not modelled.
+//
+// Each server is a periodic task (Θ, Π, Π) to the global scheduler, so the system level is
+// checked with SchedulabilityAnalyzer on PeriodicResource.toTask() of every component.
+public class CompositionalAnalyzer {
+
+    // Processor-demand test of the component under local EDF
+    public static boolean isSchedulableEDF(TaskSet taskSet, PeriodicResource resource) {
+        int taskCount = taskSet.getTaskCount();
+        double utilization = 0;
+        long maxDeadline = 0;
+        long hyperperiod = resource.getPeriod();
+        try {
+            for (int i = 0; i < taskCount; i++) {
+                Task task = taskSet.getTask(i);
+                utilization += (double) task.getExecutionTime() / task.getPeriod();
+                maxDeadline = Math.max(maxDeadline, task.getDeadline());
+                hyperperiod = lcm(hyperperiod, task.getPeriod());
+            }
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Hyperperiod of the component is too long");
+        }
+        if (utilization > resource.getBandwidth() + 1e-9) {
+            return false;
+        }
+        // Past one common period of tasks and resource (plus the blackout and the longest
+        // deadline) demand and supply only repeat, growing by U·L and Θ/Π·L respectively
+        long limit = hyperperiod + maxDeadline + 2L * resource.getPeriod();
+        for (int k = 0; k < taskCount; k++) {
+            Task task = taskSet.getTask(k);
+            long first = task.getDeadline() - task.getReleaseJitter();
+            for (long deadline = Math.max(1, first); deadline <= limit; deadline += task.getPeriod()) {
+                if (demandBound(taskSet, deadline) > resource.supplyBound(deadline)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Request-bound test of the component under the given local priority order (task indices
+    // from highest to lowest priority)
+    public static boolean isSchedulableFP(TaskSet taskSet, int[] priorityOrder, PeriodicResource resource) {
+        for (int p = 0; p < priorityOrder.length; p++) {
+            Task task = taskSet.getTask(priorityOrder[p]);
+            long deadline = task.getDeadline() - task.getReleaseJitter();
+            boolean fits = false;
+            // The request bound only steps up just after a higher-priority release, so it is
+            // enough to check the last instant before each release and the deadline
+            for (int q = -1; q < p && !fits; q++) {
+                long period = q < 0 ? deadline : taskSet.getTask(priorityOrder[q]).getPeriod();
+                long jitter = q < 0 ? 0 : taskSet.getTask(priorityOrder[q]).getReleaseJitter();
+                for (long point = q < 0 ? deadline : period - jitter; point <= deadline && !fits; point += period) {
+                    if (point > 0 && requestBound(taskSet, priorityOrder, p, point) <= resource.supplyBound(point)) {
+                        fits = true;
+                    }
+                }
+            }
+            if (!fits) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Smallest budget per `period` that keeps the component schedulable under local EDF,
+    // or -1 if even the whole CPU does not
+    public static int minimumBudgetEDF(TaskSet taskSet, int period) {
+        return minimumBudget(period, budget -> isSchedulableEDF(taskSet, new PeriodicResource(period, budget)));
+    }
+
+    // Same under the given local priority order
+    public static int minimumBudgetFP(TaskSet taskSet, int[] priorityOrder, int period) {
+        return minimumBudget(period, budget -> isSchedulableFP(taskSet, priorityOrder,
+                new PeriodicResource(period, budget)));
+    }
+
+    // More budget never lowers the supply bound, so the schedulable budgets form a suffix
+    // of [1, period] and can be found by binary search
+    private static int minimumBudget(int period, IntPredicate schedulable) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        if (!schedulable.test(period)) {
+            return -1;
+        }
+        int low = 1;
+        int high = period;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (schedulable.test(mid)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    // Work of jobs with both release and deadline inside an interval of the given length
+    static long demandBound(TaskSet taskSet, long interval) {
+        long demand = 0;
+        for (int i = 0; i < taskSet.getTaskCount(); i++) {
+            Task task = taskSet.getTask(i);
+            long window = interval + task.getReleaseJitter() - task.getDeadline();
+            if (window >= 0) {
+                demand += (window / task.getPeriod() + 1) * task.getExecutionTime();
+            }
+        }
+        return demand;
+    }
+
+    // Work of the task at priority level p and everything above it released in an interval
+    static long requestBound(TaskSet taskSet, int[] priorityOrder, int p, long interval) {
+        long request = taskSet.getTask(priorityOrder[p]).getExecutionTime();
+        for (int q = 0; q < p; q++) {
+            Task task = taskSet.getTask(priorityOrder[q]);
+            request += ceilDiv(interval + task.getReleaseJitter(), task.getPeriod()) * task.getExecutionTime();
+        }
+        return request;
+    }
+
+    private static long ceilDiv(long a, long b) {
+        return (a + b - 1) / b;
+    }
+
+    private static long lcm(long a, long b) {
+        long x = a;
+        long y = b;
+        while (y != 0) {
+            long r = x % y;
+            x = y;
+            y = r;
+        }
+        return Math.multiplyExact(a / x, b);
+    }
+}
@@ -0,0 +1,140 @@
+package com.rts.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+// Log-linear (HDR-style) histogram of non-negative values. Values below 2^precisionBits
+// are counted exactly; above that every power-of-two range is split into
+// 2^precisionBits equal buckets, so the relative error stays below 2^-precisionBits
+// and memory is bounded by the largest value recorded, not by the number of samples.
+public class Histogram implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int DEFAULT_PRECISION_BITS = 5;
+
+    private final int precisionBits;
+    private final int subBucketCount;
+    private long[] counts;
+    private long totalCount;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    public Histogram() {
+        this(DEFAULT_PRECISION_BITS);
+    }
+
+    public Histogram(int precisionBits) {
+        if (precisionBits < 1 || precisionBits > 16) {
+            throw new IllegalArgumentException("precisionBits must be between 1 and 16");
+        }
+        this.precisionBits = precisionBits;
+        this.subBucketCount = 1 << precisionBits;
+        this.counts = new long[subBucketCount];
+    }
+
+    public void record(long value) {
+        recordCount(value, 1);
+    }
+
+    public void recordCount(long value, long count) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Histogram values must be non-negative: " + value);
+        }
+        int index = bucketIndex(value);
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length + subBucketCount));
+        }
+        counts[index] += count;
+        totalCount += count;
+        sum += value * count;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    // Adds all samples of another histogram with the same precision
+    public void merge(Histogram other) {
+        if (other.precisionBits != precisionBits) {
+            throw new IllegalArgumentException("Cannot merge histograms with different precision");
+        }
+        if (other.totalCount == 0) {
+            return;
+        }
+        if (other.counts.length > counts.length) {
+            counts = Arrays.copyOf(counts, other.counts.length);
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        totalCount += other.totalCount;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public long getMin() {
+        return totalCount == 0 ? 0 : min;
+    }
+
+    public long getMax() {
+        return totalCount == 0 ? 0 : max;
+    }
+
+    public double getMean() {
+        return totalCount == 0 ? 0.0 : (double) sum / totalCount;
+    }
+
+    // Smallest recorded bucket bound such that at least `percentile` percent of samples are <= it
+    public long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        double clamped = Math.min(100.0, Math.max(0.0, percentile));
+        long target = Math.max(1, (long) Math.ceil(clamped / 100.0 * totalCount));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.max(min, Math.min(max, bucketUpperBound(i)));
+            }
+        }
+        return max;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        totalCount = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = Long.MIN_VALUE;
+    }
+
+    private int bucketIndex(long value) {
+        if (value < subBucketCount) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - precisionBits;
+        int octave = shift + 1;
+        return (octave << precisionBits) + (int) ((value >>> shift) - subBucketCount);
+    }
+
+    private long bucketUpperBound(int index) {
+        if (index < subBucketCount) {
+            return index;
+        }
+        int shift = (index >> precisionBits) - 1;
+        long mantissa = (index & (subBucketCount - 1)) + subBucketCount;
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Histogram{count=%d, min=%d, mean=%.2f, p99=%d, max=%d}",
+                totalCount, getMin(), getMean(), getValueAtPercentile(99), getMax());
+    }
+}
@@ -1,8 +1,26 @@
 package com.rts.util;
 
+import com.rts.model.AperiodicServer;
+import com.rts.model.CriticalSection;
+import com.rts.model.OverheadModel;
+import com.rts.model.PreemptionMode;
+import com.rts.model.ResourceProtocol;
+import com.rts.model.Task;
 import com.rts.model.TaskSet;
+import com.rts.model.TaskTiming;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 public class SchedulabilityAnalyzer {
+    // Utilization sums are computed in floating point; a set whose exact utilization is 1
+    // may come out a hair above or below it
+    private static final double UTILIZATION_EPSILON = 1e-9;
 
     public static boolean isSchedulable(TaskSet taskSet) {
         double utilization = calculateUtilization(taskSet);
@@ -14,6 +32,814 @@ public class SchedulabilityAnalyzer {
         return utilization <= rmsBound;
     }
 
+    // Exact response-time test for rate-monotonic priorities with per-job overheads
+    public static boolean isSchedulableRM(TaskSet taskSet, OverheadModel overheads) {
+        return isSchedulableRM(taskSet, overheads, PreemptionMode.PREEMPTIVE, 1);
+    }
+
+    // Response-time test for rate-monotonic priorities under the given preemption mode,
+    // including blocking by non-preemptive chunks of lower-priority jobs
+    public static boolean isSchedulableRM(TaskSet taskSet, OverheadModel overheads,
+                                          PreemptionMode mode, int preemptionPointInterval) {
+        return isSchedulableRM(taskSet, overheads, mode, preemptionPointInterval, ResourceProtocol.NONE);
+    }
+
+    // Response-time test for rate-monotonic priorities, also including blocking on the
+    // critical sections of lower-priority jobs under the given resource protocol
+    public static boolean isSchedulableRM(TaskSet taskSet, OverheadModel overheads, PreemptionMode mode,
+                                          int preemptionPointInterval, ResourceProtocol protocol) {
+        return isSchedulableFP(taskSet, rateMonotonicOrder(taskSet), overheads, mode, preemptionPointInterval,
+                protocol);
+    }
+
+    // Exact processor-demand test for EDF with per-job overheads
+    public static boolean isSchedulableEDF(TaskSet taskSet, OverheadModel overheads) {
+        return isSchedulableEDF(taskSet, overheads, PreemptionMode.PREEMPTIVE, 1);
+    }
+
+    // Processor-demand test for EDF under the given preemption mode. At every absolute deadline d
+    // the demand due by d, the release interrupts before d and the longest non-preemptive chunk
+    // of a job with a later deadline (which may already hold the CPU) must fit in d. A job with
+    // release jitter J can be released as late as J after its arrival, so its deadline lies
+    // only D - J after its release. Offsets are ignored: synchronous release is the worst case.
+    public static boolean isSchedulableEDF(TaskSet taskSet, OverheadModel overheads,
+                                           PreemptionMode mode, int preemptionPointInterval) {
+        return isSchedulableEDF(taskSet, overheads, mode, preemptionPointInterval, ResourceProtocol.NONE);
+    }
+
+    // Processor-demand test for EDF that also charges blocking on critical sections. Under the
+    // Stack Resource Policy a job with relative deadline D can only be blocked by one job with a
+    // longer relative deadline that holds a resource some job with deadline at most D uses, so
+    // each point d adds the longest such section among jobs whose deadlines lie beyond d.
+    // Plain locks give no bound once a resource is shared.
+    public static boolean isSchedulableEDF(TaskSet taskSet, OverheadModel overheads, PreemptionMode mode,
+                                           int preemptionPointInterval, ResourceProtocol protocol) {
+        int taskCount = taskSet.getTaskCount();
+        long overhead = overheads.getPerJobOverhead();
+        long releaseCost = overheads.getReleaseCost();
+        if (calculateUtilization(taskSet, overheads) > 1.0 + UTILIZATION_EPSILON) {
+            return false;
+        }
+
+        // Shortest relative deadline among the users of each shared resource
+        Map<String, Integer> ceilingDeadline = sharedResourceCeilings(taskSet);
+        if (!ceilingDeadline.isEmpty()) {
+            if (protocol == ResourceProtocol.NONE) {
+                return false;
+            }
+            if (protocol != ResourceProtocol.STACK_RESOURCE_POLICY) {
+                throw new IllegalArgumentException(protocol + " is not supported for EDF");
+            }
+        }
+        long maxSectionBlocking = 0;
+        for (int i = 0; i < taskCount; i++) {
+            for (CriticalSection section : taskSet.getTask(i).getCriticalSections()) {
+                if (ceilingDeadline.containsKey(section.getResource())) {
+                    maxSectionBlocking = Math.max(maxSectionBlocking, section.getLength() - 1 + overhead);
+                }
+            }
+        }
+
+        long maxBlocking = 0;
+        boolean implicitDeadlines = releaseCost == 0;
+        for (int i = 0; i < taskCount; i++) {
+            Task task = taskSet.getTask(i);
+            if (task.getReleaseJitter() + task.getExecutionTime() > task.getDeadline()) {
+                return false;
+            }
+            implicitDeadlines &= task.getDeadline() >= task.getPeriod() && task.getReleaseJitter() == 0;
+            maxBlocking = Math.max(maxBlocking, blockingChunk(task, overhead, mode, preemptionPointInterval));
+        }
+        if (implicitDeadlines && maxBlocking == 0 && maxSectionBlocking == 0) {
+            return true;
+        }
+
+        // Demand only has to be checked at absolute deadlines inside the synchronous busy period.
+        // Release overhead is interrupt load: every release before a deadline delays the work due
+        // by it, whatever the released job's own deadline is.
+        long busyPeriod = calculateBusyPeriod(taskSet, overheads, maxBlocking + maxSectionBlocking);
+        if (busyPeriod < 0) {
+            return false;
+        }
+        for (int i = 0; i < taskCount; i++) {
+            Task task = taskSet.getTask(i);
+            for (long deadline = task.getDeadline() - task.getReleaseJitter(); deadline <= busyPeriod;
+                 deadline += task.getPeriod()) {
+                long demand = 0;
+                long blocking = 0;
+                // Longest relative deadline among the jobs due by this point
+                long dueDeadline = 0;
+                for (int j = 0; j < taskCount; j++) {
+                    Task other = taskSet.getTask(j);
+                    long jitter = other.getReleaseJitter();
+                    if (deadline + jitter >= other.getDeadline()) {
+                        long jobs = (deadline + jitter - other.getDeadline()) / other.getPeriod() + 1;
+                        demand += jobs * (other.getExecutionTime() + overhead);
+                        dueDeadline = Math.max(dueDeadline, other.getDeadline());
+                    } else {
+                        blocking = Math.max(blocking, blockingChunk(other, overhead, mode, preemptionPointInterval));
+                    }
+                    demand += ceilDiv(deadline + jitter, other.getPeriod()) * releaseCost;
+                }
+                long sectionBlocking = 0;
+                for (int j = 0; j < taskCount && maxSectionBlocking > 0; j++) {
+                    Task other = taskSet.getTask(j);
+                    if (deadline + other.getReleaseJitter() >= other.getDeadline()) {
+                        continue;
+                    }
+                    for (CriticalSection section : other.getCriticalSections()) {
+                        Integer ceiling = ceilingDeadline.get(section.getResource());
+                        if (ceiling != null && ceiling <= dueDeadline) {
+                            sectionBlocking = Math.max(sectionBlocking, section.getLength() - 1 + overhead);
+                        }
+                    }
+                }
+                if (demand + blocking + sectionBlocking > deadline) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Whether the periodic tasks keep their guarantees next to an aperiodic server
+    // (preemptive scheduling, no overheads). Polling and Sporadic servers interfere like a
+    // periodic task with the server's budget and period. A Deferrable server can spend its
+    // budget at the end of one period and again at the start of the next, so it interferes
+    // like a periodic task with release jitter of period - budget. The Total Bandwidth Server
+    // never demands more than its bandwidth in any interval.
+    public static boolean isSchedulableWithServer(TaskSet taskSet, AperiodicServer server) {
+        switch (server.getPolicy()) {
+            case POLLING:
+            case SPORADIC: {
+                TaskSet withServer = new TaskSet(taskSet.getTasks());
+                withServer.addTask(server.toTask());
+                long[] responseTimes = calculateResponseTimes(withServer, OverheadModel.NONE);
+                for (int i = 0; i < taskSet.getTaskCount(); i++) {
+                    if (responseTimes[i] > taskSet.getTask(i).getDeadline()) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            case DEFERRABLE:
+                return isSchedulableWithDeferrableServer(taskSet, server);
+            default:
+                return isSchedulableWithBandwidthServer(taskSet, server);
+        }
+    }
+
+    public static long[] calculateResponseTimes(TaskSet taskSet, OverheadModel overheads) {
+        return calculateResponseTimes(taskSet, overheads, PreemptionMode.PREEMPTIVE, 1);
+    }
+
+    // Worst-case response time of every task (indexed like the task set) under rate-monotonic
+    // priorities with fixed preemption points. A value above the deadline only means
+    // "unschedulable".
+    public static long[] calculateResponseTimes(TaskSet taskSet, OverheadModel overheads,
+                                                PreemptionMode mode, int preemptionPointInterval) {
+        return calculateResponseTimes(taskSet, rateMonotonicOrder(taskSet), overheads, mode, preemptionPointInterval,
+                ResourceProtocol.NONE);
+    }
+
+    // Worst-case response time of every task under the given priority order (task indices
+    // from highest to lowest priority). Lower-priority critical sections block as the
+    // protocol allows; a job can meanwhile also be blocked by a non-preemptive chunk.
+    public static long[] calculateResponseTimes(TaskSet taskSet, int[] priorityOrder, OverheadModel overheads,
+                                                PreemptionMode mode, int preemptionPointInterval,
+                                                ResourceProtocol protocol) {
+        int taskCount = taskSet.getTaskCount();
+        long overhead = overheads.getPerJobOverhead();
+        long[] responseTimes = new long[taskCount];
+        // Blocking by the longest chunk of any lower-priority job, accumulated from the bottom
+        long blocking = 0;
+        for (int p = taskCount - 1; p >= 0; p--) {
+            long sectionBlocking = calculateSectionBlocking(taskSet, priorityOrder, p + 1, priorityOrder, p + 1,
+                    overhead, protocol);
+            responseTimes[priorityOrder[p]] = sectionBlocking < 0 ? Long.MAX_VALUE
+                    : calculateResponseTime(taskSet, priorityOrder, p, blocking + sectionBlocking,
+                            overheads, mode, preemptionPointInterval);
+            blocking = Math.max(blocking,
+                    blockingChunk(taskSet.getTask(priorityOrder[p]), overhead, mode, preemptionPointInterval));
+        }
+        return responseTimes;
+    }
+
+    // Response-time test for the given fixed priority order
+    public static boolean isSchedulableFP(TaskSet taskSet, int[] priorityOrder, OverheadModel overheads,
+                                          PreemptionMode mode, int preemptionPointInterval,
+                                          ResourceProtocol protocol) {
+        long[] responseTimes = calculateResponseTimes(taskSet, priorityOrder, overheads, mode, preemptionPointInterval,
+                protocol);
+        for (int i = 0; i < responseTimes.length; i++) {
+            if (responseTimes[i] > taskSet.getTask(i).getDeadline()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Audsley's Optimal Priority Assignment: fill the priority levels from the lowest up, each
+    // time with some unassigned task that meets its deadline below all the others. The response
+    // time of a task depends only on which tasks are above it and which are below it, never on
+    // their order (critical-section blocking included), so a task that fits a level can always
+    // stay there and at most n(n+1)/2 single-task tests are needed. Candidates are tried in
+    // reverse deadline-monotonic order, which usually succeeds first time. Returns task indices
+    // from highest to lowest priority, or null if no fixed priority order is schedulable.
+    public static int[] findOptimalPriorityOrder(TaskSet taskSet, OverheadModel overheads, PreemptionMode mode,
+                                                 int preemptionPointInterval, ResourceProtocol protocol) {
+        int taskCount = taskSet.getTaskCount();
+        long overhead = overheads.getPerJobOverhead();
+        if (calculateUtilization(taskSet, overheads) > 1.0 + UTILIZATION_EPSILON) {
+            return null;
+        }
+
+        // Unassigned tasks in deadline-monotonic order; level holds them with the candidate last
+        int[] unassigned = deadlineMonotonicOrder(taskSet);
+        int[] priorityOrder = new int[taskCount];
+        int[] level = new int[taskCount];
+        long blocking = 0;
+        for (int p = taskCount - 1; p >= 0; p--) {
+            // Which task takes the level does not change the sets above and below it
+            long sectionBlocking = calculateSectionBlocking(taskSet, unassigned, p + 1, priorityOrder, p + 1,
+                    overhead, protocol);
+            if (sectionBlocking < 0) {
+                return null;
+            }
+            int chosen = -1;
+            for (int c = p; c >= 0 && chosen < 0; c--) {
+                int candidate = unassigned[c];
+                int count = 0;
+                for (int u = 0; u <= p; u++) {
+                    if (u != c) {
+                        level[count++] = unassigned[u];
+                    }
+                }
+                level[count] = candidate;
+                long responseTime = calculateResponseTime(taskSet, level, count, blocking + sectionBlocking,
+                        overheads, mode, preemptionPointInterval);
+                if (responseTime <= taskSet.getTask(candidate).getDeadline()) {
+                    chosen = c;
+                }
+            }
+            if (chosen < 0) {
+                return null;
+            }
+            priorityOrder[p] = unassigned[chosen];
+            System.arraycopy(unassigned, chosen + 1, unassigned, chosen, p - chosen);
+            blocking = Math.max(blocking,
+                    blockingChunk(taskSet.getTask(priorityOrder[p]), overhead, mode, preemptionPointInterval));
+        }
+        return priorityOrder;
+    }
+
+    // Task indices in deadline-monotonic order: shorter D - J first, the order that is optimal
+    // for preemptive tasks with constrained deadlines and release jitter. Ties keep set order.
+    public static int[] deadlineMonotonicOrder(TaskSet taskSet) {
+        return sortedOrder(taskSet, Comparator.comparingInt(
+                (Task task) -> task.getDeadline() - task.getReleaseJitter()));
+    }
+
+    // Same priority order as RateMonotonicScheduler: stable sort by period
+    public static int[] rateMonotonicOrder(TaskSet taskSet) {
+        return sortedOrder(taskSet, Comparator.comparingInt(Task::getPeriod));
+    }
+
+    // The tests below take 64-bit parameters in any unit of time (see TaskTiming), so
+    // nanosecond values beyond the int ticks of Task are analysed as given. They cover the
+    // plain model: preemptive dispatching without overheads, critical sections or servers.
+
+    // Worst-case response time of every task under the given priority order, measured from
+    // arrival. A value above the deadline only means "unschedulable".
+    public static long[] calculateResponseTimes(List<TaskTiming> tasks, int[] priorityOrder) {
+        long[] responseTimes = new long[tasks.size()];
+        for (int p = 0; p < priorityOrder.length; p++) {
+            responseTimes[priorityOrder[p]] = calculateResponseTime(tasks, priorityOrder, p);
+        }
+        return responseTimes;
+    }
+
+    public static boolean isSchedulableFP(List<TaskTiming> tasks, int[] priorityOrder) {
+        long[] responseTimes = calculateResponseTimes(tasks, priorityOrder);
+        for (int i = 0; i < responseTimes.length; i++) {
+            if (responseTimes[i] > tasks.get(i).getDeadline()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static boolean isSchedulableRM(List<TaskTiming> tasks) {
+        return isSchedulableFP(tasks, rateMonotonicOrder(tasks));
+    }
+
+    // Processor-demand test at every absolute deadline inside the synchronous busy period
+    public static boolean isSchedulableEDF(List<TaskTiming> tasks) {
+        if (calculateUtilization(tasks) > 1.0 + UTILIZATION_EPSILON) {
+            return false;
+        }
+        boolean implicitDeadlines = true;
+        for (TaskTiming task : tasks) {
+            if (task.getReleaseJitter() + task.getExecutionTime() > task.getDeadline()) {
+                return false;
+            }
+            implicitDeadlines &= task.getDeadline() >= task.getPeriod() && task.getReleaseJitter() == 0;
+        }
+        if (implicitDeadlines) {
+            return true;
+        }
+
+        long busyPeriod = calculateBusyPeriod(tasks);
+        if (busyPeriod < 0) {
+            return false;
+        }
+        for (TaskTiming task : tasks) {
+            for (long deadline = task.getDeadline() - task.getReleaseJitter(); deadline <= busyPeriod;
+                 deadline += task.getPeriod()) {
+                long demand = 0;
+                for (TaskTiming other : tasks) {
+                    long jitter = other.getReleaseJitter();
+                    if (deadline + jitter >= other.getDeadline()) {
+                        demand += ((deadline + jitter - other.getDeadline()) / other.getPeriod() + 1)
+                                * other.getExecutionTime();
+                    }
+                }
+                if (demand > deadline) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Audsley's assignment as above, for 64-bit parameters; null if no order is schedulable
+    public static int[] findOptimalPriorityOrder(List<TaskTiming> tasks) {
+        int taskCount = tasks.size();
+        if (calculateUtilization(tasks) > 1.0 + UTILIZATION_EPSILON) {
+            return null;
+        }
+        int[] unassigned = deadlineMonotonicOrder(tasks);
+        int[] priorityOrder = new int[taskCount];
+        int[] level = new int[taskCount];
+        for (int p = taskCount - 1; p >= 0; p--) {
+            int chosen = -1;
+            for (int c = p; c >= 0 && chosen < 0; c--) {
+                int candidate = unassigned[c];
+                int count = 0;
+                for (int u = 0; u <= p; u++) {
+                    if (u != c) {
+                        level[count++] = unassigned[u];
+                    }
+                }
+                level[count] = candidate;
+                if (calculateResponseTime(tasks, level, count) <= tasks.get(candidate).getDeadline()) {
+                    chosen = c;
+                }
+            }
+            if (chosen < 0) {
+                return null;
+            }
+            priorityOrder[p] = unassigned[chosen];
+            System.arraycopy(unassigned, chosen + 1, unassigned, chosen, p - chosen);
+        }
+        return priorityOrder;
+    }
+
+    public static int[] deadlineMonotonicOrder(List<TaskTiming> tasks) {
+        return sortedOrder(tasks, Comparator.comparingLong(
+                (TaskTiming task) -> task.getDeadline() - task.getReleaseJitter()));
+    }
+
+    public static int[] rateMonotonicOrder(List<TaskTiming> tasks) {
+        return sortedOrder(tasks, Comparator.comparingLong(TaskTiming::getPeriod));
+    }
+
+    public static double calculateUtilization(List<TaskTiming> tasks) {
+        double utilization = 0.0;
+        for (TaskTiming task : tasks) {
+            utilization += (double) task.getExecutionTime() / task.getPeriod();
+        }
+        return utilization;
+    }
+
+    // Fully preemptive response time of the task at level p below byPriority[0..p-1]: every
+    // job in the level-p active period finishes at the least w with
+    // w = (k + 1) C + sum over higher levels of ceil((w + J) / T) C
+    private static long calculateResponseTime(List<TaskTiming> tasks, int[] byPriority, int p) {
+        TaskTiming task = tasks.get(byPriority[p]);
+        double utilization = 0.0;
+        boolean jitter = false;
+        for (int q = 0; q <= p; q++) {
+            TaskTiming level = tasks.get(byPriority[q]);
+            utilization += (double) level.getExecutionTime() / level.getPeriod();
+            jitter |= level.getReleaseJitter() > 0;
+        }
+        if (utilization > 1.0 + UTILIZATION_EPSILON || (utilization >= 1.0 - UTILIZATION_EPSILON && jitter)) {
+            return Long.MAX_VALUE;
+        }
+        long activePeriod = task.getExecutionTime();
+        while (true) {
+            long next = 0;
+            for (int q = 0; q <= p; q++) {
+                TaskTiming level = tasks.get(byPriority[q]);
+                next += ceilDiv(activePeriod + level.getReleaseJitter(), level.getPeriod())
+                        * level.getExecutionTime();
+            }
+            if (next == activePeriod) {
+                break;
+            }
+            activePeriod = next;
+        }
+
+        long ownJitter = task.getReleaseJitter();
+        long jobs = ceilDiv(activePeriod + ownJitter, task.getPeriod());
+        long worst = 0;
+        // Each job finishes at least C after the one before, so the iteration resumes from there
+        long finish = 0;
+        for (long k = 0; k < jobs && worst <= task.getDeadline(); k++) {
+            finish += task.getExecutionTime();
+            while (true) {
+                long next = (k + 1) * task.getExecutionTime();
+                for (int q = 0; q < p; q++) {
+                    TaskTiming higher = tasks.get(byPriority[q]);
+                    next += ceilDiv(finish + higher.getReleaseJitter(), higher.getPeriod())
+                            * higher.getExecutionTime();
+                }
+                if (next == finish || next - k * task.getPeriod() + ownJitter > task.getDeadline()) {
+                    finish = next;
+                    break;
+                }
+                finish = next;
+            }
+            worst = Math.max(worst, finish - k * task.getPeriod() + ownJitter);
+        }
+        return worst;
+    }
+
+    // Worst-case response time of the task at level p when exactly byPriority[0..p-1] run
+    // above it and lower-priority jobs can block it for `blocking` units. Every job in the
+    // level-p active period is examined, because a job's final non-preemptive chunk can push
+    // higher-priority work into the next job of the same task. Response times are measured
+    // from arrival, so they include the task's own release jitter; other tasks' jitter bunches
+    // up their releases. Offsets are ignored, which is safe because synchronous release is the
+    // critical instant.
+    private static long calculateResponseTime(TaskSet taskSet, int[] byPriority, int p, long blocking,
+                                              OverheadModel overheads, PreemptionMode mode,
+                                              int preemptionPointInterval) {
+        int taskCount = taskSet.getTaskCount();
+        long overhead = overheads.getPerJobOverhead();
+        long releaseCost = overheads.getReleaseCost();
+        Task task = taskSet.getTask(byPriority[p]);
+        long cost = task.getExecutionTime() + overhead;
+        long lastChunk = mode.getLastChunk((int) Math.min(Integer.MAX_VALUE, cost), preemptionPointInterval);
+        for (CriticalSection section : task.getCriticalSections()) {
+            // Waiting for a lock and releasing one both end a chunk, and chunks start afresh there
+            for (long after : new long[]{cost - section.getStart(), cost - section.getEnd()}) {
+                if (after > 0) {
+                    lastChunk = Math.min(lastChunk,
+                            mode.getLastChunk((int) Math.min(Integer.MAX_VALUE, after), preemptionPointInterval));
+                }
+            }
+        }
+
+        long activePeriod = calculateLevelActivePeriod(taskSet, byPriority, p, overhead, releaseCost, blocking);
+        if (activePeriod < 0) {
+            return Long.MAX_VALUE;
+        }
+
+        long ownJitter = task.getReleaseJitter();
+        long jobs = ceilDiv(activePeriod + ownJitter, task.getPeriod());
+        long worst = 0;
+        for (long k = 0; k < jobs && worst <= task.getDeadline(); k++) {
+            // Start of the k-th job's last chunk: everything released up to that instant runs first
+            long ownWork = blocking + (k + 1) * cost - lastChunk;
+            long start = ownWork;
+            while (true) {
+                long next = ownWork;
+                for (int q = 0; q < p; q++) {
+                    Task higher = taskSet.getTask(byPriority[q]);
+                    next += ((start + higher.getReleaseJitter()) / higher.getPeriod() + 1)
+                            * (higher.getExecutionTime() + overhead);
+                }
+                for (int q = 0; q < taskCount; q++) {
+                    Task other = taskSet.getTask(q);
+                    next += ((start + other.getReleaseJitter()) / other.getPeriod() + 1) * releaseCost;
+                }
+                if (next == start || next - k * task.getPeriod() + ownJitter > task.getDeadline()) {
+                    start = next;
+                    break;
+                }
+                start = next;
+            }
+
+            // The last chunk itself can only be interrupted by releases
+            long finish = start + lastChunk;
+            while (releaseCost > 0) {
+                long next = start + lastChunk;
+                for (int q = 0; q < taskCount; q++) {
+                    long period = taskSet.getTask(q).getPeriod();
+                    long jitter = taskSet.getTask(q).getReleaseJitter();
+                    next += (ceilDiv(finish + jitter, period) - (start + jitter) / period - 1) * releaseCost;
+                }
+                if (next == finish) {
+                    break;
+                }
+                finish = next;
+            }
+            worst = Math.max(worst, finish - k * task.getPeriod() + ownJitter);
+        }
+        return worst;
+    }
+
+    // Blocking on lower-priority critical sections for a level with the tasks above[0..aboveCount)
+    // at or above it and below[belowFrom..] under it, or -1 if the protocol gives no bound. Only
+    // sections on resources used at or above the level can block it. The holder has run at
+    // least one unit of its section before the blocked job arrives, and the switches around the
+    // blocking plus the holder's cache reload cost one job's overhead.
+    private static long calculateSectionBlocking(TaskSet taskSet, int[] above, int aboveCount,
+                                                 int[] below, int belowFrom, long overhead,
+                                                 ResourceProtocol protocol) {
+        Set<String> usedAbove = new HashSet<>();
+        for (int a = 0; a < aboveCount; a++) {
+            for (CriticalSection section : taskSet.getTask(above[a]).getCriticalSections()) {
+                usedAbove.add(section.getResource());
+            }
+        }
+        if (usedAbove.isEmpty()) {
+            return 0;
+        }
+        long longest = 0;
+        long perTask = 0;
+        Map<String, Long> perResource = new HashMap<>();
+        for (int b = belowFrom; b < below.length; b++) {
+            long taskLongest = 0;
+            for (CriticalSection section : taskSet.getTask(below[b]).getCriticalSections()) {
+                if (usedAbove.contains(section.getResource())) {
+                    long term = section.getLength() - 1 + overhead;
+                    taskLongest = Math.max(taskLongest, term);
+                    perResource.merge(section.getResource(), term, Math::max);
+                }
+            }
+            longest = Math.max(longest, taskLongest);
+            perTask += taskLongest;
+        }
+        if (perResource.isEmpty()) {
+            return 0;
+        }
+        switch (protocol) {
+            case NONE:
+                // Medium-priority work can delay the lock holder indefinitely
+                return -1;
+            case PRIORITY_INHERITANCE: {
+                // At most once per lower-priority task and once per resource
+                long perResourceSum = 0;
+                for (long term : perResource.values()) {
+                    perResourceSum += term;
+                }
+                return Math.min(perTask, perResourceSum);
+            }
+            case PRIORITY_CEILING:
+                // At most one section, before the job first runs
+                return longest;
+            default:
+                throw new IllegalArgumentException(protocol + " is not supported for fixed priorities");
+        }
+    }
+
+    // Shortest relative deadline among the users of each resource used by two or more tasks;
+    // resources of a single task never block anyone
+    private static Map<String, Integer> sharedResourceCeilings(TaskSet taskSet) {
+        Map<String, Integer> ceilings = new HashMap<>();
+        Map<String, Integer> users = new HashMap<>();
+        for (int i = 0; i < taskSet.getTaskCount(); i++) {
+            Task task = taskSet.getTask(i);
+            Set<String> seen = new HashSet<>();
+            for (CriticalSection section : task.getCriticalSections()) {
+                if (seen.add(section.getResource())) {
+                    ceilings.merge(section.getResource(), task.getDeadline(), Math::min);
+                    users.merge(section.getResource(), 1, Integer::sum);
+                }
+            }
+        }
+        ceilings.keySet().removeIf(resource -> users.get(resource) < 2);
+        return ceilings;
+    }
+
+    private static int[] sortedOrder(TaskSet taskSet, Comparator<Task> priority) {
+        Integer[] byPriority = new Integer[taskSet.getTaskCount()];
+        for (int i = 0; i < byPriority.length; i++) {
+            byPriority[i] = i;
+        }
+        Arrays.sort(byPriority, (a, b) -> priority.compare(taskSet.getTask(a), taskSet.getTask(b)));
+        int[] order = new int[byPriority.length];
+        for (int p = 0; p < order.length; p++) {
+            order[p] = byPriority[p];
+        }
+        return order;
+    }
+
+    private static int[] sortedOrder(List<TaskTiming> tasks, Comparator<TaskTiming> priority) {
+        Integer[] byPriority = new Integer[tasks.size()];
+        for (int i = 0; i < byPriority.length; i++) {
+            byPriority[i] = i;
+        }
+        Arrays.sort(byPriority, (a, b) -> priority.compare(tasks.get(a), tasks.get(b)));
+        int[] order = new int[byPriority.length];
+        for (int p = 0; p < order.length; p++) {
+            order[p] = byPriority[p];
+        }
+        return order;
+    }
+
+    // Utilization including the worst-case overhead charged to every job
+    public static double calculateUtilization(TaskSet taskSet, OverheadModel overheads) {
+        double utilization = 0.0;
+        long overhead = overheads.getPerJobOverhead() + overheads.getReleaseCost();
+        for (int i = 0; i < taskSet.getTaskCount(); i++) {
+            Task task = taskSet.getTask(i);
+            utilization += (double) (task.getExecutionTime() + overhead) / task.getPeriod();
+        }
+        return utilization;
+    }
+
+    private static boolean isSchedulableWithDeferrableServer(TaskSet taskSet, AperiodicServer server) {
+        int taskCount = taskSet.getTaskCount();
+        long budget = server.getBudget();
+        long serverPeriod = server.getPeriod();
+        for (int i = 0; i < taskCount; i++) {
+            Task task = taskSet.getTask(i);
+            // Ties go to the periodic task, as in the stable RM order where the server comes last
+            boolean serverHigher = serverPeriod < task.getPeriod();
+            long response = task.getExecutionTime();
+            while (response + task.getReleaseJitter() <= task.getDeadline()) {
+                long next = task.getExecutionTime();
+                for (int j = 0; j < taskCount; j++) {
+                    Task other = taskSet.getTask(j);
+                    if (j != i && (other.getPeriod() < task.getPeriod()
+                            || (other.getPeriod() == task.getPeriod() && j < i))) {
+                        next += ceilDiv(response + other.getReleaseJitter(), other.getPeriod()) * other.getExecutionTime();
+                    }
+                }
+                if (serverHigher) {
+                    next += ceilDiv(response + serverPeriod - budget, serverPeriod) * budget;
+                }
+                if (next == response) {
+                    break;
+                }
+                response = next;
+            }
+            if (response + task.getReleaseJitter() > task.getDeadline()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSchedulableWithBandwidthServer(TaskSet taskSet, AperiodicServer server) {
+        int taskCount = taskSet.getTaskCount();
+        double utilization = calculateUtilization(taskSet) + server.getUtilization();
+        if (utilization > 1.0 + UTILIZATION_EPSILON) {
+            return false;
+        }
+
+        boolean implicitDeadlines = true;
+        for (int i = 0; i < taskCount && implicitDeadlines; i++) {
+            Task task = taskSet.getTask(i);
+            implicitDeadlines = task.getDeadline() >= task.getPeriod() && task.getReleaseJitter() == 0;
+        }
+        if (implicitDeadlines) {
+            return true;
+        }
+
+        // With constrained deadlines the periodic demand plus the server's bandwidth share
+        // must fit at every deadline of the synchronous busy period
+        TaskSet withServer = new TaskSet(taskSet.getTasks());
+        withServer.addTask(server.toTask());
+        long busyPeriod = calculateBusyPeriod(withServer, OverheadModel.NONE, 0);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = taskSet.getTask(i);
+            for (long deadline = task.getDeadline() - task.getReleaseJitter(); deadline <= busyPeriod;
+                 deadline += task.getPeriod()) {
+                long demand = deadline * server.getBudget() / server.getPeriod();
+                for (int j = 0; j < taskCount; j++) {
+                    Task other = taskSet.getTask(j);
+                    long jitter = other.getReleaseJitter();
+                    if (deadline + jitter >= other.getDeadline()) {
+                        demand += ((deadline + jitter - other.getDeadline()) / other.getPeriod() + 1)
+                                * other.getExecutionTime();
+                    }
+                }
+                if (demand > deadline) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    // Length of the synchronous busy period starting with `blocking` units of lower-priority
+    // work, or -1 if it does not end. At full utilization it only ends without blocking or
+    // jitter, which would otherwise add work the idle-free processor never catches up with.
+    private static long calculateBusyPeriod(TaskSet taskSet, OverheadModel overheads, long blocking) {
+        long overhead = overheads.getPerJobOverhead() + overheads.getReleaseCost();
+        boolean jitter = false;
+        for (int i = 0; i < taskSet.getTaskCount(); i++) {
+            jitter |= taskSet.getTask(i).getReleaseJitter() > 0;
+        }
+        if ((blocking > 0 || jitter) && calculateUtilization(taskSet, overheads) >= 1.0 - UTILIZATION_EPSILON) {
+            return -1;
+        }
+        long busyPeriod = blocking;
+        for (int i = 0; i < taskSet.getTaskCount(); i++) {
+            busyPeriod += taskSet.getTask(i).getExecutionTime() + overhead;
+        }
+        while (true) {
+            long next = blocking;
+            for (int i = 0; i < taskSet.getTaskCount(); i++) {
+                Task task = taskSet.getTask(i);
+                next += ceilDiv(busyPeriod + task.getReleaseJitter(), task.getPeriod())
+                        * (task.getExecutionTime() + overhead);
+            }
+            if (next == busyPeriod) {
+                return busyPeriod;
+            }
+            busyPeriod = next;
+        }
+    }
+
+    // Synchronous busy period of 64-bit tasks, or -1 if it does not end
+    private static long calculateBusyPeriod(List<TaskTiming> tasks) {
+        boolean jitter = false;
+        long busyPeriod = 0;
+        for (TaskTiming task : tasks) {
+            jitter |= task.getReleaseJitter() > 0;
+            busyPeriod += task.getExecutionTime();
+        }
+        if (jitter && calculateUtilization(tasks) >= 1.0 - UTILIZATION_EPSILON) {
+            return -1;
+        }
+        while (true) {
+            long next = 0;
+            for (TaskTiming task : tasks) {
+                next += ceilDiv(busyPeriod + task.getReleaseJitter(), task.getPeriod()) * task.getExecutionTime();
+            }
+            if (next == busyPeriod) {
+                return busyPeriod;
+            }
+            busyPeriod = next;
+        }
+    }
+
+    // Level-i active period: blocking plus all work of priority p and above, or -1 if it
+    // does not end
+    private static long calculateLevelActivePeriod(TaskSet taskSet, int[] byPriority, int p,
+                                                   long overhead, long releaseCost, long blocking) {
+        double utilization = 0.0;
+        boolean jitter = false;
+        for (int q = 0; q <= p; q++) {
+            Task task = taskSet.getTask(byPriority[q]);
+            utilization += (double) (task.getExecutionTime() + overhead) / task.getPeriod();
+            jitter |= task.getReleaseJitter() > 0;
+        }
+        for (int q = 0; q < taskSet.getTaskCount(); q++) {
+            utilization += (double) releaseCost / taskSet.getTask(q).getPeriod();
+            jitter |= releaseCost > 0 && taskSet.getTask(q).getReleaseJitter() > 0;
+        }
+        if (utilization > 1.0 + UTILIZATION_EPSILON
+                || (utilization >= 1.0 - UTILIZATION_EPSILON && (blocking > 0 || jitter))) {
+            return -1;
+        }
+
+        long activePeriod = blocking + taskSet.getTask(byPriority[p]).getExecutionTime() + overhead;
+        while (true) {
+            long next = blocking;
+            for (int q = 0; q <= p; q++) {
+                Task task = taskSet.getTask(byPriority[q]);
+                next += ceilDiv(activePeriod + task.getReleaseJitter(), task.getPeriod())
+                        * (task.getExecutionTime() + overhead);
+            }
+            for (int q = 0; q < taskSet.getTaskCount(); q++) {
+                Task task = taskSet.getTask(q);
+                next += ceilDiv(activePeriod + task.getReleaseJitter(), task.getPeriod()) * releaseCost;
+            }
+            if (next == activePeriod) {
+                return activePeriod;
+            }
+            activePeriod = next;
+        }
+    }
+
+    // Blocking a job of this task can cause: it started a chunk one tick before a more urgent
+    // release, so it holds the CPU for the rest of that chunk
+    private static long blockingChunk(Task task, long overhead, PreemptionMode mode, int preemptionPointInterval) {
+        long cost = task.getExecutionTime() + overhead;
+        return mode.getMaxChunk((int) Math.min(Integer.MAX_VALUE, cost), preemptionPointInterval) - 1;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+
     private static double calculateUtilization(TaskSet taskSet) {
         double utilization = 0.0;
         for (int i = 0; i < taskSet.getTaskCount(); i++) {
@@ -21,4 +847,4 @@ public class SchedulabilityAnalyzer {
         }
         return utilization;
     }
-}
\ No newline at end of file
+}
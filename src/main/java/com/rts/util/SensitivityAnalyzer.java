@@ -0,0 +1,711 @@
+package com.rts.util;
+
+import com.rts.model.Task;
+import com.rts.model.TaskSet;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+// Execution-time headroom of a task set under preemptive RM or EDF scheduling without
+// overheads: the factor every WCET can be scaled by, and the extra units each task can absorb
+// on its own. Both are searches over the exact tests (response-time analysis for RM, processor
+// demand with QPA for EDF) that reuse earlier work: RM busy windows restart from the last
+// schedulable probe, since loads only grow, and EDF walks the deadline points downwards once,
+// cutting the costs back to what each failing point admits. Cheap bounds narrow every search
+// range before any probe runs. Deadlines must not exceed periods.
+public class SensitivityAnalyzer {
+    // Relative precision of the scaling factor searches
+    public static final double DEFAULT_PRECISION = 1e-4;
+    private static final double UTILIZATION_EPSILON = 1e-9;
+
+    // Largest factor all execution times can be multiplied by while RM keeps every deadline.
+    // Below 1 means the set is not schedulable as is.
+    public static double calculateScalingFactorRM(TaskSet taskSet) {
+        return calculateScalingFactorRM(taskSet, DEFAULT_PRECISION);
+    }
+
+    public static double calculateScalingFactorRM(TaskSet taskSet, double precision) {
+        PriorityOrder order = PriorityOrder.rateMonotonic(taskSet);
+        int n = order.size();
+        if (n == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double[] warm = new double[n];
+        double lo = 0.0;
+        double hi = 1.0 / order.utilization();
+        double[] probe = warm.clone();
+        if (fitsScaledRM(order, hi, probe)) {
+            return hi;
+        }
+        // Probe the set as it is first, so the factor is at least 1 exactly when it is schedulable
+        probe = warm.clone();
+        if (fitsScaledRM(order, 1.0, probe)) {
+            lo = 1.0;
+            warm = probe;
+        } else {
+            hi = Math.min(hi, 1.0);
+        }
+        while (hi - lo > precision * hi) {
+            double mid = (lo + hi) / 2;
+            probe = warm.clone();
+            if (fitsScaledRM(order, mid, probe)) {
+                lo = mid;
+                warm = probe;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    // Utilization the set reaches when scaled up to its RM breakdown point
+    public static double calculateBreakdownUtilizationRM(TaskSet taskSet) {
+        return calculateScalingFactorRM(taskSet) * PriorityOrder.rateMonotonic(taskSet).utilization();
+    }
+
+    // Extra execution time each task (indexed like the task set) can take on its own before
+    // some task misses a deadline under RM, or -1 for every task if the set already fails
+    public static int[] calculateExecutionSlackRM(TaskSet taskSet) {
+        PriorityOrder order = PriorityOrder.rateMonotonic(taskSet);
+        int n = order.size();
+        int[] slack = new int[n];
+
+        // Baseline busy windows, and the work each task sees by its latest release-to-deadline point
+        long[] window = new long[n];
+        long[] demandAtDeadline = new long[n];
+        for (int p = 0; p < n; p++) {
+            window[p] = responseWindow(order, p, -1, 0, order.cost[p]);
+            if (window[p] + order.jitter[p] > order.deadline[p]) {
+                Arrays.fill(slack, -1);
+                return slack;
+            }
+            long point = order.deadline[p] - order.jitter[p];
+            demandAtDeadline[p] = interference(order, p, point, -1, 0) + order.cost[p];
+        }
+
+        // Every lower-priority task suffers at least one extra job of the grown task
+        long[] minLaxity = new long[n + 1];
+        minLaxity[n] = Long.MAX_VALUE;
+        for (int p = n - 1; p >= 0; p--) {
+            minLaxity[p] = Math.min(minLaxity[p + 1], order.deadline[p] - order.jitter[p] - window[p]);
+        }
+
+        double utilization = order.utilization();
+        int lastFailure = n - 1;
+        for (int k = 0; k < n; k++) {
+            long hi = Math.max(0, Math.min(minLaxity[k],
+                    (long) Math.floor((1.0 - utilization) * order.period[k] + UTILIZATION_EPSILON)));
+            // Growth every task still absorbs at its deadline point
+            long lo = hi;
+            for (int p = k; p < n && lo > 0; p++) {
+                long point = order.deadline[p] - order.jitter[p];
+                long jobs = p == k ? 1 : ceilDiv(point + order.jitter[k], order.period[k]);
+                lo = Math.min(lo, Math.max(0, (point - demandAtDeadline[p]) / jobs));
+            }
+
+            long[] warm = window.clone();
+            while (lo < hi) {
+                long mid = lo + (hi - lo + 1) / 2;
+                long[] probe = warm.clone();
+                int failure = firstFailureRM(order, k, mid, probe, window, demandAtDeadline, lastFailure);
+                if (failure < 0) {
+                    lo = mid;
+                    warm = probe;
+                } else {
+                    hi = mid - 1;
+                    lastFailure = failure;
+                }
+            }
+            slack[order.taskAt[k]] = (int) Math.min(Integer.MAX_VALUE, lo);
+        }
+        return slack;
+    }
+
+    // Largest factor all execution times can be multiplied by while EDF keeps every deadline.
+    // Scaling down only lowers demand, so the deadline points are walked downwards once from the
+    // first probe just below full utilization: a point that fails caps the factor at t / dbf(t)
+    // exactly, and the walk goes on below it. The result is exact unless utilization alone
+    // limits the set, where it lies within `precision` of 1 / U; the demand test would need
+    // about 1 / precision steps to get any closer.
+    public static double calculateScalingFactorEDF(TaskSet taskSet) {
+        return calculateScalingFactorEDF(taskSet, DEFAULT_PRECISION);
+    }
+
+    public static double calculateScalingFactorEDF(TaskSet taskSet, double precision) {
+        PriorityOrder order = PriorityOrder.asGiven(taskSet);
+        int n = order.size();
+        if (n == 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double utilization = order.utilization();
+        if (order.implicitDeadlines()) {
+            return 1.0 / utilization;
+        }
+
+        double[] unit = new double[n];
+        for (int i = 0; i < n; i++) {
+            unit[i] = order.cost[i];
+        }
+        double factor = (1.0 - precision) / utilization;
+        double[] cost = scale(unit, factor);
+        double checked = 0.0;
+        double top = nextWindowEDF(order, cost, checked);
+        double from = top;
+        while (!Double.isNaN(top)) {
+            double violation = lastViolationEDF(order, cost, from, checked);
+            if (Double.isNaN(violation)) {
+                checked = top;
+                top = nextWindowEDF(order, cost, checked);
+                from = top;
+                continue;
+            }
+            factor = Math.min(Math.nextDown(factor), violation / demand(order, unit, violation));
+            cost = scale(unit, factor);
+            from = violation;
+        }
+        return factor;
+    }
+
+    public static double calculateBreakdownUtilizationEDF(TaskSet taskSet) {
+        return calculateScalingFactorEDF(taskSet) * PriorityOrder.asGiven(taskSet).utilization();
+    }
+
+    // Extra execution time each task can take on its own before EDF misses a deadline,
+    // or -1 for every task if the set already fails. The answer agrees with
+    // SchedulabilityAnalyzer.isSchedulableEDF, full utilization included. Each task starts from
+    // the largest growth its utilization and its own first deadline leave room for, and one walk
+    // over the deadline points then cuts all growths back to what the demand test admits.
+    public static int[] calculateExecutionSlackEDF(TaskSet taskSet) {
+        PriorityOrder order = PriorityOrder.asGiven(taskSet);
+        int n = order.size();
+        int[] slack = new int[n];
+
+        double[] cost = new double[n];
+        boolean jitter = false;
+        for (int i = 0; i < n; i++) {
+            cost[i] = order.cost[i];
+            jitter |= order.jitter[i] > 0;
+        }
+        if (!Double.isNaN(firstViolationEDF(order, cost))) {
+            Arrays.fill(slack, -1);
+            return slack;
+        }
+        boolean implicitDeadlines = order.implicitDeadlines();
+        double utilization = order.utilization();
+
+        // Density bound: the set stays schedulable while the summed densities stay at most 1
+        double density = 0.0;
+        for (int i = 0; i < n; i++) {
+            density += (double) order.cost[i] / (order.deadline[i] - order.jitter[i]);
+        }
+
+        long[] extra = new long[n];
+        long[] lo = new long[n];
+        for (int k = 0; k < n; k++) {
+            long first = order.deadline[k] - order.jitter[k];
+            long hi = Math.min(first - order.cost[k], maxGrowthByUtilization(order, utilization, k, jitter));
+            if (implicitDeadlines) {
+                // The utilization bound is exact here
+                extra[k] = hi;
+                continue;
+            }
+            lo[k] = Math.max(0, Math.min(hi, (long) Math.floor((1.0 - density) * first + UTILIZATION_EPSILON)));
+            extra[k] = Math.max(lo[k], Math.min(hi, admittedGrowth(order, cost, k, first)));
+        }
+        if (!implicitDeadlines) {
+            cutGrowthsEDF(order, cost, utilization, extra, lo);
+        }
+        for (int k = 0; k < n; k++) {
+            slack[k] = (int) Math.min(Integer.MAX_VALUE, extra[k]);
+        }
+        return slack;
+    }
+
+    // A point t fails for task k exactly when dbf(t) + extra[k] * jobs_k(t) > t, so one QPA walk
+    // over dbf(t) + max_k extra[k] * jobs_k(t) checks every growth at once: a failing point cuts
+    // the task that sets the maximum back to what the point admits, and passing points cover all
+    // tasks. Windows double up to the furthest horizon of the grown sets, so early failures cut
+    // the growths before the long windows are walked. Growths at or below `lo` are known to fit.
+    private static void cutGrowthsEDF(PriorityOrder order, double[] cost, double utilization, long[] extra,
+                                      long[] lo) {
+        int n = order.size();
+        // Plain double copies keep the walk's inner loop cheap
+        double[] first = new double[n];
+        double[] period = new double[n];
+        double bound = 0.0;
+        for (int i = 0; i < n; i++) {
+            first[i] = order.deadline[i] - order.jitter[i];
+            period[i] = order.period[i];
+            bound += cost[i] * (period[i] - first[i]) / period[i];
+        }
+        double[] horizon = new double[n];
+        Integer[] byHorizon = new Integer[n];
+        for (int k = 0; k < n; k++) {
+            horizon[k] = growthHorizonEDF(order, utilization, bound, k, extra[k]);
+            byHorizon[k] = k;
+        }
+        double[] jobs = new double[n];
+        // Points up to `checked` fit every growth; the walk covers the window (checked, top]
+        double checked = 0.0;
+        for (double top = nextSlackWindowEDF(order, cost, extra, lo, checked); !Double.isNaN(top);
+             top = nextSlackWindowEDF(order, cost, extra, lo, checked)) {
+            // Tasks whose horizon lies at or below a point cannot fail there. Going down, the
+            // ones that can form a growing prefix of this order; cuts only lower horizons inside it.
+            Arrays.sort(byHorizon, Comparator.comparingDouble(k -> -horizon[k]));
+            int open = 0;
+            double t = top;
+            while (t > checked) {
+                // Demand only changes at deadline points, so t stands for the last one at or below it
+                double point = Double.NEGATIVE_INFINITY;
+                double demand = 0.0;
+                for (int i = 0; i < n; i++) {
+                    double shifted = t - first[i];
+                    if (shifted < 0) {
+                        jobs[i] = 0.0;
+                        continue;
+                    }
+                    double periods = Math.floor(shifted / period[i]);
+                    jobs[i] = periods + 1;
+                    demand += jobs[i] * cost[i];
+                    double deadline = first[i] + periods * period[i];
+                    if (deadline > point) {
+                        point = deadline;
+                    }
+                }
+                if (point <= checked) {
+                    break;
+                }
+                while (open < n && horizon[byHorizon[open]] > point) {
+                    open++;
+                }
+                // Jumps stop at the highest horizon at or below the point, so the tasks that
+                // can fail stay the same over each jump
+                double need = 0.0;
+                int limiting = -1;
+                double boundary = open < n ? horizon[byHorizon[open]] : 0.0;
+                for (int j = 0; j < open; j++) {
+                    int i = byHorizon[j];
+                    if (horizon[i] <= point) {
+                        if (horizon[i] > boundary) {
+                            boundary = horizon[i];
+                        }
+                    } else if (jobs[i] * extra[i] > need) {
+                        need = jobs[i] * extra[i];
+                        limiting = i;
+                    }
+                }
+                if (demand + need > point) {
+                    // Points above this one fit the larger growth already
+                    extra[limiting] = Math.max(0, Math.min(extra[limiting] - 1,
+                            (long) Math.floor((point - demand) / jobs[limiting])));
+                    horizon[limiting] = growthHorizonEDF(order, utilization, bound, limiting, extra[limiting]);
+                    t = point;
+                    continue;
+                }
+                double reach = Math.max(demand + need, boundary);
+                if (reach <= checked) {
+                    break;
+                }
+                // Deadline points are whole numbers
+                t = reach < point ? reach : point - 1;
+            }
+            checked = top;
+        }
+    }
+
+    // Point from which the demand of the set with task k grown by `extra` stays at or below t,
+    // since it never exceeds U * t plus the bound; infinite at full utilization
+    private static double growthHorizonEDF(PriorityOrder order, double utilization, double bound, int k,
+                                           long extra) {
+        double grown = utilization + (double) extra / order.period[k];
+        if (grown >= 1.0 - UTILIZATION_EPSILON) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double first = order.deadline[k] - order.jitter[k];
+        // Widened a little so rounding never moves it below a failing point
+        return (bound + extra * (order.period[k] - first) / order.period[k]) / (1.0 - grown)
+                * (1.0 + UTILIZATION_EPSILON) + 1.0;
+    }
+
+    // End of the next window the slack walk covers once (0, checked] fits every growth above its
+    // lower bound: the furthest window any of the grown sets still needs, or NaN if none does.
+    // Each grown set differs from the baseline sums in task k's terms only.
+    private static double nextSlackWindowEDF(PriorityOrder order, double[] cost, long[] extra, long[] lo,
+                                             double checked) {
+        double utilization = 0.0;
+        double bound = 0.0;
+        double lastFirstDeadline = 0.0;
+        double work = 0.0;
+        for (int i = 0; i < order.size(); i++) {
+            double first = order.deadline[i] - order.jitter[i];
+            utilization += cost[i] / order.period[i];
+            bound += cost[i] * (order.period[i] - first) / order.period[i];
+            lastFirstDeadline = Math.max(lastFirstDeadline, first);
+            work += Math.ceil((checked + order.jitter[i]) / order.period[i]) * cost[i];
+        }
+        double top = Double.NaN;
+        for (int k = 0; k < order.size(); k++) {
+            if (extra[k] <= lo[k]) {
+                continue;
+            }
+            double period = order.period[k];
+            double first = order.deadline[k] - order.jitter[k];
+            cost[k] = order.cost[k] + extra[k];
+            double window = nextWindowEDF(order, cost, checked, utilization + extra[k] / period,
+                    bound + extra[k] * (period - first) / period, lastFirstDeadline,
+                    work + Math.ceil((checked + order.jitter[k]) / period) * extra[k]);
+            cost[k] = order.cost[k];
+            if (!Double.isNaN(window) && !(window <= top)) {
+                top = window;
+            }
+        }
+        return top;
+    }
+
+    // Largest growth of task k that keeps the utilization test of isSchedulableEDF passing:
+    // at most 1, or below 1 once release jitter makes the busy period unbounded at full load
+    private static long maxGrowthByUtilization(PriorityOrder order, double utilization, int k, boolean jitter) {
+        long growth = Math.max(0, (long) Math.floor((1.0 - utilization) * order.period[k] + UTILIZATION_EPSILON));
+        while (growth > 0 && (jitter
+                ? utilization + (double) growth / order.period[k] >= 1.0 - UTILIZATION_EPSILON
+                : utilization + (double) growth / order.period[k] > 1.0 + UTILIZATION_EPSILON)) {
+            growth--;
+        }
+        return growth;
+    }
+
+    // Response-time analysis with every cost scaled by `factor`; `window` holds lower bounds
+    // of the busy windows on entry and the fixed points on success
+    private static boolean fitsScaledRM(PriorityOrder order, double factor, double[] window) {
+        for (int p = 0; p < order.size(); p++) {
+            double limit = order.deadline[p] - order.jitter[p];
+            double w = Math.max(window[p], (p > 0 ? window[p - 1] : 0.0) + factor * order.cost[p]);
+            while (true) {
+                double next = factor * order.cost[p];
+                for (int q = 0; q < p; q++) {
+                    next += Math.ceil((w + order.jitter[q]) / order.period[q]) * factor * order.cost[q];
+                }
+                if (next > limit) {
+                    return false;
+                }
+                if (next <= w) {
+                    break;
+                }
+                w = next;
+            }
+            window[p] = w;
+        }
+        return true;
+    }
+
+    // First task at or below priority k that misses its deadline once task k takes `extra`
+    // more units, or -1. The task that failed the previous probe is tried first, and tasks that
+    // still fit at their deadline point skip the fixed-point iteration. Windows of a smaller
+    // probe, and baseline windows grown by one extra job, are both lower bounds to start from.
+    private static int firstFailureRM(PriorityOrder order, int k, long extra, long[] window,
+                                      long[] baseline, long[] demandAtDeadline, int lastFailure) {
+        int n = order.size();
+        for (int step = -1; step < n - k; step++) {
+            int p = step < 0 ? lastFailure : k + step;
+            if (p < k || (step >= 0 && p == lastFailure)) {
+                continue;
+            }
+            long point = order.deadline[p] - order.jitter[p];
+            long jobs = p == k ? 1 : ceilDiv(point + order.jitter[k], order.period[k]);
+            if (demandAtDeadline[p] + extra * jobs <= point) {
+                continue;
+            }
+            long own = order.cost[p] + (p == k ? extra : 0);
+            long start = Math.max(Math.max(window[p], baseline[p] + extra), own);
+            if (p > 0) {
+                // A level-p busy window holds the level above it plus one job of p
+                start = Math.max(start, window[p - 1] + own);
+            }
+            window[p] = responseWindow(order, p, k, extra, start);
+            if (window[p] > point) {
+                return p;
+            }
+        }
+        return -1;
+    }
+
+    // Least busy window of priority p at or above `start` when task k has `extra` more units,
+    // stopping once it passes the deadline
+    private static long responseWindow(PriorityOrder order, int p, int k, long extra, long start) {
+        long own = order.cost[p] + (p == k ? extra : 0);
+        long limit = order.deadline[p] - order.jitter[p];
+        long w = start;
+        while (true) {
+            long next = own + interference(order, p, w, k, extra);
+            if (next > limit || next <= w) {
+                return Math.max(next, w);
+            }
+            w = next;
+        }
+    }
+
+    private static long interference(PriorityOrder order, int p, long window, int k, long extra) {
+        long total = 0;
+        for (int q = 0; q < p; q++) {
+            long cost = order.cost[q] + (q == k ? extra : 0);
+            total += ceilDiv(window + order.jitter[q], order.period[q]) * cost;
+        }
+        return total;
+    }
+
+    // Exact processor-demand test with the given costs. Returns a point whose demand exceeds
+    // it, or NaN if the costs fit.
+    private static double firstViolationEDF(PriorityOrder order, double[] cost) {
+        int n = order.size();
+        double utilization = 0.0;
+        boolean jitter = false;
+        for (int i = 0; i < n; i++) {
+            double first = order.deadline[i] - order.jitter[i];
+            if (cost[i] > first) {
+                return first;
+            }
+            utilization += cost[i] / order.period[i];
+            jitter |= order.jitter[i] > 0;
+        }
+        if (utilization > 1.0 + UTILIZATION_EPSILON) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (utilization >= 1.0 - UTILIZATION_EPSILON) {
+            if (order.implicitDeadlines()) {
+                return Double.NaN;
+            }
+            // The demand of jittered jobs eventually overtakes a processor with no idle time
+            if (jitter) {
+                return Double.POSITIVE_INFINITY;
+            }
+        }
+        double checked = 0.0;
+        for (double top = nextWindowEDF(order, cost, checked); !Double.isNaN(top);
+             top = nextWindowEDF(order, cost, checked)) {
+            double violation = lastViolationEDF(order, cost, top, checked);
+            if (!Double.isNaN(violation)) {
+                return violation;
+            }
+            checked = top;
+        }
+        return Double.NaN;
+    }
+
+    // End of the next window of deadline points to check once (0, checked] fits, or NaN if no
+    // violation can lie beyond `checked`. That holds once the synchronous busy period, where every
+    // job arrives at 0 and is released as late as its jitter allows, has ended (W(t) <= t), below
+    // full utilization once demand, which never exceeds U * t plus a constant, can no longer catch
+    // up with t, and one hyperperiod past the last first deadline, where demand repeats with no
+    // less slack. Windows double up to that point; at full utilization without a common period
+    // that fits in a long, the busy period is one window.
+    private static double nextWindowEDF(PriorityOrder order, double[] cost, double checked) {
+        double utilization = 0.0;
+        double bound = 0.0;
+        double lastFirstDeadline = 0.0;
+        double work = 0.0;
+        for (int i = 0; i < order.size(); i++) {
+            double first = order.deadline[i] - order.jitter[i];
+            utilization += cost[i] / order.period[i];
+            bound += cost[i] * (order.period[i] - first) / order.period[i];
+            lastFirstDeadline = Math.max(lastFirstDeadline, first);
+            work += Math.ceil((checked + order.jitter[i]) / order.period[i]) * cost[i];
+        }
+        return nextWindowEDF(order, cost, checked, utilization, bound, lastFirstDeadline, work);
+    }
+
+    // Same, given the sums over `cost` that decide it: U, the demand bound over U * t, the last
+    // first deadline and the work arriving by `checked`
+    private static double nextWindowEDF(PriorityOrder order, double[] cost, double checked, double utilization,
+                                        double bound, double lastFirstDeadline, double work) {
+        boolean full = utilization >= 1.0 - UTILIZATION_EPSILON;
+        double horizon = Math.min(lastFirstDeadline + order.hyperperiod, full ? Double.POSITIVE_INFINITY
+                : Math.max(lastFirstDeadline, bound / (1.0 - utilization)));
+        if (checked >= lastFirstDeadline && (work <= checked || checked >= horizon)) {
+            return Double.NaN;
+        }
+        if (!Double.isInfinite(horizon)) {
+            return Math.min(horizon, Math.max(lastFirstDeadline, 2 * checked));
+        }
+        double length = 0.0;
+        for (int i = 0; i < order.size(); i++) {
+            length += cost[i];
+        }
+        while (true) {
+            double next = 0.0;
+            for (int i = 0; i < order.size(); i++) {
+                next += Math.ceil((length + order.jitter[i]) / order.period[i]) * cost[i];
+            }
+            if (next <= length) {
+                double end = Math.max(length, lastFirstDeadline);
+                return checked >= end ? Double.NaN : end;
+            }
+            length = next;
+        }
+    }
+
+    // Quick Processor-demand Analysis (Zhang and Burns): walk the deadline points downwards
+    // from `from` to just above `to`, jumping straight to the demand whenever it is below the
+    // current point. Returns the first point whose demand exceeds it, or NaN if none does.
+    private static double lastViolationEDF(PriorityOrder order, double[] cost, double from, double to) {
+        double firstDeadline = Double.MAX_VALUE;
+        for (int i = 0; i < order.size(); i++) {
+            firstDeadline = Math.min(firstDeadline, order.deadline[i] - order.jitter[i]);
+        }
+        double stop = Math.max(firstDeadline, to);
+        double t = lastDeadline(order, from, true);
+        while (t >= firstDeadline && t > to) {
+            double demand = demand(order, cost, t);
+            if (demand > t) {
+                return t;
+            }
+            if (demand <= stop) {
+                return Double.NaN;
+            }
+            t = demand < t ? lastDeadline(order, demand, true) : lastDeadline(order, t, false);
+        }
+        return Double.NaN;
+    }
+
+    // Growth of task k's cost that still fits at point t, given the other costs
+    private static long admittedGrowth(PriorityOrder order, double[] cost, int k, double t) {
+        double shifted = t + order.jitter[k] - order.deadline[k];
+        if (Double.isInfinite(t) || shifted < 0) {
+            return Long.MAX_VALUE;
+        }
+        double jobs = Math.floor(shifted / order.period[k]) + 1;
+        return (long) Math.floor((t - demand(order, cost, t)) / jobs);
+    }
+
+    private static double[] scale(double[] cost, double factor) {
+        double[] scaled = new double[cost.length];
+        for (int i = 0; i < cost.length; i++) {
+            scaled[i] = factor * cost[i];
+        }
+        return scaled;
+    }
+
+    // Work with release and deadline inside [0, t] when every task arrives at 0 and the first
+    // job of each is released as late as its jitter allows
+    private static double demand(PriorityOrder order, double[] cost, double t) {
+        double demand = 0.0;
+        for (int i = 0; i < order.size(); i++) {
+            double shifted = t + order.jitter[i] - order.deadline[i];
+            if (shifted >= 0) {
+                demand += (Math.floor(shifted / order.period[i]) + 1) * cost[i];
+            }
+        }
+        return demand;
+    }
+
+    // Latest absolute deadline (relative to the synchronous release) before `time`, or at it
+    // if `inclusive`
+    private static double lastDeadline(PriorityOrder order, double time, boolean inclusive) {
+        double latest = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < order.size(); i++) {
+            double first = order.deadline[i] - order.jitter[i];
+            if (first < time || (inclusive && first == time)) {
+                double jobs = Math.floor((time - first) / order.period[i]);
+                double deadline = first + jobs * order.period[i];
+                if (deadline == time && !inclusive) {
+                    deadline -= order.period[i];
+                }
+                latest = Math.max(latest, deadline);
+            }
+        }
+        return latest;
+    }
+
+    private static long ceilDiv(long value, long divisor) {
+        return (value + divisor - 1) / divisor;
+    }
+
+    // Task parameters copied into arrays in priority order (highest first)
+    private static final class PriorityOrder {
+        final int[] taskAt;
+        final long[] cost;
+        final long[] period;
+        final long[] deadline;
+        final long[] jitter;
+        // Common period of all tasks, or infinite if it does not fit in a long
+        final double hyperperiod;
+
+        private PriorityOrder(TaskSet taskSet, Integer[] byPriority) {
+            int n = byPriority.length;
+            this.taskAt = new int[n];
+            this.cost = new long[n];
+            this.period = new long[n];
+            this.deadline = new long[n];
+            this.jitter = new long[n];
+            long common = 1;
+            for (int p = 0; p < n; p++) {
+                Task task = taskSet.getTask(byPriority[p]);
+                if (task.getDeadline() > task.getPeriod()) {
+                    throw new IllegalArgumentException("Sensitivity analysis needs deadlines no longer than periods");
+                }
+                taskAt[p] = byPriority[p];
+                cost[p] = task.getExecutionTime();
+                period[p] = task.getPeriod();
+                deadline[p] = task.getDeadline();
+                jitter[p] = task.getReleaseJitter();
+                common = common > 0 ? lcm(common, period[p]) : common;
+            }
+            this.hyperperiod = common > 0 ? common : Double.POSITIVE_INFINITY;
+        }
+
+        // Least common multiple, or -1 once it no longer fits in a long
+        private static long lcm(long a, long b) {
+            long x = a;
+            long y = b;
+            while (y != 0) {
+                long r = x % y;
+                x = y;
+                y = r;
+            }
+            try {
+                return Math.multiplyExact(a / x, b);
+            } catch (ArithmeticException e) {
+                return -1;
+            }
+        }
+
+        // Same priority order as RateMonotonicScheduler: stable sort by period
+        static PriorityOrder rateMonotonic(TaskSet taskSet) {
+            Integer[] byPriority = indices(taskSet);
+            Arrays.sort(byPriority, Comparator.comparingInt(i -> taskSet.getTask(i).getPeriod()));
+            return new PriorityOrder(taskSet, byPriority);
+        }
+
+        static PriorityOrder asGiven(TaskSet taskSet) {
+            return new PriorityOrder(taskSet, indices(taskSet));
+        }
+
+        private static Integer[] indices(TaskSet taskSet) {
+            Integer[] indices = new Integer[taskSet.getTaskCount()];
+            for (int i = 0; i < indices.length; i++) {
+                indices[i] = i;
+            }
+            return indices;
+        }
+
+        int size() {
+            return taskAt.length;
+        }
+
+        double utilization() {
+            double utilization = 0.0;
+            for (int p = 0; p < size(); p++) {
+                utilization += (double) cost[p] / period[p];
+            }
+            return utilization;
+        }
+
+        boolean implicitDeadlines() {
+            for (int p = 0; p < size(); p++) {
+                if (deadline[p] < period[p] || jitter[p] > 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
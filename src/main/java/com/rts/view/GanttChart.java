@@ -6,8 +6,7 @@ import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
 
 import com.rts.model.ScheduleResult;
-
-import java.util.List;
+import com.rts.model.TaskRegistry;
 
 public class GanttChart extends Canvas {
     private static final int TASK_HEIGHT = 30;
@@ -38,19 +37,22 @@ public class GanttChart extends Canvas {
         gc.setStroke(Color.BLACK);
         gc.setLineWidth(1);
         
-        List<String> timeline = result.getExecutionTimeline();
-        if (timeline == null || timeline.isEmpty()) {
+        TaskRegistry registry = result.getRegistry();
+        int timeUnits = result.getTimelineLength();
+        if (timeUnits == 0) {
             return;
         }
         
         // Draw timeline
-        for (int i = 0; i < timeline.size(); i++) {
-            String taskId = timeline.get(i);
+        for (int i = 0; i < timeUnits; i++) {
+            int taskIndex = result.getTaskIndexAt(i);
             int xPos = i * TIME_UNIT_WIDTH;
             
             // Choose color based on task
-            if ("IDLE".equals(taskId)) {
+            if (taskIndex == TaskRegistry.IDLE) {
                 gc.setFill(Color.LIGHTGRAY);
+            } else if (taskIndex == TaskRegistry.OVERHEAD) {
+                gc.setFill(Color.DARKGRAY);
             } else {
                 gc.setFill(Color.LIGHTBLUE);
             }
@@ -59,10 +61,10 @@ public class GanttChart extends Canvas {
             gc.strokeRect(xPos, 50, TIME_UNIT_WIDTH - 1, TASK_HEIGHT);
             
             // Draw task label
-            if (!"IDLE".equals(taskId)) {
+            if (taskIndex >= 0) {
                 gc.setFill(Color.BLACK);
                 gc.setFont(new Font("Arial", 10));
-                gc.fillText(taskId, xPos + 2, 50 + TASK_HEIGHT / 2 + 3);
+                gc.fillText(registry.getId(taskIndex), xPos + 2, 50 + TASK_HEIGHT / 2 + 3);
             }
         }
     }
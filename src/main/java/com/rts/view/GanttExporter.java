@@ -0,0 +1,335 @@
+package com.rts.view;
+
+import com.rts.model.DeadlineMiss;
+import com.rts.model.ScheduleResult;
+import com.rts.model.TaskRegistry;
+import com.rts.model.TimelineIndex;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Line2D;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+// Renders a ScheduleResult of any length without JavaFX, for reports. Each task gets a
+// lane, with overhead ticks in a lane of their own; consecutive ticks of one task are
+// drawn as a single rectangle. SVG is streamed segment by segment, and PNG output is cut
+// into tiles of a bounded number of ticks rendered in parallel. Memory beyond the result
+// itself is one tile per worker thread, whatever the horizon.
+public class GanttExporter {
+    private static final int LABEL_WIDTH = 100;
+    private static final int TITLE_HEIGHT = 30;
+    private static final int LANE_HEIGHT = 24;
+    private static final int LANE_GAP = 6;
+    private static final int AXIS_HEIGHT = 30;
+    // Widest PNG tile the default tick count produces
+    private static final int MAX_TILE_WIDTH = 4096;
+    // Minimum pixels between labelled axis ticks
+    private static final double AXIS_LABEL_SPACING = 60;
+
+    // Same palette as the on-screen chart, indexed by registry index
+    private static final Color[] TASK_COLORS = {new Color(52, 152, 219), new Color(46, 204, 113),
+            new Color(241, 196, 15), new Color(231, 76, 60), new Color(155, 89, 182), new Color(26, 188, 156)};
+    private static final Color OVERHEAD_COLOR = Color.DARK_GRAY;
+    private static final Color MISS_COLOR = Color.RED;
+    private static final Color LANE_COLOR = new Color(245, 245, 245);
+
+    private double tickWidth = 10;
+    private int ticksPerTile;
+    private String title = "Task Execution Timeline";
+
+    public double getTickWidth() {
+        return tickWidth;
+    }
+
+    // Pixels per tick
+    public void setTickWidth(double tickWidth) {
+        if (!(tickWidth > 0)) {
+            throw new IllegalArgumentException("Tick width must be positive");
+        }
+        this.tickWidth = tickWidth;
+    }
+
+    // Ticks per PNG tile; 0 picks as many as fit in a 4096 pixel wide tile
+    public int getTicksPerTile() {
+        return ticksPerTile;
+    }
+
+    public void setTicksPerTile(int ticksPerTile) {
+        if (ticksPerTile < 0) {
+            throw new IllegalArgumentException("Ticks per tile must not be negative");
+        }
+        this.ticksPerTile = ticksPerTile;
+    }
+
+    public void setTitle(String title) {
+        this.title = title != null ? title : "";
+    }
+
+    // Writes the whole timeline as one SVG document
+    public void writeSvg(ScheduleResult result, Path file) throws IOException {
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writeSvg(result, out);
+        }
+    }
+
+    public void writeSvg(ScheduleResult result, Writer out) throws IOException {
+        Writer svg = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+        Layout layout = new Layout(result, 0, result.getTimelineLength());
+        svg.write(String.format("<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%s\" height=\"%d\" "
+                + "font-family=\"Arial, sans-serif\">\n", number(layout.width), layout.height));
+        svg.write(String.format("<rect width=\"100%%\" height=\"100%%\" fill=\"%s\"/>\n", hex(Color.WHITE)));
+        try {
+            render(result, layout, new SvgSurface(svg));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        svg.write("</svg>\n");
+        svg.flush();
+    }
+
+    // Writes one PNG per tile into the directory, named gantt-00000.png onwards, rendering
+    // the tiles on the executor. Returns the files in time order.
+    public List<Path> writePngTiles(ScheduleResult result, Path directory, Executor executor) throws IOException {
+        Files.createDirectories(directory);
+        int length = result.getTimelineLength();
+        int tileTicks = ticksPerTile > 0 ? ticksPerTile
+                : Math.max(1, (int) ((MAX_TILE_WIDTH - LABEL_WIDTH) / tickWidth));
+        int tileCount = Math.max(1, (length + tileTicks - 1) / tileTicks);
+        // Built once here rather than by the first tiles racing for it
+        result.getTimelineIndex();
+
+        List<Path> files = new ArrayList<>(tileCount);
+        List<CompletableFuture<Void>> pending = new ArrayList<>(tileCount);
+        for (int tile = 0; tile < tileCount; tile++) {
+            int from = tile * tileTicks;
+            int to = Math.min(length, from + tileTicks);
+            Path file = directory.resolve(String.format("gantt-%05d.png", tile));
+            files.add(file);
+            pending.add(CompletableFuture.runAsync(() -> writeTile(result, from, to, file), executor));
+        }
+        try {
+            CompletableFuture.allOf(pending.toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+        return files;
+    }
+
+    private void writeTile(ScheduleResult result, int from, int to, Path file) {
+        Layout layout = new Layout(result, from, to);
+        BufferedImage image = new BufferedImage((int) Math.ceil(layout.width), layout.height,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, image.getWidth(), image.getHeight());
+            render(result, layout, new ImageSurface(g));
+        } finally {
+            g.dispose();
+        }
+        try {
+            ImageIO.write(image, "png", file.toFile());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Draws ticks [layout.from, layout.to): lanes, coalesced segments, misses and the axis
+    private void render(ScheduleResult result, Layout layout, Surface surface) {
+        TaskRegistry registry = result.getRegistry();
+        TimelineIndex index = result.getTimelineIndex();
+        int lanes = registry.size() + 1;
+        double chartRight = layout.x(layout.to);
+
+        surface.text(10, 20, title + (layout.from > 0 ? " (from t=" + layout.from + ")" : ""), 14, true,
+                Color.BLACK);
+        for (int lane = 0; lane < lanes; lane++) {
+            double y = layout.laneY(lane);
+            String label = lane < registry.size() ? registry.getId(lane) : TaskRegistry.OVERHEAD_ID;
+            surface.text(10, y + LANE_HEIGHT / 2.0 + 4, label, 11, true, Color.BLACK);
+            surface.rect(LABEL_WIDTH, y, chartRight - LABEL_WIDTH, LANE_HEIGHT, LANE_COLOR);
+        }
+
+        if (layout.to > layout.from) {
+            int last = index.segmentAt(layout.to - 1);
+            for (int segment = index.segmentAt(layout.from); segment <= last; segment++) {
+                int entity = index.getSegmentEntity(segment);
+                if (entity == TaskRegistry.IDLE) {
+                    continue;
+                }
+                int start = Math.max(layout.from, index.getSegmentStart(segment));
+                int end = Math.min(layout.to, index.getSegmentEnd(segment));
+                int lane = entity == TaskRegistry.OVERHEAD ? registry.size() : entity;
+                Color color = entity == TaskRegistry.OVERHEAD ? OVERHEAD_COLOR
+                        : TASK_COLORS[entity % TASK_COLORS.length];
+                double x = layout.x(start);
+                double width = (end - start) * tickWidth;
+                surface.rect(x, layout.laneY(lane), width, LANE_HEIGHT, color);
+                String id = registry.getId(entity);
+                if (entity >= 0 && width >= 7 * id.length() + 4) {
+                    surface.text(x + 2, layout.laneY(lane) + LANE_HEIGHT / 2.0 + 3, id, 9, true, Color.WHITE);
+                }
+            }
+        }
+
+        for (DeadlineMiss miss : index.getMissesBetween(layout.from, layout.to)) {
+            double x = layout.x(miss.getTime());
+            double y = layout.laneY(miss.getTaskIndex());
+            surface.line(x, y - 3, x, y + LANE_HEIGHT + 3, 2, MISS_COLOR);
+        }
+
+        double axisY = layout.laneY(lanes);
+        surface.line(LABEL_WIDTH, axisY, chartRight, axisY, 1, Color.BLACK);
+        int step = axisStep();
+        for (int time = (layout.from + step - 1) / step * step; time <= layout.to; time += step) {
+            double x = layout.x(time);
+            surface.line(x, axisY, x, axisY + 5, 1, Color.BLACK);
+            surface.text(x - 5, axisY + 18, String.valueOf(time), 10, false, Color.BLACK);
+        }
+    }
+
+    // Smallest 1, 2 or 5 times a power of ten that keeps axis labels apart
+    private int axisStep() {
+        double minimum = AXIS_LABEL_SPACING / tickWidth;
+        long step = 1;
+        while (true) {
+            for (int factor : new int[]{1, 2, 5}) {
+                if (step * factor >= minimum) {
+                    return (int) Math.min(Integer.MAX_VALUE, step * factor);
+                }
+            }
+            step *= 10;
+        }
+    }
+
+    private static String hex(Color color) {
+        return String.format("#%02x%02x%02x", color.getRed(), color.getGreen(), color.getBlue());
+    }
+
+    private static String number(double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+    }
+
+    // Geometry of the ticks [from, to) in one image
+    private final class Layout {
+        final int from;
+        final int to;
+        final double width;
+        final int height;
+
+        Layout(ScheduleResult result, int from, int to) {
+            this.from = from;
+            this.to = to;
+            this.width = LABEL_WIDTH + (to - from) * tickWidth + 40;
+            this.height = (int) laneY(result.getRegistry().size() + 1) + AXIS_HEIGHT;
+        }
+
+        double x(int time) {
+            return LABEL_WIDTH + (time - from) * tickWidth;
+        }
+
+        double laneY(int lane) {
+            return TITLE_HEIGHT + 10 + lane * (LANE_HEIGHT + LANE_GAP);
+        }
+    }
+
+    // The few drawing operations the chart needs, so SVG and PNG share one renderer
+    private interface Surface {
+        void rect(double x, double y, double width, double height, Color color);
+
+        void line(double x1, double y1, double x2, double y2, double width, Color color);
+
+        void text(double x, double y, String text, int size, boolean bold, Color color);
+    }
+
+    private static final class SvgSurface implements Surface {
+        private final Writer out;
+
+        SvgSurface(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void rect(double x, double y, double width, double height, Color color) {
+            write(String.format("<rect x=\"%s\" y=\"%s\" width=\"%s\" height=\"%s\" fill=\"%s\"/>\n",
+                    number(x), number(y), number(width), number(height), hex(color)));
+        }
+
+        @Override
+        public void line(double x1, double y1, double x2, double y2, double width, Color color) {
+            write(String.format("<line x1=\"%s\" y1=\"%s\" x2=\"%s\" y2=\"%s\" stroke=\"%s\" stroke-width=\"%s\"/>\n",
+                    number(x1), number(y1), number(x2), number(y2), hex(color), number(width)));
+        }
+
+        @Override
+        public void text(double x, double y, String text, int size, boolean bold, Color color) {
+            write(String.format("<text x=\"%s\" y=\"%s\" font-size=\"%d\"%s fill=\"%s\">%s</text>\n",
+                    number(x), number(y), size, bold ? " font-weight=\"bold\"" : "", hex(color), escape(text)));
+        }
+
+        private void write(String element) {
+            try {
+                out.write(element);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static final class ImageSurface implements Surface {
+        private final Graphics2D g;
+
+        ImageSurface(Graphics2D g) {
+            this.g = g;
+        }
+
+        @Override
+        public void rect(double x, double y, double width, double height, Color color) {
+            g.setColor(color);
+            g.fill(new Rectangle2D.Double(x, y, width, height));
+        }
+
+        @Override
+        public void line(double x1, double y1, double x2, double y2, double width, Color color) {
+            g.setColor(color);
+            g.setStroke(new BasicStroke((float) width));
+            g.draw(new Line2D.Double(x1, y1, x2, y2));
+        }
+
+        @Override
+        public void text(double x, double y, String text, int size, boolean bold, Color color) {
+            g.setColor(color);
+            g.setFont(new Font("SansSerif", bold ? Font.BOLD : Font.PLAIN, size));
+            g.drawString(text, (float) x, (float) y);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.rts.algorithm;
+
+import com.rts.model.LongHorizonResult;
+import com.rts.model.SimulationMetrics;
+import com.rts.model.Task;
+import com.rts.model.TaskTiming;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EventDrivenSimulatorTest {
+    private static final long SCALE = 1_000_000L;
+
+    // The event engine must count the same late jobs as the tick engine, give the same answers
+    // for Task and TaskTiming input, and scale exactly when every parameter is scaled
+    @Test
+    void matchesTheTickEngineAtAnyScale() {
+        Random random = new Random(5);
+        for (int set = 0; set < 1000; set++) {
+            List<Task> tasks = new ArrayList<>();
+            List<TaskTiming> timings = new ArrayList<>();
+            List<TaskTiming> scaled = new ArrayList<>();
+            int taskCount = 1 + random.nextInt(6);
+            for (int i = 0; i < taskCount; i++) {
+                int period = 2 + random.nextInt(30);
+                int executionTime = 1 + random.nextInt(Math.max(1, period / 2));
+                int deadline = random.nextBoolean() ? period : Math.max(1, period - random.nextInt(period));
+                if (random.nextInt(5) == 0) {
+                    deadline = period + random.nextInt(period);
+                }
+                int offset = random.nextInt(3) == 0 ? random.nextInt(10) : 0;
+                tasks.add(new Task("T" + i, executionTime, period, deadline, offset, 0));
+                timings.add(new TaskTiming("T" + i, executionTime, period, deadline, offset, 0));
+                scaled.add(new TaskTiming("T" + i, executionTime * SCALE, period * SCALE, deadline * SCALE,
+                        offset * SCALE, 0));
+            }
+            int horizon = 1 + random.nextInt(2000);
+            AbstractScheduler[] policies = {new RateMonotonicScheduler(),
+                    new FixedPriorityScheduler(StandardPriorityPolicy.DEADLINE_MONOTONIC),
+                    new FixedPriorityScheduler(StandardPriorityPolicy.OPTIMAL), new EarliestDeadlineFirstScheduler()};
+            for (AbstractScheduler policy : policies) {
+                SimulationMetrics metrics = policy.schedule(tasks, horizon).getMetrics();
+                EventDrivenSimulator simulator = new EventDrivenSimulator(policy);
+                LongHorizonResult fromTasks = simulator.run(tasks, horizon);
+                LongHorizonResult fromTimings = simulator.runTimings(timings, horizon);
+                LongHorizonResult fromScaled = simulator.runTimings(scaled, horizon * SCALE);
+                String context = policy.getAlgorithmName() + " " + timings + " horizon " + horizon;
+                for (int i = 0; i < taskCount; i++) {
+                    assertEquals(metrics.getTaskMetrics(i).getLateJobs(), fromTasks.getLateJobs(i), context);
+                    assertEquals(fromTasks.getMissedJobs(i), fromTimings.getMissedJobs(i), context);
+                    assertEquals(fromTasks.getWorstResponseTime(i), fromTimings.getWorstResponseTime(i), context);
+                    assertEquals(fromTasks.getPreemptions(i), fromTimings.getPreemptions(i), context);
+                    assertEquals(fromTasks.getMissedJobs(i), fromScaled.getMissedJobs(i), context);
+                    assertEquals(fromTasks.getWorstResponseTime(i) * SCALE, fromScaled.getWorstResponseTime(i),
+                            context);
+                    assertEquals(fromTasks.getExecutedTime(i) * SCALE, fromScaled.getExecutedTime(i), context);
+                }
+            }
+        }
+    }
+
+    // Nanosecond parameters beyond 2^31 ticks run an hour without rescaling
+    @Test
+    void runsNanosecondParametersWithoutATickLimit() {
+        List<TaskTiming> timings = Arrays.asList(new TaskTiming("A", 1_000_000_007L, 4_000_000_000L, 4_000_000_000L),
+                new TaskTiming("B", 3_000_000_001L, 9_000_000_013L, 8_000_000_000L));
+        LongHorizonResult result = new EventDrivenSimulator(new RateMonotonicScheduler())
+                .runTimings(timings, 3_600_000_000_000L);
+        assertEquals(0, result.getTotalDeadlineMisses());
+        assertEquals(1_000_000_007L, result.getWorstResponseTime(0));
+        assertEquals(5_000_000_015L, result.getWorstResponseTime(1));
+        assertEquals(900, result.getReleasedJobs(0));
+    }
+
+    @Test
+    void rejectsWhatEventsDoNotModel() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new EventDrivenSimulator(new LeastLaxityFirstScheduler()));
+        List<TaskTiming> jittered = Arrays.asList(new TaskTiming("A", 1, 4, 4, 0, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new EventDrivenSimulator(new RateMonotonicScheduler()).runTimings(jittered, 100));
+    }
+}
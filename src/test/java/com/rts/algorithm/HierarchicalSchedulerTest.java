@@ -0,0 +1,126 @@
+package com.rts.algorithm;
+
+import com.rts.model.PeriodicResource;
+import com.rts.model.ScheduleResult;
+import com.rts.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalSchedulerTest {
+
+    // A server that owns the whole CPU must not change anything the local engine does
+    @Test
+    void fullSupplyComponentMatchesItsLocalEngine() {
+        Random random = new Random(3);
+        for (int set = 0; set < 500; set++) {
+            List<Task> tasks = randomTasks(random, 1 + random.nextInt(5), 0.5 + random.nextDouble() * 0.7);
+            AbstractScheduler local = randomEngine(random);
+            int period = 1 + random.nextInt(10);
+            HierarchicalScheduler hierarchy = new HierarchicalScheduler(randomEngine(random));
+            hierarchy.addComponent(new SchedulingComponent("c", tasks, local, new PeriodicResource(period, period)));
+            ScheduleResult nested = hierarchy.schedule(300);
+            ScheduleResult flat = local.schedule(tasks, 300);
+            String context = tasks + " " + local.getAlgorithmName();
+            for (int time = 0; time < 300; time++) {
+                assertEquals(flat.getTaskIndexAt(time), nested.getTaskIndexAt(time), context + " at " + time);
+            }
+            assertEquals(flat.getDeadlineMisses().size(), nested.getDeadlineMisses().size(), context);
+            for (int i = 0; i < tasks.size(); i++) {
+                assertEquals(flat.getMetrics().getTaskMetrics(i).getLateJobs(),
+                        nested.getMetrics().getTaskMetrics(i).getLateJobs(), context + " task " + i);
+            }
+            assertEquals(flat.getMetrics().getPreemptions(), nested.getMetrics().getPreemptions(), context);
+            assertEquals(flat.getMetrics().getContextSwitches(), nested.getMetrics().getContextSwitches(), context);
+        }
+    }
+
+    // The budget search must return the smallest budget the supply-bound test accepts, and
+    // components given those budgets must meet every deadline when the system passes the
+    // global test
+    @Test
+    void minimumBudgetsAreMinimalAndMeetEveryDeadline() {
+        Random random = new Random(4);
+        int simulated = 0;
+        for (int system = 0; system < 1000; system++) {
+            HierarchicalScheduler hierarchy = new HierarchicalScheduler(
+                    random.nextBoolean() ? new RateMonotonicScheduler() : new EarliestDeadlineFirstScheduler());
+            boolean feasible = true;
+            int componentCount = 1 + random.nextInt(3);
+            for (int c = 0; c < componentCount && feasible; c++) {
+                List<Task> tasks = randomTasks(random, 1 + random.nextInt(3), 0.1 + random.nextDouble() * 0.3);
+                AbstractScheduler local = random.nextBoolean()
+                        ? new RateMonotonicScheduler() : new EarliestDeadlineFirstScheduler();
+                int period = 2 + random.nextInt(5);
+                int budget = new SchedulingComponent("c" + c, tasks, local, new PeriodicResource(period, period))
+                        .getMinimumBudget(period);
+                if (budget < 0) {
+                    feasible = false;
+                    break;
+                }
+                String context = tasks + " " + local.getAlgorithmName() + " period " + period;
+                assertTrue(new SchedulingComponent("c" + c, tasks, local, new PeriodicResource(period, budget))
+                        .isSchedulable(), context);
+                if (budget > 1) {
+                    assertFalse(new SchedulingComponent("c" + c, tasks, local,
+                            new PeriodicResource(period, budget - 1)).isSchedulable(), context);
+                }
+                hierarchy.addComponent(new SchedulingComponent("c" + c, tasks, local,
+                        new PeriodicResource(period, budget)));
+            }
+            if (!feasible || !hierarchy.isSchedulable()) {
+                continue;
+            }
+            ScheduleResult result = hierarchy.schedule(3000);
+            // Deadlines are shorter than periods, so a budget that is too small shows up as late
+            // completions rather than as jobs unfinished at their next arrival
+            for (int i = 0; i < result.getMetrics().getTaskCount(); i++) {
+                assertEquals(0, result.getMetrics().getTaskMetrics(i).getMissedJobs(),
+                        hierarchy.getComponents() + " task " + i);
+            }
+            simulated++;
+        }
+        assertTrue(simulated > 400, "only " + simulated + " systems were simulated");
+    }
+
+    // Γ(5, 2): in the worst case the budget comes at [0, 2), then [8, 10) and [13, 15), so a
+    // window starting at 2 sees no supply for 6 units
+    @Test
+    void supplyBoundFollowsTheWorstCasePlacement() {
+        PeriodicResource resource = new PeriodicResource(5, 2);
+        long[] expected = {0, 0, 0, 0, 0, 0, 0, 1, 2, 2, 2, 2, 3, 4, 4, 4, 4, 5, 6};
+        for (int interval = 0; interval < expected.length; interval++) {
+            assertEquals(expected[interval], resource.supplyBound(interval), "interval " + interval);
+        }
+        assertEquals(10, new PeriodicResource(10, 10).supplyBound(10));
+    }
+
+    private static AbstractScheduler randomEngine(Random random) {
+        switch (random.nextInt(3)) {
+            case 0:
+                return new RateMonotonicScheduler();
+            case 1:
+                return new EarliestDeadlineFirstScheduler();
+            default:
+                return new LeastLaxityFirstScheduler();
+        }
+    }
+
+    private static List<Task> randomTasks(Random random, int taskCount, double utilization) {
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            int period = 5 + random.nextInt(30);
+            int executionTime = Math.min(period,
+                    Math.max(1, (int) (period * utilization / taskCount * (0.5 + random.nextDouble()))));
+            int deadline = Math.max(executionTime, period - random.nextInt(period / 2 + 1));
+            tasks.add(new Task("t" + i, executionTime, period, deadline, random.nextInt(3), 0));
+        }
+        return tasks;
+    }
+}
@@ -0,0 +1,211 @@
+package com.rts.algorithm;
+
+import com.rts.model.CriticalSection;
+import com.rts.model.OverheadModel;
+import com.rts.model.PreemptionMode;
+import com.rts.model.ResourceProtocol;
+import com.rts.model.ScheduleResult;
+import com.rts.model.SimulationMetrics;
+import com.rts.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalRunTest {
+
+    // Chains of random edits (added, removed and changed tasks, new horizons) on engines with
+    // random preemption modes, overheads, protocols and critical sections. Every resumed run
+    // must equal a run from scratch, timeline and metrics included.
+    @Test
+    void randomEditsMatchAFullRun() {
+        Random random = new Random(3);
+        int resumed = 0;
+        for (int set = 0; set < 300; set++) {
+            Supplier<AbstractScheduler> engines = randomEngine(random);
+            boolean sections = random.nextInt(3) == 0;
+            List<Task> tasks = new ArrayList<>();
+            int taskCount = 2 + random.nextInt(5);
+            for (int i = 0; i < taskCount; i++) {
+                tasks.add(randomTask(random, "T" + i, sections));
+            }
+            AbstractScheduler incremental = engines.get();
+            incremental.setIncrementalCheckpoints(1 + random.nextInt(20));
+            int horizon = 100 + random.nextInt(600);
+            incremental.schedule(tasks, horizon);
+
+            for (int step = 0; step < 6; step++) {
+                List<Task> edited = new ArrayList<>(tasks);
+                int edit = random.nextInt(10);
+                if (edit == 0 && edited.size() < 8) {
+                    edited.add(random.nextInt(edited.size() + 1), randomTask(random, "N" + set + "_" + step, sections));
+                } else if (edit == 1 && edited.size() > 1) {
+                    edited.remove(random.nextInt(edited.size()));
+                } else if (edit > 2) {
+                    int index = random.nextInt(edited.size());
+                    edited.set(index, randomEdit(random, edited.get(index)));
+                }
+                if (random.nextInt(4) == 0) {
+                    horizon = 100 + random.nextInt(600);
+                }
+                String expected = signature(engines.get(), edited, horizon);
+                assertEquals(expected, signature(incremental, edited, horizon),
+                        "set " + set + " step " + step + ": " + tasks + " -> " + edited);
+                if (incremental.getLastResumeTime() > 0) {
+                    resumed++;
+                }
+                tasks = edited;
+            }
+        }
+        assertTrue(resumed > 300, "only " + resumed + " runs resumed from a checkpoint");
+    }
+
+    @Test
+    void editOfALateTaskResumesAfterTheUnchangedPrefix() {
+        List<Task> tasks = new ArrayList<>(Arrays.asList(new Task("A", 1, 4, 4), new Task("B", 2, 8, 8),
+                new Task("C", 1, 20, 20, 200, 0)));
+        AbstractScheduler incremental = new RateMonotonicScheduler();
+        incremental.setIncrementalCheckpoints(10);
+        incremental.schedule(tasks, 1000);
+
+        tasks.set(2, new Task("C", 3, 20, 20, 200, 0));
+        ScheduleResult result = incremental.schedule(tasks, 1000);
+        assertTrue(incremental.getLastResumeTime() > 0 && incremental.getLastResumeTime() <= 200,
+                "resumed at " + incremental.getLastResumeTime());
+        assertEquals(signature(new RateMonotonicScheduler(), tasks, 1000), signature(result));
+    }
+
+    // A deadline edit leaves the rate-monotonic order alone but changes which jobs are late
+    @Test
+    void deadlineEditUnderFixedPrioritiesRecountsLateJobs() {
+        List<Task> tasks = new ArrayList<>(Arrays.asList(new Task("A", 1, 4, 4), new Task("B", 3, 6, 6)));
+        AbstractScheduler incremental = new RateMonotonicScheduler();
+        incremental.setIncrementalCheckpoints(8);
+        incremental.schedule(tasks, 240);
+
+        tasks.set(1, new Task("B", 3, 6, 3));
+        ScheduleResult result = incremental.schedule(tasks, 240);
+        assertEquals(signature(new RateMonotonicScheduler(), tasks, 240), signature(result));
+        assertTrue(result.getMetrics().getTaskMetrics(1).getLateJobs() > 0);
+    }
+
+    private static Supplier<AbstractScheduler> randomEngine(Random random) {
+        int kind = random.nextInt(4);
+        ResourceProtocol protocol = ResourceProtocol.values()[random.nextInt(ResourceProtocol.values().length)];
+        PreemptionMode mode = PreemptionMode.values()[random.nextInt(PreemptionMode.values().length)];
+        int interval = 1 + random.nextInt(3);
+        OverheadModel overheads = random.nextInt(3) == 0
+                ? new OverheadModel(random.nextInt(2), random.nextInt(2), random.nextInt(2)) : OverheadModel.NONE;
+        return () -> {
+            AbstractScheduler engine;
+            switch (kind) {
+                case 0:
+                    engine = new RateMonotonicScheduler();
+                    break;
+                case 1:
+                    engine = new FixedPriorityScheduler(StandardPriorityPolicy.DEADLINE_MONOTONIC);
+                    break;
+                case 2:
+                    engine = new FixedPriorityScheduler(StandardPriorityPolicy.OPTIMAL);
+                    break;
+                default:
+                    engine = new EarliestDeadlineFirstScheduler();
+            }
+            if (engine instanceof EarliestDeadlineFirstScheduler) {
+                engine.setResourceProtocol(protocol == ResourceProtocol.NONE ? protocol
+                        : ResourceProtocol.STACK_RESOURCE_POLICY);
+            } else {
+                engine.setResourceProtocol(protocol == ResourceProtocol.STACK_RESOURCE_POLICY
+                        ? ResourceProtocol.PRIORITY_CEILING : protocol);
+            }
+            engine.setPreemptionMode(mode);
+            engine.setPreemptionPointInterval(interval);
+            engine.setOverheadModel(overheads);
+            engine.setReleaseJitterSeed(7);
+            return engine;
+        };
+    }
+
+    private static Task randomTask(Random random, String id, boolean sections) {
+        int period = 4 + random.nextInt(30);
+        int executionTime = 1 + random.nextInt(Math.max(1, period / 3));
+        int deadline = Math.max(executionTime, period - random.nextInt(period / 2 + 1));
+        Task task = new Task(id, executionTime, period, deadline, random.nextInt(4) == 0 ? random.nextInt(40) : 0,
+                random.nextInt(3) == 0 ? random.nextInt(period) : 0);
+        if (sections) {
+            task.setCriticalSections(randomSections(random, executionTime));
+        }
+        return task;
+    }
+
+    private static List<CriticalSection> randomSections(Random random, int executionTime) {
+        List<CriticalSection> sections = new ArrayList<>();
+        int start = random.nextInt(executionTime);
+        while (start < executionTime && random.nextInt(3) > 0) {
+            int length = 1 + random.nextInt(executionTime - start);
+            sections.add(new CriticalSection("R" + random.nextInt(2), start, length));
+            start += length + random.nextInt(2);
+        }
+        return sections;
+    }
+
+    private static Task randomEdit(Random random, Task task) {
+        int executionTime = task.getExecutionTime();
+        int period = task.getPeriod();
+        int deadline = task.getDeadline();
+        int offset = task.getOffset();
+        int jitter = task.getReleaseJitter();
+        int sign = random.nextBoolean() ? 1 : -1;
+        switch (random.nextInt(5)) {
+            case 0:
+                executionTime = Math.max(1, executionTime + sign * (1 + random.nextInt(3)));
+                break;
+            case 1:
+                period = Math.max(2, period + sign * (1 + random.nextInt(5)));
+                break;
+            case 2:
+                deadline = Math.max(1, deadline + sign * (1 + random.nextInt(5)));
+                break;
+            case 3:
+                offset = Math.max(0, offset + random.nextInt(30) - 10);
+                break;
+            default:
+                jitter = random.nextInt(period);
+        }
+        Task edited = new Task(task.getId(), executionTime, period, deadline, offset, jitter < period ? jitter : 0);
+        List<CriticalSection> sections = new ArrayList<>();
+        for (CriticalSection section : task.getCriticalSections()) {
+            if (section.getEnd() <= executionTime) {
+                sections.add(section);
+            }
+        }
+        edited.setCriticalSections(sections);
+        return edited;
+    }
+
+    // Timeline, misses and every metric; IllegalArgumentException (e.g. an unsupported
+    // protocol for the edited set) has to be thrown by both runs alike
+    private static String signature(AbstractScheduler engine, List<Task> tasks, int horizon) {
+        try {
+            return signature(engine.schedule(tasks, horizon));
+        } catch (IllegalArgumentException e) {
+            return "rejected: " + e.getMessage();
+        }
+    }
+
+    private static String signature(ScheduleResult result) {
+        SimulationMetrics metrics = result.getMetrics();
+        StringBuilder text = new StringBuilder(result.getExecutionTimeline().toString())
+                .append(result.getMissedDeadlines()).append(metrics);
+        for (int i = 0; i < metrics.getTaskCount(); i++) {
+            text.append(metrics.getTaskMetrics(i)).append(metrics.getTaskMetrics(i).getResponseTimePercentile(95));
+        }
+        return text.append(metrics.getWindowUtilization()).toString();
+    }
+}
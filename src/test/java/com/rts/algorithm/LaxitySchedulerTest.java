@@ -0,0 +1,222 @@
+package com.rts.algorithm;
+
+import com.rts.model.OverheadModel;
+import com.rts.model.PreemptionMode;
+import com.rts.model.ScheduleResult;
+import com.rts.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// LLF and EDZL keep their ready jobs in heaps; these tests replay random sets against a
+// tick-by-tick scan of every job, which is slow but obviously right
+class LaxitySchedulerTest {
+    private static final int[] PERIODS = {2, 3, 4, 5, 6, 8, 10, 12, 15, 20};
+
+    @Test
+    void leastLaxityFirstMatchesAReferenceScan() {
+        for (int threshold = 0; threshold <= 2; threshold++) {
+            Random random = new Random(3 + threshold);
+            for (int set = 0; set < 2000; set++) {
+                List<Task> tasks = randomTasks(random);
+                int horizon = 1 + random.nextInt(150);
+                LeastLaxityFirstScheduler engine = new LeastLaxityFirstScheduler();
+                engine.setLaxityThreshold(threshold);
+                ScheduleResult result = engine.schedule(tasks, horizon);
+                Reference expected = new Reference(tasks, horizon, false, threshold);
+                assertEquals(expected.timeline, result.getExecutionTimeline(), tasks + " threshold " + threshold);
+                assertEquals(expected.misses, result.getMissedDeadlines(), tasks + " threshold " + threshold);
+            }
+        }
+    }
+
+    @Test
+    void earliestDeadlineZeroLaxityMatchesAReferenceScan() {
+        Random random = new Random(4);
+        for (int set = 0; set < 4000; set++) {
+            List<Task> tasks = randomTasks(random);
+            int horizon = 1 + random.nextInt(150);
+            ScheduleResult result = new EarliestDeadlineZeroLaxityScheduler().schedule(tasks, horizon);
+            Reference expected = new Reference(tasks, horizon, true, 0);
+            assertEquals(expected.timeline, result.getExecutionTimeline(), tasks.toString());
+            assertEquals(expected.misses, result.getMissedDeadlines(), tasks.toString());
+        }
+    }
+
+    // A resumed run must not hand the CPU back to a job that completed before the checkpoint.
+    // Release overhead and non-preemptive chunks leave no dispatch between the two.
+    @Test
+    void incrementalResumeMatchesAFullRun() {
+        Random random = new Random(6);
+        for (int set = 0; set < 600; set++) {
+            int threshold = random.nextInt(3);
+            boolean zeroLaxity = random.nextBoolean();
+            PreemptionMode mode = PreemptionMode.values()[random.nextInt(PreemptionMode.values().length)];
+            int interval = 1 + random.nextInt(3);
+            OverheadModel overheads = random.nextBoolean()
+                    ? new OverheadModel(random.nextInt(2), random.nextInt(2), random.nextInt(2)) : OverheadModel.NONE;
+            Supplier<AbstractScheduler> engines = () -> {
+                AbstractScheduler engine;
+                if (zeroLaxity) {
+                    engine = new EarliestDeadlineZeroLaxityScheduler();
+                } else {
+                    LeastLaxityFirstScheduler leastLaxity = new LeastLaxityFirstScheduler();
+                    leastLaxity.setLaxityThreshold(threshold);
+                    engine = leastLaxity;
+                }
+                engine.setPreemptionMode(mode);
+                engine.setPreemptionPointInterval(interval);
+                engine.setOverheadModel(overheads);
+                engine.setReleaseJitterSeed(7);
+                return engine;
+            };
+            List<Task> tasks = randomTasks(random);
+            AbstractScheduler incremental = engines.get();
+            incremental.setIncrementalCheckpoints(1 + random.nextInt(20));
+            int horizon = 100 + random.nextInt(400);
+            incremental.schedule(tasks, horizon);
+            for (int step = 0; step < 4; step++) {
+                List<Task> edited = new ArrayList<>(tasks);
+                int index = random.nextInt(edited.size());
+                Task task = edited.get(index);
+                int period = PERIODS[random.nextInt(PERIODS.length)];
+                int executionTime = Math.min(period,
+                        random.nextBoolean() ? task.getExecutionTime() : 1 + random.nextInt(period));
+                edited.set(index, new Task(task.getId(), executionTime, period,
+                        executionTime + random.nextInt(period - executionTime + 1), task.getOffset(),
+                        random.nextInt(3) == 0 ? random.nextInt(period) : 0));
+                ScheduleResult expected = engines.get().schedule(edited, horizon);
+                ScheduleResult actual = incremental.schedule(edited, horizon);
+                String context = tasks + " -> " + edited;
+                assertEquals(expected.getExecutionTimeline(), actual.getExecutionTimeline(), context);
+                assertEquals(expected.getMetrics().toString(), actual.getMetrics().toString(), context);
+                tasks = edited;
+            }
+        }
+    }
+
+    // Found by a randomized incremental check: with release overhead and non-preemptive
+    // chunks, the job picked at the last dispatch completes and its task is released again
+    // before the checkpoint at 99, with no dispatch in between
+    @Test
+    void resumeDoesNotFavourACompletedJob() {
+        List<Task> tasks = Arrays.asList(new Task("T0", 2, 22, 11, 0, 16), new Task("T1", 1, 33, 18, 6, 0),
+                new Task("T2", 2, 8, 4), new Task("T3", 1, 6, 5), new Task("T4", 2, 8, 6, 0, 2),
+                new Task("T5", 8, 29, 24, 0, 9), new Task("T6", 1, 19, 10, 0, 17));
+        Supplier<AbstractScheduler> engines = () -> {
+            LeastLaxityFirstScheduler engine = new LeastLaxityFirstScheduler();
+            engine.setLaxityThreshold(2);
+            engine.setPreemptionMode(PreemptionMode.NON_PREEMPTIVE);
+            engine.setOverheadModel(new OverheadModel(0, 1, 1));
+            engine.setReleaseJitterSeed(7);
+            return engine;
+        };
+        AbstractScheduler incremental = engines.get();
+        incremental.setIncrementalCheckpoints(5);
+        incremental.schedule(tasks, 492);
+        ScheduleResult resumed = incremental.schedule(tasks, 142);
+        assertEquals(99, incremental.getLastResumeTime());
+        assertEquals(engines.get().schedule(tasks, 142).getExecutionTimeline(), resumed.getExecutionTimeline());
+    }
+
+    private static List<Task> randomTasks(Random random) {
+        List<Task> tasks = new ArrayList<>();
+        int taskCount = 1 + random.nextInt(5);
+        for (int i = 0; i < taskCount; i++) {
+            int period = PERIODS[random.nextInt(PERIODS.length)];
+            int executionTime = 1 + random.nextInt(period);
+            int deadline = executionTime + random.nextInt(period - executionTime + 1);
+            tasks.add(new Task("T" + i, executionTime, period, deadline, random.nextInt(4), 0));
+        }
+        return tasks;
+    }
+
+    // Scans all jobs every tick. LLF keeps the running job unless another one's laxity is
+    // more than `threshold` below it; EDZL runs a zero-laxity job first (the running one if
+    // it is at zero), otherwise the earliest deadline. Ties go to the lower task index. Jobs
+    // that complete after their deadline, or are unfinished past it at the end, are late misses.
+    private static final class Reference {
+        final List<String> timeline = new ArrayList<>();
+        final List<String> misses = new ArrayList<>();
+
+        Reference(List<Task> tasks, int horizon, boolean zeroLaxity, int threshold) {
+            int taskCount = tasks.size();
+            int[] remaining = new int[taskCount];
+            int[] deadline = new int[taskCount];
+            int current = -1;
+            for (int time = 0; time < horizon; time++) {
+                for (int i = 0; i < taskCount; i++) {
+                    Task task = tasks.get(i);
+                    if (time >= task.getOffset() && (time - task.getOffset()) % task.getPeriod() == 0) {
+                        if (remaining[i] > 0) {
+                            misses.add("Task " + task.getId() + " missed deadline at time " + time);
+                        }
+                        remaining[i] = task.getExecutionTime();
+                        deadline[i] = time + task.getDeadline();
+                    }
+                }
+                int selected = zeroLaxity ? selectZeroLaxity(remaining, deadline, current, time)
+                        : selectLeastLaxity(remaining, deadline, current, threshold);
+                timeline.add(selected < 0 ? "IDLE" : tasks.get(selected).getId());
+                current = selected;
+                if (selected >= 0 && --remaining[selected] == 0) {
+                    current = -1;
+                    if (time + 1 > deadline[selected]) {
+                        misses.add("Task " + tasks.get(selected).getId() + " was past its deadline at time "
+                                + (time + 1));
+                    }
+                }
+            }
+            for (int i = 0; i < taskCount; i++) {
+                if (remaining[i] > 0 && deadline[i] <= horizon) {
+                    misses.add("Task " + tasks.get(i).getId() + " was past its deadline at time " + horizon);
+                }
+            }
+        }
+
+        private static int selectLeastLaxity(int[] remaining, int[] deadline, int current, int threshold) {
+            int best = -1;
+            for (int i = 0; i < remaining.length; i++) {
+                if (i != current && remaining[i] > 0
+                        && (best < 0 || deadline[i] - remaining[i] < deadline[best] - remaining[best])) {
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                return current;
+            }
+            if (current >= 0
+                    && deadline[best] - remaining[best] >= deadline[current] - remaining[current] - threshold) {
+                return current;
+            }
+            return best;
+        }
+
+        private static int selectZeroLaxity(int[] remaining, int[] deadline, int current, int time) {
+            if (current >= 0 && deadline[current] - remaining[current] <= time) {
+                return current;
+            }
+            int urgent = -1;
+            int earliest = -1;
+            for (int i = 0; i < remaining.length; i++) {
+                if (remaining[i] == 0) {
+                    continue;
+                }
+                if (i != current && deadline[i] - remaining[i] <= time
+                        && (urgent < 0 || deadline[i] - remaining[i] < deadline[urgent] - remaining[urgent])) {
+                    urgent = i;
+                }
+                if (earliest < 0 || deadline[i] < deadline[earliest]) {
+                    earliest = i;
+                }
+            }
+            return urgent >= 0 ? urgent : earliest;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.rts.algorithm;
+
+import com.rts.model.ExecutionTimeDistribution;
+import com.rts.model.MonteCarloResult;
+import com.rts.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class MonteCarloRunnerTest {
+
+    @Test
+    void resultsDependOnTheSeedOnly() {
+        Task a = new Task("A", 3, 10, 10);
+        a.setExecutionTimeDistribution(ExecutionTimeDistribution.uniform(1, 3));
+        Task b = new Task("B", 6, 15, 15);
+        b.setExecutionTimeDistribution(ExecutionTimeDistribution.truncatedNormal(4, 1.5, 2, 6));
+        Task c = new Task("C", 9, 30, 25);
+        c.setExecutionTimeDistribution(ExecutionTimeDistribution.empirical(new int[]{5, 9, 7}, new long[]{6, 1, 3}));
+        List<Task> tasks = Arrays.asList(a, b, c);
+
+        MonteCarloRunner runner = new MonteCarloRunner(RateMonotonicScheduler::new);
+        runner.setRuns(300);
+        runner.setSeed(42);
+        runner.setParallelism(1);
+        String sequential = runner.run(tasks, 3000).toString();
+        runner.setParallelism(4);
+        assertEquals(sequential, runner.run(tasks, 3000).toString());
+        runner.setSeed(43);
+        assertFalse(sequential.equals(runner.run(tasks, 3000).toString()));
+    }
+
+    // Under RM every job of B is delayed by A and finishes one tick past its deadline, but
+    // before B's next release, so only the late completions show the misses
+    @Test
+    void lateCompletionsCountAsMisses() {
+        List<Task> tasks = Arrays.asList(new Task("A", 1, 4, 4), new Task("B", 3, 6, 3));
+        MonteCarloRunner runner = new MonteCarloRunner(RateMonotonicScheduler::new);
+        runner.setRuns(20);
+        MonteCarloResult result = runner.run(tasks, 1200);
+        assertEquals(0, result.getDeadlineMisses(0));
+        assertEquals(1.0, result.getJobMissProbability(1), 1e-9);
+        assertEquals(1.0, result.getRunMissProbability(), 1e-9);
+    }
+}
@@ -0,0 +1,118 @@
+package com.rts.algorithm;
+
+import com.rts.model.ScheduleResult;
+import com.rts.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScheduleCacheTest {
+    private static final int HORIZON = 500;
+
+    @Test
+    void permutedSetsShareOneEntryAndMatchAFreshRun() {
+        Random random = new Random(1);
+        ScheduleCache cache = new ScheduleCache(1 << 24);
+        for (int set = 0; set < 20; set++) {
+            List<Task> tasks = randomTasks(random);
+            for (int copy = 0; copy < 3; copy++) {
+                List<Task> permuted = new ArrayList<>(tasks);
+                Collections.shuffle(permuted, random);
+                ScheduleResult cached = cache.schedule(new RateMonotonicScheduler(), permuted, HORIZON);
+                ScheduleResult fresh = new RateMonotonicScheduler()
+                        .schedule(ScheduleCache.canonicalOrder(permuted), HORIZON);
+                assertEquals(signature(fresh), signature(cached));
+            }
+        }
+        assertEquals(20, cache.getMissCount());
+        assertEquals(40, cache.getHitCount());
+    }
+
+    @Test
+    void changedParametersOrConfigurationAreNotReused() {
+        ScheduleCache cache = new ScheduleCache(1 << 24);
+        List<Task> tasks = Arrays.asList(new Task("A", 1, 4, 4), new Task("B", 2, 6, 6));
+        cache.schedule(new RateMonotonicScheduler(), tasks, HORIZON);
+        cache.schedule(new RateMonotonicScheduler(), Arrays.asList(new Task("A", 1, 4, 4), new Task("B", 3, 6, 6)),
+                HORIZON);
+        cache.schedule(new EarliestDeadlineFirstScheduler(), tasks, HORIZON);
+        cache.schedule(new RateMonotonicScheduler(), tasks, HORIZON + 1);
+        assertEquals(4, cache.getMissCount());
+        assertEquals(0, cache.getHitCount());
+    }
+
+    @Test
+    void evictedRunsAreReadBackFromTheSpillDirectory() throws Exception {
+        Path spill = Files.createTempDirectory("schedule-cache");
+        try {
+            // Room for roughly one run, so every new set evicts the previous one
+            ScheduleCache cache = new ScheduleCache(HORIZON * 4 + 4096, spill);
+            Random random = new Random(2);
+            List<List<Task>> sets = new ArrayList<>();
+            for (int set = 0; set < 5; set++) {
+                sets.add(randomTasks(random));
+            }
+            for (List<Task> tasks : sets) {
+                cache.schedule(new EarliestDeadlineFirstScheduler(), tasks, HORIZON);
+            }
+            for (List<Task> tasks : sets) {
+                ScheduleResult spilled = cache.schedule(new EarliestDeadlineFirstScheduler(), tasks, HORIZON);
+                ScheduleResult fresh = new EarliestDeadlineFirstScheduler()
+                        .schedule(ScheduleCache.canonicalOrder(tasks), HORIZON);
+                assertEquals(signature(fresh), signature(spilled));
+            }
+            assertEquals(5, cache.getMissCount());
+            assertTrue(cache.getDiskHitCount() > 0, "no run was read back from disk");
+            cache.clear();
+        } finally {
+            Files.deleteIfExists(spill);
+        }
+    }
+
+    @Test
+    void concurrentCallersWaitForOneSimulation() throws Exception {
+        ScheduleCache cache = new ScheduleCache(1 << 30);
+        List<Task> tasks = Arrays.asList(new Task("A", 2, 7, 7), new Task("B", 3, 11, 11), new Task("C", 4, 13, 13));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ScheduleResult>> results = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                results.add(executor.submit(() -> cache.schedule(new EarliestDeadlineFirstScheduler(), tasks, 20000)));
+            }
+            String expected = signature(new EarliestDeadlineFirstScheduler()
+                    .schedule(ScheduleCache.canonicalOrder(tasks), 20000));
+            for (Future<ScheduleResult> result : results) {
+                assertEquals(expected, signature(result.get()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, cache.getMissCount());
+    }
+
+    private static List<Task> randomTasks(Random random) {
+        List<Task> tasks = new ArrayList<>();
+        int taskCount = 2 + random.nextInt(4);
+        for (int i = 0; i < taskCount; i++) {
+            int period = 4 + random.nextInt(30);
+            tasks.add(new Task("T" + i, 1 + random.nextInt(period / 2), period, period, random.nextInt(3), 0));
+        }
+        return tasks;
+    }
+
+    private static String signature(ScheduleResult result) {
+        return result.getExecutionTimeline() + " " + result.getMissedDeadlines() + " " + result.getMetrics();
+    }
+}
@@ -0,0 +1,32 @@
+package com.rts.runtime;
+
+import com.rts.algorithm.RateMonotonicScheduler;
+import com.rts.model.Task;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RealTimeExecutorTest {
+
+    // With one worker, a workload that throws an Error every job must neither stop the
+    // worker nor keep the other task from running
+    @Test
+    void failingWorkloadsKeepTheirWorkerAlive() throws InterruptedException {
+        RealTimeExecutor executor = new RealTimeExecutor(new RateMonotonicScheduler(), 1,
+                TimeUnit.MILLISECONDS.toNanos(1));
+        executor.addTask(new Task("A", 1, 10, 10), () -> {
+            throw new AssertionError("simulated");
+        });
+        executor.addTask(new Task("B", 1, 20, 20), () -> { });
+        executor.start();
+        Thread.sleep(400);
+        executor.stop();
+
+        ObservedTaskMetrics a = executor.getObservedMetrics().get(0);
+        ObservedTaskMetrics b = executor.getObservedMetrics().get(1);
+        assertTrue(a.getFailedJobs() >= 5, a.toString());
+        assertTrue(b.getCompletedJobs() >= 5, b.toString());
+    }
+}
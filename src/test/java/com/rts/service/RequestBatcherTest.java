@@ -0,0 +1,111 @@
+package com.rts.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestBatcherTest {
+    private static final ServiceReply EMPTY_REPLY = exchange -> { };
+
+    @Test
+    void equalRequestsInABatchShareOneExecution() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger executions = new AtomicInteger();
+        RequestBatcher batcher = new RequestBatcher(request -> {
+            executions.incrementAndGet();
+            await(release);
+            return EMPTY_REPLY;
+        }, 1, 64);
+        try {
+            // The first request keeps the only worker busy while the others queue up
+            CompletableFuture<ServiceReply> first = batcher.submit(request(10));
+            List<CompletableFuture<ServiceReply>> equal = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                equal.add(batcher.submit(request(20)));
+            }
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            for (CompletableFuture<ServiceReply> reply : equal) {
+                assertEquals(EMPTY_REPLY, reply.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(2, executions.get());
+            assertEquals(9, batcher.getCoalescedCount());
+        } finally {
+            batcher.shutdown();
+        }
+    }
+
+    // A run near the horizon limit can exhaust the heap; every client in the batch must
+    // still get an answer
+    @Test
+    void errorsInTheHandlerFailEveryRequestOfTheBatch() throws Exception {
+        RequestBatcher batcher = new RequestBatcher(request -> {
+            throw new OutOfMemoryError("simulated");
+        }, 2, 8);
+        try {
+            List<CompletableFuture<ServiceReply>> replies = new ArrayList<>();
+            for (int i = 0; i < 5; i++) {
+                replies.add(batcher.submit(request(10 + i % 2)));
+            }
+            for (CompletableFuture<ServiceReply> reply : replies) {
+                ExecutionException failure = assertThrows(ExecutionException.class,
+                        () -> reply.get(5, TimeUnit.SECONDS));
+                assertTrue(failure.getCause() instanceof OutOfMemoryError);
+            }
+        } finally {
+            batcher.shutdown();
+        }
+    }
+
+    @Test
+    void shutdownAnswersEveryRequest() throws Exception {
+        RequestBatcher batcher = new RequestBatcher(request -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return EMPTY_REPLY;
+        }, 1, 8);
+        List<CompletableFuture<ServiceReply>> replies = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            replies.add(batcher.submit(request(10 + i)));
+            if (i == 20) {
+                batcher.shutdown();
+            }
+        }
+        int failed = 0;
+        for (CompletableFuture<ServiceReply> reply : replies) {
+            try {
+                reply.get(5, TimeUnit.SECONDS);
+            } catch (ExecutionException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException, String.valueOf(e.getCause()));
+                failed++;
+            }
+        }
+        assertTrue(failed >= 29, failed + " requests failed");
+    }
+
+    private static SimulationRequest request(int horizon) {
+        return SimulationRequest.parse("{\"algorithm\":\"RM\",\"horizon\":" + horizon
+                + ",\"tasks\":[{\"executionTime\":1,\"period\":4}]}", true);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.rts.service;
+
+import com.rts.algorithm.ScheduleCache;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Runs a service on a free loopback port and checks the JSON replies clients rely on
+class SimulationServiceTest {
+    private static final int[] PERIODS = {2, 3, 4, 6, 8, 12};
+
+    @Test
+    void lateCompletionsMakeASimulationInfeasibleLikeTheAnalysis() throws Exception {
+        // B finishes at 4 with a deadline of 3, then completes before its next release
+        String tasks = "\"tasks\":[{\"id\":\"A\",\"executionTime\":1,\"period\":4},"
+                + "{\"id\":\"B\",\"executionTime\":3,\"period\":6,\"deadline\":3}]";
+        withService(client -> {
+            Map<?, ?> analysis = client.post("/analyze", "{\"algorithm\":\"RM\"," + tasks + "}");
+            assertEquals(false, analysis.get("schedulable"));
+            assertEquals(4L, ((Map<?, ?>) analysis.get("responseTimes")).get("B"));
+
+            Map<?, ?> simulation = client.post("/simulate", "{\"algorithm\":\"RM\",\"horizon\":24," + tasks + "}");
+            assertEquals(false, simulation.get("feasible"));
+            Map<?, ?> b = (Map<?, ?>) ((List<?>) simulation.get("tasks")).get(1);
+            assertEquals("B", b.get("id"));
+            assertEquals(4L, b.get("deadlineMisses"));
+            assertEquals(4L, b.get("worstResponseTime"));
+            // No job is still unfinished at its next arrival, so every miss is a late completion
+            List<?> misses = (List<?>) simulation.get("deadlineMisses");
+            assertEquals(4, misses.size());
+            Map<?, ?> first = (Map<?, ?>) misses.get(0);
+            assertEquals("B", first.get("task"));
+            assertEquals(4L, first.get("time"));
+            assertEquals(true, first.get("late"));
+        });
+    }
+
+    @Test
+    void simulateReplyListsTasksMissesAndTimeline() throws Exception {
+        withService(client -> {
+            Map<?, ?> reply = client.post("/simulate", "{\"algorithm\":\"EDF\",\"horizon\":24,\"trace\":true,"
+                    + "\"tasks\":[{\"id\":\"A\",\"executionTime\":1,\"period\":4},"
+                    + "{\"id\":\"B\",\"executionTime\":2,\"period\":6},"
+                    + "{\"id\":\"C\",\"executionTime\":5,\"period\":12}]}");
+            assertEquals(Arrays.asList("algorithm", "horizon", "feasible", "preemptions", "contextSwitches",
+                    "cpuUtilization", "tasks", "deadlineMisses", "timeline"), Arrays.asList(reply.keySet().toArray()));
+            assertEquals("Earliest Deadline First (EDF)", reply.get("algorithm"));
+            assertEquals(24L, reply.get("horizon"));
+            assertEquals(true, reply.get("feasible"));
+            assertEquals(1.0, ((Number) reply.get("cpuUtilization")).doubleValue(), 1e-9);
+
+            List<?> tasks = (List<?>) reply.get("tasks");
+            long[] completed = {6, 4, 2};
+            for (int i = 0; i < completed.length; i++) {
+                Map<?, ?> task = (Map<?, ?>) tasks.get(i);
+                assertEquals(completed[i], task.get("completedJobs"));
+                assertEquals(0L, task.get("deadlineMisses"));
+            }
+
+            // Run-length segments cover the horizon without gaps
+            long end = 0;
+            for (Object value : (List<?>) reply.get("timeline")) {
+                List<?> segment = (List<?>) value;
+                assertEquals(end, segment.get(1));
+                end = (Long) segment.get(2);
+            }
+            assertEquals(24L, end);
+        });
+    }
+
+    @Test
+    void analyzeReplyListsPriorityOrderAndResponseTimes() throws Exception {
+        withService(client -> {
+            Map<?, ?> reply = client.post("/analyze", "{\"algorithm\":\"RM\",\"tasks\":["
+                    + "{\"id\":\"C\",\"executionTime\":3,\"period\":12},"
+                    + "{\"id\":\"A\",\"executionTime\":1,\"period\":4},"
+                    + "{\"id\":\"B\",\"executionTime\":2,\"period\":6}]}");
+            assertEquals(true, reply.get("schedulable"));
+            assertEquals(Arrays.asList("A", "B", "C"), reply.get("priorityOrder"));
+            Map<?, ?> responseTimes = (Map<?, ?>) reply.get("responseTimes");
+            assertEquals(10L, responseTimes.get("C"));
+            assertEquals(1L, responseTimes.get("A"));
+            assertEquals(3L, responseTimes.get("B"));
+        });
+    }
+
+    // For synchronous sets with D <= T both tests are exact, so a simulation over the
+    // hyperperiod has to agree with them
+    @Test
+    void analysisAndSimulationAgreeOnSynchronousSets() throws Exception {
+        Random random = new Random(8);
+        withService(client -> {
+            for (int set = 0; set < 60; set++) {
+                StringBuilder tasks = new StringBuilder("\"tasks\":[");
+                int taskCount = 1 + random.nextInt(4);
+                for (int i = 0; i < taskCount; i++) {
+                    int period = PERIODS[random.nextInt(PERIODS.length)];
+                    int executionTime = 1 + random.nextInt(Math.max(1, period / 2));
+                    int deadline = executionTime + random.nextInt(period - executionTime + 1);
+                    tasks.append(i > 0 ? "," : "").append("{\"executionTime\":").append(executionTime)
+                            .append(",\"period\":").append(period)
+                            .append(",\"deadline\":").append(deadline).append('}');
+                }
+                tasks.append(']');
+                for (String algorithm : new String[]{"RM", "DM", "EDF"}) {
+                    Map<?, ?> analysis = client.post("/analyze",
+                            "{\"algorithm\":\"" + algorithm + "\"," + tasks + "}");
+                    Map<?, ?> simulation = client.post("/simulate",
+                            "{\"algorithm\":\"" + algorithm + "\",\"horizon\":24," + tasks + "}");
+                    assertEquals(analysis.get("schedulable"), simulation.get("feasible"), algorithm + " " + tasks);
+                }
+            }
+        });
+    }
+
+    @Test
+    void badRequestsAreRejectedWithAnError() throws Exception {
+        withService(client -> {
+            String task = "\"tasks\":[{\"executionTime\":1,\"period\":4}]";
+            assertEquals(400, client.status("POST", "/analyze", "{bad"));
+            assertEquals(400, client.status("POST", "/analyze", "{\"algorithm\":\"XX\"," + task + "}"));
+            assertEquals(400, client.status("POST", "/analyze", "{\"algorithm\":\"RM\",\"tasks\":[]}"));
+            assertEquals(400, client.status("POST", "/simulate", "{\"algorithm\":\"RM\"," + task + "}"));
+            // Rejected by the worker rather than the parser
+            assertEquals(400, client.status("POST", "/analyze", "{\"algorithm\":\"LLF\"," + task + "}"));
+            assertEquals(405, client.status("GET", "/analyze", null));
+            assertEquals(404, client.status("GET", "/stats/x", null));
+        });
+    }
+
+    private interface ServiceCheck {
+        void run(Client client) throws Exception;
+    }
+
+    private static void withService(ServiceCheck check) throws Exception {
+        SimulationService service = new SimulationService(0, 2, new ScheduleCache(16 << 20));
+        service.start();
+        try {
+            check.run(new Client("http://localhost:" + service.getPort()));
+        } finally {
+            service.stop(0);
+        }
+    }
+
+    private static final class Client {
+        private final HttpClient http = HttpClient.newHttpClient();
+        private final String base;
+
+        Client(String base) {
+            this.base = base;
+        }
+
+        Map<?, ?> post(String path, String body) throws Exception {
+            HttpResponse<String> response = send("POST", path, body);
+            assertEquals(200, response.statusCode(), response.body());
+            assertTrue(response.headers().firstValue("Content-Type").orElse("").startsWith("application/json"));
+            return (Map<?, ?>) Json.parse(response.body());
+        }
+
+        int status(String method, String path, String body) throws Exception {
+            HttpResponse<String> response = send(method, path, body);
+            assertTrue(((Map<?, ?>) Json.parse(response.body())).get("error") instanceof String, response.body());
+            return response.statusCode();
+        }
+
+        private HttpResponse<String> send(String method, String path, String body) throws Exception {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(base + path));
+            request.method(method, body != null ? HttpRequest.BodyPublishers.ofString(body)
+                    : HttpRequest.BodyPublishers.noBody());
+            return http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        }
+    }
+}
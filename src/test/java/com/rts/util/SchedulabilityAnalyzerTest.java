@@ -0,0 +1,88 @@
+package com.rts.util;
+
+import com.rts.model.OverheadModel;
+import com.rts.model.PreemptionMode;
+import com.rts.model.ResourceProtocol;
+import com.rts.model.Task;
+import com.rts.model.TaskSet;
+import com.rts.model.TaskTiming;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchedulabilityAnalyzerTest {
+    private static final long SCALE = 1_000_000L;
+
+    // The 64-bit overloads must reach the same verdicts and response times as the tick-based
+    // tests, and keep them when every parameter is scaled
+    @Test
+    void timingOverloadsAgreeWithTheTickAnalysis() {
+        Random random = new Random(5);
+        for (int set = 0; set < 3000; set++) {
+            List<Task> tasks = new ArrayList<>();
+            List<TaskTiming> timings = new ArrayList<>();
+            List<TaskTiming> scaled = new ArrayList<>();
+            int taskCount = 1 + random.nextInt(6);
+            for (int i = 0; i < taskCount; i++) {
+                int period = 2 + random.nextInt(30);
+                int executionTime = 1 + random.nextInt(Math.max(1, period / 2));
+                int deadline = random.nextBoolean() ? period : Math.max(1, period - random.nextInt(period));
+                int jitter = random.nextInt(3) == 0 ? random.nextInt(period) : 0;
+                tasks.add(new Task("T" + i, executionTime, period, deadline, 0, jitter));
+                timings.add(new TaskTiming("T" + i, executionTime, period, deadline, 0, jitter));
+                scaled.add(new TaskTiming("T" + i, executionTime * SCALE, period * SCALE, deadline * SCALE, 0,
+                        jitter * SCALE));
+            }
+            TaskSet taskSet = new TaskSet(tasks);
+            String context = timings.toString();
+
+            long[] ticks = SchedulabilityAnalyzer.calculateResponseTimes(taskSet, OverheadModel.NONE);
+            long[] longs = SchedulabilityAnalyzer.calculateResponseTimes(timings,
+                    SchedulabilityAnalyzer.rateMonotonicOrder(timings));
+            for (int i = 0; i < taskCount; i++) {
+                // Past the deadline both searches may stop at different bounds
+                boolean late = ticks[i] > tasks.get(i).getDeadline();
+                assertEquals(late, longs[i] > timings.get(i).getDeadline(), context);
+                if (!late) {
+                    assertEquals(ticks[i], longs[i], context);
+                }
+            }
+            assertEquals(SchedulabilityAnalyzer.isSchedulableRM(taskSet, OverheadModel.NONE),
+                    SchedulabilityAnalyzer.isSchedulableRM(timings), context);
+            assertEquals(SchedulabilityAnalyzer.isSchedulableEDF(taskSet, OverheadModel.NONE),
+                    SchedulabilityAnalyzer.isSchedulableEDF(timings), context);
+            assertArrayEquals(SchedulabilityAnalyzer.findOptimalPriorityOrder(taskSet, OverheadModel.NONE,
+                    PreemptionMode.PREEMPTIVE, 1, ResourceProtocol.NONE),
+                    SchedulabilityAnalyzer.findOptimalPriorityOrder(timings));
+            assertArrayEquals(SchedulabilityAnalyzer.deadlineMonotonicOrder(taskSet),
+                    SchedulabilityAnalyzer.deadlineMonotonicOrder(timings));
+            assertEquals(SchedulabilityAnalyzer.isSchedulableRM(timings),
+                    SchedulabilityAnalyzer.isSchedulableRM(scaled), context);
+            assertEquals(SchedulabilityAnalyzer.isSchedulableEDF(timings),
+                    SchedulabilityAnalyzer.isSchedulableEDF(scaled), context);
+        }
+    }
+
+    @Test
+    void analysesNanosecondParametersBeyondTheTickLimit() {
+        List<TaskTiming> timings = Arrays.asList(new TaskTiming("A", 1_000_000_007L, 4_000_000_000L, 4_000_000_000L),
+                new TaskTiming("B", 3_000_000_001L, 9_000_000_013L, 8_000_000_000L));
+        int[] order = SchedulabilityAnalyzer.rateMonotonicOrder(timings);
+        assertArrayEquals(new long[]{1_000_000_007L, 5_000_000_015L},
+                SchedulabilityAnalyzer.calculateResponseTimes(timings, order));
+        assertTrue(SchedulabilityAnalyzer.isSchedulableRM(timings));
+        assertTrue(SchedulabilityAnalyzer.isSchedulableEDF(timings));
+        // B now finishes 15 ns past its deadline
+        List<TaskTiming> tighter = Arrays.asList(timings.get(0),
+                new TaskTiming("B", 3_000_000_001L, 9_000_000_013L, 5_000_000_000L));
+        assertFalse(SchedulabilityAnalyzer.isSchedulableRM(tighter));
+    }
+}
@@ -0,0 +1,94 @@
+package com.rts.util;
+
+import com.rts.model.OverheadModel;
+import com.rts.model.Task;
+import com.rts.model.TaskSet;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SensitivityAnalyzerTest {
+    private static final int[] PERIODS = {2, 3, 4, 5, 6, 8, 10, 12, 15, 20};
+
+    // Each task's EDF slack must be the largest growth the processor-demand test accepts,
+    // including growths that bring utilization to exactly 1
+    @Test
+    void executionSlackEDFMatchesBruteForce() {
+        assertArrayEquals(new int[]{3, 3}, SensitivityAnalyzer.calculateExecutionSlackEDF(
+                new TaskSet(Arrays.asList(new Task("T0", 1, 5, 4), new Task("T1", 1, 5, 5)))));
+
+        Random random = new Random(7);
+        int checked = 0;
+        for (int set = 0; set < 3000; set++) {
+            List<Task> tasks = new ArrayList<>();
+            int taskCount = 1 + random.nextInt(5);
+            for (int i = 0; i < taskCount; i++) {
+                int period = PERIODS[random.nextInt(PERIODS.length)];
+                int executionTime = 1 + random.nextInt(Math.max(1, period / 3));
+                int deadline = executionTime + random.nextInt(period - executionTime + 1);
+                int jitter = random.nextInt(4) == 0 ? random.nextInt(deadline - executionTime + 1) : 0;
+                tasks.add(new Task("T" + i, executionTime, period, deadline, 0, jitter));
+            }
+            TaskSet taskSet = new TaskSet(tasks);
+            if (!SchedulabilityAnalyzer.isSchedulableEDF(taskSet, OverheadModel.NONE)) {
+                continue;
+            }
+            int[] slack = SensitivityAnalyzer.calculateExecutionSlackEDF(taskSet);
+            for (int k = 0; k < taskCount; k++) {
+                assertEquals(bruteForceSlack(tasks, k), slack[k], tasks + " task " + k);
+            }
+            checked++;
+        }
+        assertTrue(checked > 1000, "only " + checked + " sets were schedulable");
+    }
+
+    // 1000 constrained-deadline tasks with periods from a common menu; the answers for the first
+    // tasks are checked against the demand test directly
+    @Test
+    void executionSlackEDFHandlesAThousandTasks() {
+        int[] periods = {1000, 2000, 2500, 4000, 5000, 8000, 10000, 20000, 25000, 40000, 50000, 100000};
+        Random random = new Random(8);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            int period = periods[random.nextInt(periods.length)];
+            int executionTime = Math.max(1, (int) (period * 0.8 / 1000 * (0.5 + random.nextDouble())));
+            int deadline = executionTime + (period - executionTime) / 2
+                    + random.nextInt((period - executionTime) / 2 + 1);
+            tasks.add(new Task("T" + i, executionTime, period, deadline));
+        }
+        TaskSet taskSet = new TaskSet(tasks);
+        int[] slack = assertTimeout(Duration.ofSeconds(5),
+                () -> SensitivityAnalyzer.calculateExecutionSlackEDF(taskSet));
+        for (int k = 0; k < 3; k++) {
+            assertTrue(SchedulabilityAnalyzer.isSchedulableEDF(grow(tasks, k, slack[k]), OverheadModel.NONE));
+            assertFalse(SchedulabilityAnalyzer.isSchedulableEDF(grow(tasks, k, slack[k] + 1), OverheadModel.NONE));
+        }
+    }
+
+    // Largest growth of task k the demand test accepts, found one unit at a time
+    private static int bruteForceSlack(List<Task> tasks, int k) {
+        int extra = 0;
+        while (SchedulabilityAnalyzer.isSchedulableEDF(grow(tasks, k, extra + 1), OverheadModel.NONE)) {
+            extra++;
+        }
+        return extra;
+    }
+
+    private static TaskSet grow(List<Task> tasks, int k, int extra) {
+        List<Task> grown = new ArrayList<>(tasks);
+        Task task = tasks.get(k);
+        grown.set(k, new Task(task.getId(), task.getExecutionTime() + extra, task.getPeriod(), task.getDeadline(),
+                0, task.getReleaseJitter()));
+        return new TaskSet(grown);
+    }
+}